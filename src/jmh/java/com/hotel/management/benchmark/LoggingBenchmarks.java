@@ -0,0 +1,149 @@
+package com.hotel.management.benchmark;
+
+import com.hotel.management.HotelManagementSystemApplication;
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.entity.Staff;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.enums.StaffRole;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TableRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request latency over HTTP with the logging the application used to ship with
+ * (Spring MVC at DEBUG, every SQL statement formatted and its binds traced) against
+ * the prod profile (async JSON appender, quiet framework loggers, sampled status changes).
+ *
+ * Each configuration runs in its own fork, since logback is configured once per JVM.
+ * Both write their console output to target/logging-benchmark-*.log, so the sink is the same.
+ * Run with {@code mvn -Pbenchmark verify -Djmh.include=LoggingBenchmarks}.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmarks {
+
+    private static final int STAFF = 50;
+
+    @Param({"verbose", "prod"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private PrintStream console;
+    private PrintStream logFile;
+    private HttpClient client;
+    private HttpRequest staffList;
+    private HttpRequest reservationPage;
+    private HttpRequest statusChange;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        Path log = Path.of("target", "logging-benchmark-" + logging + ".log");
+        Files.createDirectories(log.getParent());
+        console = System.out;
+        logFile = new PrintStream(new FileOutputStream(log.toFile()), false);
+        System.setOut(logFile);
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(HotelManagementSystemApplication.class)
+                .properties("server.port=0", "spring.thymeleaf.cache=true");
+        if (logging.equals("prod")) {
+            builder.profiles("test", "prod");
+        } else {
+            builder.profiles("test").properties(
+                    "logging.level.org.springframework.web=DEBUG",
+                    "logging.level.org.hibernate.SQL=DEBUG",
+                    "logging.level.org.hibernate.orm.jdbc.bind=TRACE",
+                    "spring.jpa.properties.hibernate.format_sql=true");
+        }
+        context = builder.run();
+
+        // Staff for the staff page, and an upcoming booking to update
+        List<Staff> staff = new ArrayList<>();
+        for (int i = 0; i < STAFF; i++) {
+            staff.add(new Staff("Waiter", "No" + i, "waiter" + i + "@example.com", StaffRole.WAITER, LocalDate.now()));
+        }
+        context.getBean(StaffRepository.class).saveAll(staff);
+        List<RestaurantTable> tables = context.getBean(TableRepository.class).findAll();
+        Reservation booking = context.getBean(ReservationRepository.class).save(new Reservation(
+                "Benchmark Guest", "555-010-0000", tables.get(0), LocalDate.now().plusDays(1).atTime(12, 0),
+                2, ReservationStatus.PENDING));
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        staffList = HttpRequest.newBuilder(URI.create(baseUrl + "/staff")).GET().build();
+        reservationPage = HttpRequest.newBuilder(URI.create(baseUrl + "/reservations/api?size=25")).GET().build();
+        statusChange = HttpRequest.newBuilder(URI.create(baseUrl + "/reservations/" + booking.getId()
+                + "/status?status=CONFIRMED")).POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+        System.setOut(console);
+        logFile.close();
+    }
+
+    /** A server-rendered page listing every staff member */
+    @Benchmark
+    public int staffList() throws Exception {
+        return send(staffList);
+    }
+
+    @Benchmark
+    public int reservationPage() throws Exception {
+        return send(reservationPage);
+    }
+
+    /** Logged at INFO by ReservationService on every call */
+    @Benchmark
+    public int statusChange() throws Exception {
+        return send(statusChange);
+    }
+
+    private int send(HttpRequest request) throws Exception {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status >= 400) {
+            throw new IllegalStateException(request.uri() + " answered " + status);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,142 @@
+package com.hotel.management.benchmark;
+
+import com.hotel.management.HotelManagementSystemApplication;
+import com.hotel.management.entity.InventoryItem;
+import com.hotel.management.entity.InventoryTransaction;
+import com.hotel.management.entity.Rating;
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.repository.InventoryItemRepository;
+import com.hotel.management.repository.InventoryTransactionRepository;
+import com.hotel.management.repository.RatingRepository;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.TableRepository;
+import com.hotel.management.repository.TaskRepository;
+import com.hotel.management.service.CustomerSearchIndex;
+import com.hotel.management.service.DashboardService;
+import com.hotel.management.service.OverdueTaskTracker;
+import com.hotel.management.service.RatingAggregateService;
+import com.hotel.management.service.StaffSearchIndex;
+import com.hotel.management.service.TableAvailabilityIndex;
+import com.hotel.management.service.TaskDispatcher;
+import com.hotel.management.service.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * The application on the embedded test database, seeded with a busy restaurant's
+ * volumes: a year of reservation history, a stock ledger, ratings and a task backlog.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+
+    static final int TABLES = 60;
+    static final int INVENTORY_ITEMS = 300;
+    private static final int RESERVATIONS = 50_000;
+    private static final int INVENTORY_TRANSACTIONS = 50_000;
+    private static final int RATINGS = 20_000;
+    private static final int TASKS = 5_000;
+    private static final int SEED_CHUNK = 1_000;
+
+    ConfigurableApplicationContext context;
+    List<Long> tableIds;
+    List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(HotelManagementSystemApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        Random random = new Random(42);
+
+        TableRepository tableRepository = context.getBean(TableRepository.class);
+        List<RestaurantTable> tables = new ArrayList<>();
+        for (int i = 1; i <= TABLES; i++) {
+            tables.add(new RestaurantTable(String.format("B%02d", i), 2 + 2 * (i % 4)));
+        }
+        tables = tableRepository.saveAll(tables);
+        tableIds = tables.stream().map(RestaurantTable::getId).toList();
+
+        // A year of past bookings, one sitting per table every few hours
+        List<RestaurantTable> seededTables = tables;
+        LocalDateTime firstSitting = LocalDate.now().minusDays(365).atTime(11, 0);
+        seed(context.getBean(ReservationRepository.class)::saveAll, RESERVATIONS, i -> new Reservation(
+                "Guest " + i, "555-010-" + String.format("%04d", i % 10_000),
+                seededTables.get(i % TABLES), firstSitting.plusHours(3L * (i / TABLES)),
+                1 + random.nextInt(6), i % 10 == 0 ? ReservationStatus.CANCELLED : ReservationStatus.COMPLETED));
+
+        InventoryItemRepository itemRepository = context.getBean(InventoryItemRepository.class);
+        List<InventoryItem> items = new ArrayList<>();
+        for (int i = 0; i < INVENTORY_ITEMS; i++) {
+            items.add(new InventoryItem("Item " + i, "Category " + i % 12, "kg", 1_000_000, 50));
+        }
+        items = itemRepository.saveAll(items);
+        itemIds = items.stream().map(InventoryItem::getId).toList();
+        List<InventoryItem> seededItems = items;
+        seed(context.getBean(InventoryTransactionRepository.class)::saveAll, INVENTORY_TRANSACTIONS,
+                i -> new InventoryTransaction(seededItems.get(random.nextInt(INVENTORY_ITEMS)),
+                        i % 3 == 0 ? InventoryTransaction.Type.IN : InventoryTransaction.Type.OUT,
+                        1 + random.nextInt(20), "seed", "benchmark"));
+
+        seed(context.getBean(RatingRepository.class)::saveAll, RATINGS, i -> {
+            Rating rating = new Rating("Guest " + i, "guest" + i + "@example.com", 1 + random.nextInt(5), "Seeded review");
+            rating.setStatus(i % 5 == 0 ? RatingStatus.PENDING : RatingStatus.APPROVED);
+            rating.setDate(LocalDateTime.now().minusMinutes(i * 20L));
+            return rating;
+        });
+
+        TaskStatus[] statuses = TaskStatus.values();
+        seed(context.getBean(TaskRepository.class)::saveAll, TASKS, i -> new Task(
+                "Task " + i, "Seeded task", statuses[random.nextInt(statuses.length)], 1 + random.nextInt(5),
+                LocalDate.now().plusDays(random.nextInt(60) - 30), null, "benchmark", "General"));
+
+        // These were loaded on startup, before the seeded rows existed
+        context.getBean(TableAvailabilityIndex.class).rebuild();
+        context.getBean(StaffSearchIndex.class).rebuild();
+        context.getBean(CustomerSearchIndex.class).rebuild();
+        context.getBean(TaskDispatcher.class).rebuild();
+        context.getBean(OverdueTaskTracker.class).rebuild();
+        context.getBean(TaskSearchIndex.class).rebuild();
+        context.getBean(RatingAggregateService.class).rebuild();
+        context.getBean(DashboardService.class).invalidate();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private static <T> void seed(Consumer<List<T>> saveAll, int count, IntFunction<T> factory) {
+        List<T> chunk = new ArrayList<>(SEED_CHUNK);
+        for (int i = 0; i < count; i++) {
+            chunk.add(factory.apply(i));
+            if (chunk.size() == SEED_CHUNK || i == count - 1) {
+                saveAll.accept(chunk);
+                chunk = new ArrayList<>(SEED_CHUNK);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hotel.management.benchmark;
+
+import com.hotel.management.entity.InventoryTransaction;
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.service.InventoryService;
+import com.hotel.management.service.RatingService;
+import com.hotel.management.service.ReservationService;
+import com.hotel.management.service.TableService;
+import com.hotel.management.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service-layer hot paths against {@link SeededApplication}.
+ * Run with {@code mvn -Pbenchmark verify}; the gc profiler adds allocation rates
+ * and results are written to target/jmh-result.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmarks {
+
+    private ReservationService reservationService;
+    private TableService tableService;
+    private InventoryService inventoryService;
+    private RatingService ratingService;
+    private TaskService taskService;
+
+    private List<Long> tableIds;
+    private List<Long> itemIds;
+    private LocalDateTime firstFreeSitting;
+    private long bookings;
+    private long movements;
+
+    @Setup
+    public void setUp(SeededApplication application) {
+        reservationService = application.bean(ReservationService.class);
+        tableService = application.bean(TableService.class);
+        inventoryService = application.bean(InventoryService.class);
+        ratingService = application.bean(RatingService.class);
+        taskService = application.bean(TaskService.class);
+        tableIds = application.tableIds;
+        itemIds = application.itemIds;
+        firstFreeSitting = LocalDate.now().plusDays(1).atTime(11, 0);
+    }
+
+    /** Every call books the next free sitting, walking the tables before moving on in time */
+    @Benchmark
+    public Reservation createReservation() {
+        long n = bookings++;
+        RestaurantTable table = new RestaurantTable();
+        table.setId(tableIds.get((int) (n % tableIds.size())));
+        LocalDateTime time = firstFreeSitting.plusHours(3 * (n / tableIds.size()));
+        return reservationService.createReservation(
+                new Reservation("Benchmark Guest", "555-010-0000", table, time, 2, ReservationStatus.CONFIRMED));
+    }
+
+    @Benchmark
+    public List<RestaurantTable> getAvailableTablesForParty() {
+        return tableService.getAvailableTablesForParty(4);
+    }
+
+    /** Alternates stock in and out so items never run dry */
+    @Benchmark
+    public InventoryTransaction recordTransaction() {
+        long n = movements++;
+        Long itemId = itemIds.get((int) (n % itemIds.size()));
+        InventoryTransaction.Type type = (n / itemIds.size()) % 2 == 0
+                ? InventoryTransaction.Type.OUT : InventoryTransaction.Type.IN;
+        return inventoryService.recordTransaction(itemId, type, 1, "benchmark", "benchmark");
+    }
+
+    @Benchmark
+    public Double getAverageRating() {
+        return ratingService.getAverageRating();
+    }
+
+    @Benchmark
+    public List<Task> getAllTasks() {
+        return taskService.getAllTasks();
+    }
+}
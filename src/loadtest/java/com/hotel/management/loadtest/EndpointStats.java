@@ -0,0 +1,65 @@
+package com.hotel.management.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counts of one operation of the workload
+ */
+class EndpointStats {
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final String name;
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Record a completed request
+     * @param micros time from the scheduled start to the response
+     * @param outcome how the application answered
+     */
+    void record(long micros, Outcome outcome) {
+        latency.recordValue(Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS));
+        requests.increment();
+        if (outcome == Outcome.ERROR) errors.increment();
+        if (outcome == Outcome.REJECTED) rejected.increment();
+    }
+
+    /**
+     * Record a request that was never sent because too many were already in flight
+     */
+    void recordDropped() {
+        requests.increment();
+        errors.increment();
+        dropped.increment();
+    }
+
+    String getName() { return name; }
+    Histogram getLatency() { return latency; }
+    long getRequests() { return requests.sum(); }
+    long getErrors() { return errors.sum(); }
+    long getRejected() { return rejected.sum(); }
+    long getDropped() { return dropped.sum(); }
+
+    double getErrorRate() {
+        long total = getRequests();
+        return total == 0 ? 0 : (double) getErrors() / total;
+    }
+
+    /**
+     * OK: the request succeeded. REJECTED: the form was sent back with a validation or
+     * business error, e.g. a table already booked. ERROR: a 4xx/5xx status, timeout or I/O failure.
+     */
+    enum Outcome { OK, REJECTED, ERROR }
+}
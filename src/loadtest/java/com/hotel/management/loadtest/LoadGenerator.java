@@ -0,0 +1,176 @@
+package com.hotel.management.loadtest;
+
+import com.hotel.management.loadtest.EndpointStats.Outcome;
+import com.hotel.management.loadtest.Workload.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a restaurant dinner rush against a running instance of the application.
+ *
+ * Requests arrive as a Poisson process whose rate swells from a quiet start to the
+ * configured peak halfway through the run and falls back again. Arrivals are open:
+ * a slow response never delays the next request, and latency is measured from the
+ * moment a request was due, so queueing inside the application is not hidden.
+ *
+ * Settings are system properties:
+ * <ul>
+ *   <li>loadtest.base-url (http://localhost:8080)</li>
+ *   <li>loadtest.duration-seconds (300) and loadtest.peak-rate requests per second (50)</li>
+ *   <li>loadtest.quiet-fraction (0.2): the rate at the start and end, as a fraction of the peak</li>
+ *   <li>loadtest.mix: weights per operation, see {@link Workload#DEFAULT_MIX}</li>
+ *   <li>loadtest.item-ids (1-1000) and loadtest.rating-ids (1-1000): ids the inventory and rating operations use</li>
+ *   <li>loadtest.timeout-seconds (10), loadtest.max-in-flight (2000), loadtest.seed (42)</li>
+ *   <li>loadtest.output-dir (target/loadtest): one HdrHistogram percentile file per operation</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = property("loadtest.base-url", "http://localhost:8080");
+        long durationSeconds = Long.parseLong(property("loadtest.duration-seconds", "300"));
+        double peakRate = Double.parseDouble(property("loadtest.peak-rate", "50"));
+        double quietFraction = Double.parseDouble(property("loadtest.quiet-fraction", "0.2"));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(property("loadtest.timeout-seconds", "10")));
+        int maxInFlight = Integer.parseInt(property("loadtest.max-in-flight", "2000"));
+        Random random = new Random(Long.parseLong(property("loadtest.seed", "42")));
+        Path outputDir = Path.of(property("loadtest.output-dir", "target/loadtest"));
+
+        Workload workload = new Workload(baseUrl, timeout, property("loadtest.mix", Workload.DEFAULT_MIX),
+                Workload.parseIds(property("loadtest.item-ids", "1-1000")),
+                Workload.parseIds(property("loadtest.rating-ids", "1-1000")));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        workload.load(client, 14);
+        System.out.printf("Load test against %s: %ds, peak %.0f req/s, %d tables, %d upcoming reservations%n",
+                baseUrl, durationSeconds, peakRate, workload.getTableCount(), workload.getReservationCount());
+
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : workload.getOperations()) {
+            stats.put(operation, new EndpointStats(operation.getEndpoint()));
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+        long start = System.nanoTime();
+        long nextReport = REPORT_INTERVAL_NANOS;
+        double at = 0; // seconds since start of the next candidate arrival
+        long sent = 0;
+        while (true) {
+            // Thinning: candidates arrive at the peak rate and are kept in proportion to the current rate
+            at += -Math.log(1 - random.nextDouble()) / peakRate;
+            long due = (long) (at * 1e9);
+            if (due >= durationNanos) break;
+            if (random.nextDouble() > rateFraction(at / durationSeconds, quietFraction)) continue;
+
+            Operation operation = workload.next(random);
+            HttpRequest request = workload.request(operation, random);
+            if (request == null) continue;
+
+            long wait = start + due - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+
+            EndpointStats endpoint = stats.get(operation);
+            if (!inFlight.tryAcquire()) {
+                endpoint.recordDropped();
+                continue;
+            }
+            long scheduled = start + due;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                inFlight.release();
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                endpoint.record(micros, failure != null ? Outcome.ERROR : outcome(response));
+            });
+            sent++;
+
+            if (due >= nextReport) {
+                System.out.printf("  %3ds  %6.1f req/s target  %8d sent  %5d in flight%n",
+                        TimeUnit.NANOSECONDS.toSeconds(due), peakRate * rateFraction(at / durationSeconds, quietFraction),
+                        sent, maxInFlight - inFlight.availablePermits());
+                nextReport += REPORT_INTERVAL_NANOS;
+            }
+        }
+
+        // Let the last requests finish or time out
+        if (!inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 5_000, TimeUnit.MILLISECONDS)) {
+            System.out.println("Some requests were still in flight at the end of the run");
+        }
+        report(stats.values(), outputDir);
+    }
+
+    /**
+     * The dinner rush: the arrival rate relative to the peak at a point of the run
+     * @param progress how far through the run, from 0 to 1
+     */
+    static double rateFraction(double progress, double quietFraction) {
+        double swell = Math.sin(Math.PI * progress);
+        return quietFraction + (1 - quietFraction) * swell * swell;
+    }
+
+    /**
+     * Forms answer with a redirect; one back to the form means the submission was refused
+     */
+    private static Outcome outcome(HttpResponse<Void> response) {
+        int status = response.statusCode();
+        if (status >= 400) return Outcome.ERROR;
+        if (status >= 300 && response.headers().firstValue("Location").map(l -> l.endsWith("/new")).orElse(false)) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.OK;
+    }
+
+    private static void report(Iterable<EndpointStats> stats, Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        System.out.println();
+        System.out.printf("%-34s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "err %", "rejected", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointStats endpoint : stats) {
+            Histogram latency = endpoint.getLatency();
+            System.out.printf("%-34s %8d %8d %8.2f %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint.getName(), endpoint.getRequests(), endpoint.getErrors(), 100 * endpoint.getErrorRate(),
+                    endpoint.getRejected(), millis(latency, 50), millis(latency, 95), millis(latency, 99),
+                    latency.getMaxValue() / 1000.0);
+            if (endpoint.getDropped() > 0) {
+                System.out.printf("    %d of the errors were dropped because too many requests were in flight%n",
+                        endpoint.getDropped());
+            }
+
+            Path file = outputDir.resolve(endpoint.getName().replaceAll("[^A-Za-z0-9]+", "_") + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                latency.outputPercentileDistribution(out, 1000.0); // microseconds to milliseconds
+            }
+        }
+        System.out.println();
+        System.out.println("HdrHistogram percentile distributions written to " + outputDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(name, defaultValue);
+    }
+}
@@ -0,0 +1,244 @@
+package com.hotel.management.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+
+/**
+ * The operations a restaurant day is made of, their mix, and the ids they act on
+ */
+class Workload {
+
+    /** Weights per operation, roughly the traffic of a dinner service */
+    static final String DEFAULT_MIX = "dashboard=15,reservation-list=10,reservation-create=15,reservation-status=8,"
+            + "reservation-cancel=4,table-status=12,inventory-tx=14,rating-submit=6,rating-approve=3,"
+            + "task-create=5,task-list=8";
+
+    private static final DateTimeFormatter FORM_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final String[] TABLE_STATUSES = {"OCCUPIED", "AVAILABLE", "AVAILABLE", "RESERVED"};
+    private static final String[] RESERVATION_STATUSES = {"CONFIRMED", "SEATED", "COMPLETED"};
+    private static final String[] TASK_CATEGORIES = {"Cleaning", "Kitchen", "Maintenance", "Customer Service"};
+
+    enum Operation {
+        DASHBOARD("dashboard", "GET /"),
+        RESERVATION_LIST("reservation-list", "GET /reservations"),
+        RESERVATION_CREATE("reservation-create", "POST /reservations"),
+        RESERVATION_STATUS("reservation-status", "POST /reservations/{id}/status"),
+        RESERVATION_CANCEL("reservation-cancel", "POST /reservations/{id}/cancel"),
+        TABLE_STATUS("table-status", "POST /tables/{id}/status"),
+        INVENTORY_TX("inventory-tx", "POST /inventory/{id}/tx"),
+        RATING_SUBMIT("rating-submit", "POST /ratings"),
+        RATING_APPROVE("rating-approve", "POST /ratings/{id}/approve"),
+        TASK_CREATE("task-create", "POST /tasks"),
+        TASK_LIST("task-list", "GET /tasks");
+
+        private final String key;
+        private final String endpoint;
+
+        Operation(String key, String endpoint) {
+            this.key = key;
+            this.endpoint = endpoint;
+        }
+
+        String getKey() { return key; }
+        String getEndpoint() { return endpoint; }
+
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) return operation;
+            }
+            throw new IllegalArgumentException("Unknown operation '" + key + "' in the mix");
+        }
+    }
+
+    private final String baseUrl;
+    private final Duration timeout;
+    private final Operation[] operations;
+    private final double[] cumulativeWeights;
+    private final List<long[]> tables = new ArrayList<>(); // id, capacity
+    private final List<Long> reservationIds = new ArrayList<>();
+    private final Queue<Long> cancellableReservationIds = new ArrayDeque<>();
+    private final long[] itemIds;
+    private final long[] ratingIds;
+    private long sequence;
+
+    Workload(String baseUrl, Duration timeout, String mix, long[] itemIds, long[] ratingIds) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.itemIds = itemIds;
+        this.ratingIds = ratingIds;
+
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) throw new IllegalArgumentException("Mix entries look like name=weight, got '" + entry + "'");
+            double weight = Double.parseDouble(parts[1].trim());
+            if (weight > 0) weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        operations = weights.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new double[operations.length];
+        double total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Operation[] getOperations() { return operations; }
+
+    /**
+     * Learn the tables and upcoming reservations the workload acts on
+     * @param client the client to ask the application with
+     * @param days how many days of confirmed reservations to load
+     */
+    void load(HttpClient client, int days) throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        for (JsonNode table : mapper.readTree(get(client, "/tables/available"))) {
+            tables.add(new long[] {table.get("id").asLong(), table.get("capacity").asLong()});
+        }
+        if (tables.isEmpty()) throw new IllegalStateException("The application has no available tables to book");
+
+        for (int day = 0; day < days; day++) {
+            JsonNode page = mapper.readTree(get(client,
+                    "/reservations/api?status=CONFIRMED&size=100&date=" + LocalDate.now().plusDays(day)));
+            for (JsonNode reservation : page.get("items")) {
+                reservationIds.add(reservation.get("id").asLong());
+            }
+        }
+        // Every reservation is cancelled at most once; the rest only change status
+        for (int i = 0; i < reservationIds.size(); i += 2) {
+            cancellableReservationIds.add(reservationIds.get(i));
+        }
+    }
+
+    int getTableCount() { return tables.size(); }
+    int getReservationCount() { return reservationIds.size(); }
+
+    Operation next(Random random) {
+        double pick = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < operations.length; i++) {
+            if (pick < cumulativeWeights[i]) return operations[i];
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Build the request for an operation
+     * @return the request, or null when the operation has nothing left to act on
+     */
+    HttpRequest request(Operation operation, Random random) {
+        long n = ++sequence;
+        return switch (operation) {
+            case DASHBOARD -> get("/");
+            case RESERVATION_LIST -> get("/reservations");
+            case RESERVATION_CREATE -> {
+                long[] table = tables.get(random.nextInt(tables.size()));
+                // A quarter-hour slot of the next two weeks' dinner service
+                LocalDateTime time = LocalDate.now().plusDays(1 + random.nextInt(14))
+                        .atTime(LocalTime.of(17, 0)).plusMinutes(15L * random.nextInt(16));
+                Map<String, String> form = new LinkedHashMap<>();
+                form.put("customerName", "Load Guest " + n);
+                form.put("customerPhone", String.format("555-300-%04d", n % 10_000));
+                form.put("table.id", String.valueOf(table[0]));
+                form.put("reservationTime", time.format(FORM_DATE_TIME));
+                form.put("partySize", String.valueOf(1 + random.nextInt((int) table[1])));
+                yield post("/reservations", form);
+            }
+            case RESERVATION_STATUS -> reservationIds.isEmpty() ? null : post(
+                    "/reservations/" + reservationIds.get(random.nextInt(reservationIds.size())) + "/status",
+                    Map.of("status", RESERVATION_STATUSES[random.nextInt(RESERVATION_STATUSES.length)]));
+            case RESERVATION_CANCEL -> {
+                Long id = cancellableReservationIds.poll();
+                yield id == null ? null : post("/reservations/" + id + "/cancel", Map.of());
+            }
+            case TABLE_STATUS -> post("/tables/" + tables.get(random.nextInt(tables.size()))[0] + "/status",
+                    Map.of("status", TABLE_STATUSES[random.nextInt(TABLE_STATUSES.length)]));
+            case INVENTORY_TX -> {
+                // Mostly usage during service, with the occasional delivery
+                boolean delivery = random.nextInt(5) == 0;
+                yield post("/inventory/" + itemIds[random.nextInt(itemIds.length)] + "/tx", Map.of(
+                        "type", delivery ? "IN" : "OUT",
+                        "quantity", String.valueOf(delivery ? 10 + random.nextInt(40) : 1 + random.nextInt(3)),
+                        "createdBy", "loadtest"));
+            }
+            case RATING_SUBMIT -> post("/ratings", Map.of(
+                    "customerName", "Load Guest " + n,
+                    "customerEmail", "guest" + n + "@loadtest.example.com",
+                    "rating", String.valueOf(Math.min(5, 2 + random.nextInt(4) + random.nextInt(2))),
+                    "comment", "Generated during a load test"));
+            case RATING_APPROVE -> post("/ratings/" + ratingIds[random.nextInt(ratingIds.length)] + "/approve", Map.of());
+            case TASK_CREATE -> {
+                String category = TASK_CATEGORIES[random.nextInt(TASK_CATEGORIES.length)];
+                yield post("/tasks", Map.of(
+                        "title", category + " task " + n,
+                        "description", "Generated during a load test",
+                        "status", "PENDING",
+                        "priority", String.valueOf(1 + random.nextInt(5)),
+                        "category", category));
+            }
+            case TASK_LIST -> get("/tasks");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        StringBuilder body = new StringBuilder();
+        form.forEach((name, value) -> {
+            if (body.length() > 0) body.append('&');
+            body.append(URLEncoder.encode(name, StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private String get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Parse an id list such as "1-1000" or "3,8,12-20"
+     */
+    static long[] parseIds(String spec) {
+        List<Long> ids = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] range = part.trim().split("-");
+            long from = Long.parseLong(range[0].trim());
+            long to = range.length > 1 ? Long.parseLong(range[1].trim()) : from;
+            for (long id = from; id <= to; id++) ids.add(id);
+        }
+        if (ids.isEmpty()) throw new IllegalArgumentException("No ids in '" + spec + "'");
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.hotel.management.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the pooled id sequences past ids that were handed out before the
+ * high-volume entities switched from IDENTITY columns to sequences.
+ *
+ * MySQL has no sequences, so Hibernate keeps each one as a single-row table
+ * with a next_val column. A table created on an existing database starts at 1
+ * and would collide with the rows already stored; this raises next_val above
+ * the largest id once at startup, before any entity is saved.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    /** Entity table to its sequence; must match the entities' @SequenceGenerator */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "reservations", "reservations_seq",
+            "tasks", "tasks_seq",
+            "ratings", "ratings_seq",
+            "inventory_transactions", "inventory_transactions_seq");
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Depending on the EntityManagerFactory makes the schema update run first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (database == null || !database.toLowerCase().contains("mysql")) {
+            return; // native sequences are created together with their tables
+        }
+        SEQUENCES.forEach(this::alignTableSequence);
+    }
+
+    private void alignTableSequence(String table, String sequence) {
+        try {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // Clear a whole block above the largest id whether next_val is read as the start or the end of it
+            long floor = (maxId == null ? 0 : maxId) + ALLOCATION_SIZE + 1;
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", floor, floor);
+            if (updated > 0) {
+                logger.info("Advanced id sequence {} to {}", sequence, floor);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not align id sequence {}: {}", sequence, e.getMessage());
+        }
+    }
+}
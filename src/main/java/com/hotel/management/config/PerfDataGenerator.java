@@ -0,0 +1,322 @@
+package com.hotel.management.config;
+
+import com.hotel.management.entity.InventoryItem;
+import com.hotel.management.entity.InventoryTransaction;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.entity.Staff;
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.enums.StaffRole;
+import com.hotel.management.enums.TableStatus;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.repository.InventoryItemRepository;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TableRepository;
+import com.hotel.management.service.CustomerSearchIndex;
+import com.hotel.management.service.OverdueTaskTracker;
+import com.hotel.management.service.DashboardService;
+import com.hotel.management.service.RatingAggregateService;
+import com.hotel.management.service.StaffSearchIndex;
+import com.hotel.management.service.TableAvailabilityIndex;
+import com.hotel.management.service.TaskDispatcher;
+import com.hotel.management.service.TaskSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds the embedded perf database with production-scale synthetic data
+ *
+ * Tables, staff and inventory items go through the repositories. The high-volume
+ * tables are written with batched JDBC inserts, taking their ids from the same
+ * sequences Hibernate uses so the application can keep inserting afterwards.
+ * Volumes are set with the hotel.perf.seed.* properties.
+ */
+@Component
+@Profile("perf")
+public class PerfDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfDataGenerator.class);
+
+    /** Must match the allocationSize of the entities' @SequenceGenerator */
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final LocalTime[] SITTINGS = {
+        LocalTime.of(11, 0), LocalTime.of(14, 0), LocalTime.of(17, 0), LocalTime.of(20, 0)
+    };
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Ahmed", "Priya", "Chen", "Sofia", "Kwame", "Elena", "Luca", "Aisha", "Diego", "Hana"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Khan", "Patel", "Wang", "Rossi", "Mensah", "Ivanova", "Silva", "Tanaka", "Brown", "Nguyen"
+    };
+    private static final String[] TASK_CATEGORIES = {
+        "Cleaning", "Kitchen", "Maintenance", "Front Desk", "Inventory", "Service"
+    };
+    private static final String[] ITEM_CATEGORIES = {
+        "Dry Goods", "Produce", "Dairy", "Meat", "Seafood", "Beverages", "Cleaning", "Linen"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private InventoryItemRepository itemRepository;
+
+    @Autowired
+    private TableAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private StaffSearchIndex staffSearchIndex;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private TaskDispatcher taskDispatcher;
+
+    @Autowired
+    private OverdueTaskTracker overdueTaskTracker;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Value("${hotel.perf.seed.tables:500}")
+    private int tableCount;
+
+    @Value("${hotel.perf.seed.staff:5000}")
+    private int staffCount;
+
+    @Value("${hotel.perf.seed.reservations:1000000}")
+    private int reservationCount;
+
+    @Value("${hotel.perf.seed.tasks:200000}")
+    private int taskCount;
+
+    @Value("${hotel.perf.seed.inventory-items:1000}")
+    private int itemCount;
+
+    @Value("${hotel.perf.seed.inventory-transactions:2000000}")
+    private int inventoryTransactionCount;
+
+    @Value("${hotel.perf.seed.ratings:500000}")
+    private int ratingCount;
+
+    @Value("${hotel.perf.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${hotel.perf.seed.random-seed:42}")
+    private long randomSeed;
+
+    /**
+     * Event listener that runs after the application is ready
+     * Generates the synthetic data set
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() {
+        logger.info("Generating synthetic perf data...");
+        long started = System.nanoTime();
+        Random random = new Random(randomSeed);
+        LocalDateTime now = LocalDateTime.now();
+
+        try {
+            List<RestaurantTable> tables = generateTables();
+            List<Long> staffIds = generateStaff(random);
+            List<Long> itemIds = generateInventoryItems(random);
+
+            generateReservations(tables, random, now);
+            generateTasks(staffIds, random, now);
+            generateInventoryTransactions(itemIds, random, now);
+            generateRatings(random, now);
+
+            // These were loaded before the generated rows existed
+            availabilityIndex.rebuild();
+            staffSearchIndex.rebuild();
+            customerSearchIndex.rebuild();
+            taskDispatcher.rebuild();
+            overdueTaskTracker.rebuild();
+            taskSearchIndex.rebuild();
+            ratingAggregateService.rebuild();
+            dashboardService.invalidate();
+
+            logger.info("Synthetic perf data generated in {}s: {} tables, {} staff, {} reservations, {} tasks, " +
+                    "{} inventory items, {} inventory transactions, {} ratings",
+                    (System.nanoTime() - started) / 1_000_000_000, tableCount, staffCount, reservationCount,
+                    taskCount, itemCount, inventoryTransactionCount, ratingCount);
+
+        } catch (Exception e) {
+            logger.error("Error generating perf data: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<RestaurantTable> generateTables() {
+        List<RestaurantTable> tables = new ArrayList<>(tableCount);
+        for (int i = 1; i <= tableCount; i++) {
+            tables.add(new RestaurantTable(String.format("P%04d", i), 2 + 2 * (i % 4), TableStatus.AVAILABLE));
+        }
+        return tableRepository.saveAll(tables);
+    }
+
+    private List<Long> generateStaff(Random random) {
+        StaffRole[] roles = StaffRole.values();
+        List<Staff> staff = new ArrayList<>(staffCount);
+        for (int i = 0; i < staffCount; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            staff.add(new Staff(firstName, lastName, "staff" + i + "@perf.example.com",
+                    String.format("555-200-%04d", i % 10_000), roles[random.nextInt(roles.length)], "Operations",
+                    LocalDate.now().minusDays(random.nextInt(3650)), 30_000.0 + random.nextInt(50_000),
+                    random.nextInt(10) != 0));
+        }
+        return staffRepository.saveAll(staff).stream().map(Staff::getId).toList();
+    }
+
+    private List<Long> generateInventoryItems(Random random) {
+        List<InventoryItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new InventoryItem("Perf Item " + i, ITEM_CATEGORIES[i % ITEM_CATEGORIES.length],
+                    i % 3 == 0 ? "pcs" : "kg", random.nextInt(5_000), 20 + random.nextInt(80)));
+        }
+        return itemRepository.saveAll(items).stream().map(InventoryItem::getId).toList();
+    }
+
+    /**
+     * Four sittings a day per table, three hours apart so no two overlap;
+     * about a fifth of the bookings lie in the future
+     */
+    private void generateReservations(List<RestaurantTable> tables, Random random, LocalDateTime now) {
+        long sittingsPerTable = ((long) reservationCount + tables.size() - 1) / tables.size();
+        long days = (sittingsPerTable + SITTINGS.length - 1) / SITTINGS.length;
+        LocalDate firstDay = now.toLocalDate().minusDays(days * 4 / 5);
+
+        insert("reservations", "reservations_seq", reservationCount,
+                "customer_name, customer_phone, table_id, reservation_time, party_size, status, version", i -> {
+                    RestaurantTable table = tables.get(i % tables.size());
+                    int sitting = i / tables.size();
+                    LocalDateTime time = firstDay.plusDays(sitting / SITTINGS.length)
+                            .atTime(SITTINGS[sitting % SITTINGS.length]);
+                    int roll = random.nextInt(100);
+                    ReservationStatus status = time.isBefore(now)
+                            ? (roll < 85 ? ReservationStatus.COMPLETED : ReservationStatus.CANCELLED)
+                            : (roll < 70 ? ReservationStatus.CONFIRMED : roll < 90 ? ReservationStatus.PENDING : ReservationStatus.CANCELLED);
+                    return new Object[] {
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        String.format("555-100-%04d", random.nextInt(10_000)), table.getId(), time,
+                        1 + random.nextInt(table.getCapacity()), status.name(), 0L
+                    };
+                });
+    }
+
+    private void generateTasks(List<Long> staffIds, Random random, LocalDateTime now) {
+        TaskStatus[] statuses = TaskStatus.values();
+        insert("tasks", "tasks_seq", taskCount,
+                "title, description, status, priority, due_date, created_at, updated_at, completed_at, " +
+                "assigned_staff_id, created_by, category, version", i -> {
+                    TaskStatus status = statuses[random.nextInt(statuses.length)];
+                    LocalDateTime createdAt = now.minusMinutes(random.nextInt(365 * 24 * 60));
+                    LocalDateTime updatedAt = createdAt.plusMinutes(random.nextInt(7 * 24 * 60));
+                    String category = TASK_CATEGORIES[random.nextInt(TASK_CATEGORIES.length)];
+                    return new Object[] {
+                        category + " task " + i, "Synthetic " + category.toLowerCase() + " task", status.name(),
+                        1 + random.nextInt(5), createdAt.toLocalDate().plusDays(random.nextInt(30)), createdAt,
+                        updatedAt, status == TaskStatus.COMPLETED ? updatedAt : null,
+                        staffIds.isEmpty() || random.nextInt(5) == 0 ? null : staffIds.get(random.nextInt(staffIds.size())),
+                        "perf", category, 0L
+                    };
+                });
+    }
+
+    private void generateInventoryTransactions(List<Long> itemIds, Random random, LocalDateTime now) {
+        insert("inventory_transactions", "inventory_transactions_seq", inventoryTransactionCount,
+                "item_id, type, quantity, note, created_at, created_by", i -> {
+                    int roll = random.nextInt(100);
+                    InventoryTransaction.Type type = roll < 30 ? InventoryTransaction.Type.IN
+                            : roll < 95 ? InventoryTransaction.Type.OUT : InventoryTransaction.Type.ADJUSTMENT;
+                    return new Object[] {
+                        itemIds.get(random.nextInt(itemIds.size())), type.name(), 1 + random.nextInt(50),
+                        null, now.minusMinutes(random.nextInt(365 * 24 * 60)), "perf"
+                    };
+                });
+    }
+
+    private void generateRatings(Random random, LocalDateTime now) {
+        insert("ratings", "ratings_seq", ratingCount,
+                "customer_name, customer_email, rating, comment, date, status", i -> {
+                    int roll = random.nextInt(100);
+                    RatingStatus status = roll < 80 ? RatingStatus.APPROVED : roll < 95 ? RatingStatus.PENDING : RatingStatus.REJECTED;
+                    // Skewed towards good reviews, like real ones
+                    int stars = Math.min(5, 2 + random.nextInt(4) + (random.nextInt(3) == 0 ? 1 : 0));
+                    return new Object[] {
+                        FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                        "guest" + i + "@perf.example.com", stars, "Synthetic review", now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)),
+                        status.name()
+                    };
+                });
+    }
+
+    /**
+     * Insert rows in JDBC batches with ids reserved from the table's sequence
+     * @param table the table to insert into
+     * @param sequence the sequence the table's entity takes its ids from
+     * @param count the number of rows
+     * @param columns the columns after id, comma separated
+     * @param values the column values of the i-th row
+     */
+    private void insert(String table, String sequence, int count, String columns, IntFunction<Object[]> values) {
+        if (count < 1) return;
+        long started = System.nanoTime();
+        long firstId = reserveIds(sequence, count);
+        String placeholders = "?" + ", ?".repeat(columns.split(",").length);
+        String sql = "INSERT INTO " + table + " (id, " + columns + ") VALUES (" + placeholders + ")";
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < count; i++) {
+            Object[] row = values.apply(i);
+            Object[] args = new Object[row.length + 1];
+            args[0] = firstId + i;
+            System.arraycopy(row, 0, args, 1, row.length);
+            batch.add(args);
+            if (batch.size() == batchSize || i == count - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        logger.info("Generated {} {} in {} ms", count, table, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Take a block of ids from a sequence. Hibernate has only handed out ids below the
+     * value fetched here, and the restart keeps its next pooled block above the reserved ones.
+     */
+    private long reserveIds(String sequence, int count) {
+        Long first = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (first + count + ID_ALLOCATION_SIZE));
+        return first;
+    }
+}
@@ -0,0 +1,39 @@
+package com.hotel.management.controller;
+
+import com.hotel.management.diagnostics.SqlDiagnostics;
+import com.hotel.management.dto.SqlDiagnosticsReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * The SQL diagnostics report, available when hotel.diagnostics.sql.enabled=true
+ */
+@Controller
+@RequestMapping("/diagnostics")
+@ConditionalOnProperty(name = "hotel.diagnostics.sql.enabled", havingValue = "true")
+public class DiagnosticsController {
+
+    @Autowired
+    private SqlDiagnostics sqlDiagnostics;
+
+    /**
+     * The endpoints running the most statements per request and the slowest statements
+     * @param top how many of each to list
+     * @return the report
+     */
+    @GetMapping("/sql")
+    @ResponseBody
+    public SqlDiagnosticsReport getSqlReport(@RequestParam(defaultValue = "20") int top) {
+        return sqlDiagnostics.getReport(Math.max(top, 1));
+    }
+
+    @PostMapping("/sql/reset")
+    @ResponseBody
+    public ResponseEntity<Void> resetSqlReport() {
+        sqlDiagnostics.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
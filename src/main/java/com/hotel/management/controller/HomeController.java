@@ -1,73 +1,36 @@
 package com.hotel.management.controller;
 
 
-import com.hotel.management.entity.Reservation;
-import com.hotel.management.entity.Staff;
-import com.hotel.management.enums.TableStatus;
-
-import com.hotel.management.service.RatingService;
-import com.hotel.management.service.ReservationService;
-import com.hotel.management.service.StaffService;
-import com.hotel.management.service.TableService;
+import com.hotel.management.dto.DashboardSummary;
+import com.hotel.management.service.DashboardService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
-
 @Controller
 public class HomeController {
 
     @Autowired
-    private ReservationService reservationService;
-
-    @Autowired
-    private TableService tableService;
-
-    @Autowired
-    private StaffService staffService;
-
-    @Autowired
-    private RatingService ratingService;
+    private DashboardService dashboardService;
 
     @GetMapping({"/", "/home"})
     public String home(Model model) {
         try {
-            // Get dashboard statistics
-            LocalDate today = LocalDate.now();
-
-            // Today's reservations
-            List<Reservation> todayReservations = reservationService.getReservationsForDate(today);
-            model.addAttribute("todayReservationsCount", todayReservations.size());
-
-            // Available tables
-            long availableTablesCount = tableService.countTablesByStatus(TableStatus.AVAILABLE);
-            model.addAttribute("availableTablesCount", availableTablesCount);
-
-            // Active staff members
-            List<Staff> activeStaff = staffService.getActiveStaff();
-            model.addAttribute("activeStaffCount", activeStaff.size());
-
-          // Replace inventory related code with:
-model.addAttribute("averageRating", ratingService.getAverageRating());
-model.addAttribute("pendingReviewsCount", ratingService.getPendingRatingsCount());
-model.addAttribute("recentRatings", ratingService.getApprovedRatings().stream().limit(5).collect(Collectors.toList()));
+            DashboardSummary summary = dashboardService.getSummary();
 
-            // Recent reservations (last 5)
-            List<Reservation> recentReservations = todayReservations.stream()
-                    .limit(5)
-                    .toList();
-            model.addAttribute("recentReservations", recentReservations);
+            model.addAttribute("todayReservationsCount", summary.getTodayReservationsCount());
+            model.addAttribute("availableTablesCount", summary.getAvailableTablesCount());
+            model.addAttribute("activeStaffCount", summary.getActiveStaffCount());
+            model.addAttribute("averageRating", summary.getAverageRating());
+            model.addAttribute("pendingReviewsCount", summary.getPendingReviewsCount());
+            model.addAttribute("recentRatings", summary.getRecentRatings());
+            model.addAttribute("recentReservations", summary.getRecentReservations());
 
             // Table status summary
-            model.addAttribute("totalTables", tableService.countTablesByStatus(TableStatus.AVAILABLE) + 
-                    tableService.countTablesByStatus(TableStatus.OCCUPIED) + 
-                    tableService.countTablesByStatus(TableStatus.RESERVED));
-            model.addAttribute("occupiedTablesCount", tableService.countTablesByStatus(TableStatus.OCCUPIED));
-            model.addAttribute("reservedTablesCount", tableService.countTablesByStatus(TableStatus.RESERVED));
+            model.addAttribute("totalTables", summary.getTotalTables());
+            model.addAttribute("occupiedTablesCount", summary.getOccupiedTablesCount());
+            model.addAttribute("reservedTablesCount", summary.getReservedTablesCount());
 
             return "index";
         } catch (Exception e) {
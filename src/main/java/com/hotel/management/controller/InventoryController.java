@@ -1,15 +1,18 @@
 package com.hotel.management.controller;
 
+import com.hotel.management.dto.StockMovement;
 import com.hotel.management.entity.InventoryItem;
 import com.hotel.management.entity.InventoryTransaction;
 import com.hotel.management.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/inventory")
@@ -116,6 +119,18 @@ public class InventoryController {
         }
     }
 
+    @PostMapping("/tx/batch")
+    @ResponseBody
+    public ResponseEntity<?> recordBatch(@RequestBody List<StockMovement> movements) {
+        try {
+            return ResponseEntity.ok(inventoryService.recordTransactions(movements));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to record batch: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/low-stock")
     public String lowStock(Model model) {
         model.addAttribute("items", inventoryService.getLowStockItems());
@@ -5,6 +5,7 @@ import com.hotel.management.service.RatingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +13,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/ratings")
@@ -46,6 +48,24 @@ public class RatingController {
         }
     }
 
+    /**
+     * Rolling averages, star distributions and trends of the approved ratings (AJAX endpoint)
+     * @param windows the window lengths in days
+     * @return one entry per window, or 400 if a window is out of range
+     */
+    @GetMapping("/analytics")
+    @ResponseBody
+    public ResponseEntity<?> getRatingAnalytics(@RequestParam(defaultValue = "7,30,90") List<Integer> windows) {
+        try {
+            return ResponseEntity.ok(ratingService.getRatingAnalytics(windows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error loading rating analytics: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load rating analytics"));
+        }
+    }
+
     @GetMapping("/new")
     public String showRatingForm(Model model) {
         model.addAttribute("rating", new Rating());
@@ -1,5 +1,7 @@
 package com.hotel.management.controller;
 
+import com.hotel.management.dto.CursorPage;
+import com.hotel.management.dto.ReservationSummary;
 import com.hotel.management.entity.Reservation;
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.enums.ReservationStatus;
@@ -8,6 +10,8 @@ import com.hotel.management.service.TableService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +20,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -34,32 +39,82 @@ public class ReservationController {
     private TableService tableService;
 
     /**
-     * Display all reservations
+     * Display reservations one page at a time, optionally filtered by status and date
      */
- /**
- * Display all reservations
- */
-@GetMapping
-public String getAllReservations(Model model) {
-    try {
-        // Use getReservationsByStatus(null) instead of getAllReservations()
-        List<Reservation> reservations = reservationService.getReservationsByStatus(null);
-        model.addAttribute("reservations", reservations);
+    @GetMapping
+    public String getAllReservations(@RequestParam(required = false) ReservationStatus status,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(defaultValue = "25") int size,
+                                     Model model) {
         model.addAttribute("currentDate", LocalDate.now());
-        return "reservations";
-    } catch (Exception e) {
-        model.addAttribute("error", "Failed to load reservations: " + e.getMessage());
-        return "reservations";
+        model.addAttribute("selectedStatus", status);
+        model.addAttribute("selectedDate", date);
+        model.addAttribute("pageSize", size);
+        try {
+            CursorPage<Reservation> page = reservationService.getReservationPage(status, date, cursor, size);
+            model.addAttribute("reservations", page.getItems());
+            model.addAttribute("nextCursor", page.getNextCursor());
+            return "reservations";
+        } catch (Exception e) {
+            model.addAttribute("error", "Failed to load reservations: " + e.getMessage());
+            return "reservations";
+        }
+    }
+
+    /**
+     * Get one page of reservations (AJAX endpoint)
+     * @param status the status to filter by
+     * @param date the date to filter by
+     * @param cursor the nextCursor of the previous page
+     * @param size the page size
+     * @return the page of reservations, or 400 if the cursor is malformed
+     */
+    @GetMapping("/api")
+    @ResponseBody
+    public ResponseEntity<?> getReservationPage(@RequestParam(required = false) ReservationStatus status,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "25") int size) {
+        try {
+            return ResponseEntity.ok(reservationService.getReservationPage(status, date, cursor, size)
+                    .map(ReservationSummary::from));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to load reservation page: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load reservations"));
+        }
     }
-}
+
+    /**
+     * Suggest returning customers by name or phone number as the user types (AJAX endpoint)
+     * @param q the name or phone number typed so far
+     * @param limit the most customers to return
+     * @return the best matching customers
+     */
+    @GetMapping("/api/customers/typeahead")
+    @ResponseBody
+    public ResponseEntity<?> suggestCustomers(@RequestParam(defaultValue = "") String q,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(reservationService.suggestCustomers(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Failed to suggest customers: {}", e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to suggest customers"));
+        }
+    }
+
     /**
      * Display the new reservation form - FIXED VERSION
      */
     @GetMapping("/new")
     public String showNewReservationForm(Model model) {
         try {
-            // Get available tables for the form
-            List<RestaurantTable> availableTables = tableService.getAvailableTables();
+            // Any table can be booked for a later seating; the service rejects overlaps
+            List<RestaurantTable> availableTables = tableService.getAllTables();
             
             // Create a new reservation object for the form
             Reservation reservation = new Reservation();
@@ -184,15 +239,6 @@ public String getAllReservations(Model model) {
      */
     @GetMapping("/today")
     public String getTodayReservations(Model model) {
-        try {
-            List<Reservation> reservations = reservationService.getReservationsForDate(LocalDate.now());
-            model.addAttribute("reservations", reservations);
-            model.addAttribute("selectedDate", LocalDate.now());
-            model.addAttribute("currentDate", LocalDate.now());
-            return "reservations";
-        } catch (Exception e) {
-            model.addAttribute("error", "Failed to load today's reservations: " + e.getMessage());
-            return "reservations";
-        }
+        return "redirect:/reservations?date=" + LocalDate.now();
     }
 }
\ No newline at end of file
@@ -1,11 +1,12 @@
 package com.hotel.management.controller;
 
-import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.dto.StaffListing;
 import com.hotel.management.entity.Staff;
 import com.hotel.management.enums.StaffRole;
 import com.hotel.management.service.StaffService;
 import com.hotel.management.service.TableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for handling staff-related web requests
@@ -35,22 +37,7 @@ public class StaffController {
     @GetMapping
     public String getAllStaff(Model model) {
         try {
-            List<Staff> staff = staffService.getAllStaff();
-            List<RestaurantTable> allTables = tableService.getAllTables();
-            
-            model.addAttribute("staff", staff);
-            model.addAttribute("allTables", allTables);
-            model.addAttribute("staffRoles", StaffRole.values());
-            
-            // Add a new Staff object for the form
-            Staff newStaff = new Staff();
-            newStaff.setHireDate(LocalDate.now());
-            model.addAttribute("newStaff", newStaff);
-            
-            // Add counts for each role
-            model.addAttribute("totalCount", staff.size());
-            model.addAttribute("activeCount", staffService.countActiveStaff());
-            
+            addStaffPageAttributes(model, staffService.getStaffListing());
             return "staff";
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load staff: " + e.getMessage());
@@ -141,13 +128,8 @@ public class StaffController {
     @GetMapping("/role/{role}")
     public String getStaffByRole(@PathVariable StaffRole role, Model model) {
         try {
-            List<Staff> staff = staffService.getStaffByRole(role);
-            model.addAttribute("staff", staff);
+            addStaffPageAttributes(model, staffService.getStaffListingByRole(role));
             model.addAttribute("selectedRole", role);
-            model.addAttribute("staffRoles", StaffRole.values());
-            model.addAttribute("totalCount", staff.size());
-            model.addAttribute("activeCount", staffService.countActiveStaff());
-            
             return "staff";
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load staff by role: " + e.getMessage());
@@ -164,13 +146,8 @@ public class StaffController {
     @GetMapping("/department/{department}")
     public String getStaffByDepartment(@PathVariable String department, Model model) {
         try {
-            List<Staff> staff = staffService.getStaffByDepartment(department);
-            model.addAttribute("staff", staff);
+            addStaffPageAttributes(model, staffService.getStaffListingByDepartment(department));
             model.addAttribute("selectedDepartment", department);
-            model.addAttribute("staffRoles", StaffRole.values());
-            model.addAttribute("totalCount", staff.size());
-            model.addAttribute("activeCount", staffService.countActiveStaff());
-            
             return "staff";
         } catch (Exception e) {
             model.addAttribute("error", "Failed to load staff by department: " + e.getMessage());
@@ -301,22 +278,8 @@ public class StaffController {
     @GetMapping("/search")
     public String searchStaff(@RequestParam String searchTerm, Model model) {
         try {
-            List<Staff> staff = staffService.searchStaffByName(searchTerm);
-            List<RestaurantTable> allTables = tableService.getAllTables();
-            
-            model.addAttribute("staff", staff);
-            model.addAttribute("allTables", allTables);
+            addStaffPageAttributes(model, staffService.searchStaffListing(searchTerm));
             model.addAttribute("searchTerm", searchTerm);
-            model.addAttribute("staffRoles", StaffRole.values());
-            
-            // Add a new Staff object for the form
-            Staff newStaff = new Staff();
-            newStaff.setHireDate(LocalDate.now());
-            model.addAttribute("newStaff", newStaff);
-            
-            model.addAttribute("totalCount", staff.size());
-            model.addAttribute("activeCount", staffService.countActiveStaff());
-            
             return "staff";
         } catch (Exception e) {
             model.addAttribute("error", "Failed to search staff: " + e.getMessage());
@@ -324,6 +287,25 @@ public class StaffController {
         }
     }
 
+    /**
+     * Suggest staff by name as the user types (AJAX endpoint)
+     * @param q the name typed so far
+     * @param limit the most staff to return
+     * @return the best matching staff
+     */
+    @GetMapping("/api/typeahead")
+    @ResponseBody
+    public ResponseEntity<?> suggestStaff(@RequestParam(defaultValue = "") String q,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(staffService.suggestStaff(q, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to suggest staff"));
+        }
+    }
+
     /**
      * Assign a table to a staff member
      * @param staffId the staff ID
@@ -363,4 +345,22 @@ public class StaffController {
         }
         return "redirect:/staff";
     }
+
+    /**
+     * Add the staff rows and everything else the staff page renders: the tables for the
+     * assign menus, the new staff form and the counts
+     */
+    private void addStaffPageAttributes(Model model, List<StaffListing> staff) {
+        model.addAttribute("staff", staff);
+        model.addAttribute("allTables", tableService.getAllTables());
+        model.addAttribute("staffRoles", StaffRole.values());
+
+        // Add a new Staff object for the form
+        Staff newStaff = new Staff();
+        newStaff.setHireDate(LocalDate.now());
+        model.addAttribute("newStaff", newStaff);
+
+        model.addAttribute("totalCount", staff.size());
+        model.addAttribute("activeCount", staffService.countActiveStaff());
+    }
 }
@@ -1,14 +1,21 @@
 package com.hotel.management.controller;
 
+import com.hotel.management.dto.AvailabilitySlot;
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.enums.TableStatus;
 import com.hotel.management.service.TableService;
+import com.hotel.management.service.TableStatusBroadcaster;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -21,6 +28,9 @@ public class TableController {
     @Autowired
     private TableService tableService;
 
+    @Autowired
+    private TableStatusBroadcaster tableStatusBroadcaster;
+
     /**
      * Display all tables
      * @param model the model to pass data to the view
@@ -211,4 +221,38 @@ public class TableController {
             return List.of(); // Return empty list on error
         }
     }
+
+    /**
+     * Get every bookable slot of a day for a party size across all tables (AJAX endpoint)
+     * @param partySize the party size
+     * @param date the date to search
+     * @param slotMinutes the time between slots
+     * @return list of slots with the tables free for each
+     */
+    @GetMapping("/availability")
+    @ResponseBody
+    public List<AvailabilitySlot> getAvailabilityForDay(@RequestParam Integer partySize,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                        @RequestParam(defaultValue = "15") int slotMinutes) {
+        try {
+            if (partySize == null || partySize < 1) {
+                return List.of();
+            }
+            return tableService.getAvailabilityForDay(partySize, date, slotMinutes);
+        } catch (Exception e) {
+            return List.of(); // Return empty list on error
+        }
+    }
+
+    /**
+     * Stream table status changes as Server-Sent Events: a "snapshot" event with every
+     * table on connect, then a "table-status" event for each change
+     * @return the event stream
+     * @throws IOException if the snapshot cannot be sent
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamTableStatus() throws IOException {
+        return tableStatusBroadcaster.subscribe();
+    }
 }
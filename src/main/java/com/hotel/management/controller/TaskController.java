@@ -6,6 +6,7 @@ import com.hotel.management.enums.TaskStatus;
 import com.hotel.management.service.TaskService;
 import com.hotel.management.service.StaffService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -13,6 +14,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Controller for handling task-related web requests
@@ -38,12 +40,8 @@ public class TaskController {
             List<Task> tasks = taskService.getAllTasks();
             model.addAttribute("tasks", tasks);
             model.addAttribute("taskStatuses", TaskStatus.values());
-            
-            // Add counts for each status
             model.addAttribute("totalCount", tasks.size());
-            model.addAttribute("pendingCount", taskService.countTasksByStatus(TaskStatus.PENDING));
-            model.addAttribute("inProgressCount", taskService.countTasksByStatus(TaskStatus.IN_PROGRESS));
-            model.addAttribute("completedCount", taskService.countTasksByStatus(TaskStatus.COMPLETED));
+            addTaskListAttributes(model);
             
             return "tasks";
         } catch (Exception e) {
@@ -128,9 +126,7 @@ public class TaskController {
             model.addAttribute("selectedStatus", status);
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("totalCount", tasks.size());
-            model.addAttribute("pendingCount", taskService.countTasksByStatus(TaskStatus.PENDING));
-            model.addAttribute("inProgressCount", taskService.countTasksByStatus(TaskStatus.IN_PROGRESS));
-            model.addAttribute("completedCount", taskService.countTasksByStatus(TaskStatus.COMPLETED));
+            addTaskListAttributes(model);
             
             return "tasks";
         } catch (Exception e) {
@@ -155,9 +151,7 @@ public class TaskController {
             model.addAttribute("selectedStaff", staffOpt.orElse(null));
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("totalCount", tasks.size());
-            model.addAttribute("pendingCount", taskService.countTasksByStatus(TaskStatus.PENDING));
-            model.addAttribute("inProgressCount", taskService.countTasksByStatus(TaskStatus.IN_PROGRESS));
-            model.addAttribute("completedCount", taskService.countTasksByStatus(TaskStatus.COMPLETED));
+            addTaskListAttributes(model);
             
             return "tasks";
         } catch (Exception e) {
@@ -346,9 +340,7 @@ public class TaskController {
             model.addAttribute("showUnassigned", true);
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("totalCount", tasks.size());
-            model.addAttribute("pendingCount", taskService.countTasksByStatus(TaskStatus.PENDING));
-            model.addAttribute("inProgressCount", taskService.countTasksByStatus(TaskStatus.IN_PROGRESS));
-            model.addAttribute("completedCount", taskService.countTasksByStatus(TaskStatus.COMPLETED));
+            addTaskListAttributes(model);
             
             return "tasks";
         } catch (Exception e) {
@@ -370,9 +362,7 @@ public class TaskController {
             model.addAttribute("showOverdue", true);
             model.addAttribute("taskStatuses", TaskStatus.values());
             model.addAttribute("totalCount", tasks.size());
-            model.addAttribute("pendingCount", taskService.countTasksByStatus(TaskStatus.PENDING));
-            model.addAttribute("inProgressCount", taskService.countTasksByStatus(TaskStatus.IN_PROGRESS));
-            model.addAttribute("completedCount", taskService.countTasksByStatus(TaskStatus.COMPLETED));
+            addTaskListAttributes(model);
             
             return "tasks";
         } catch (Exception e) {
@@ -380,4 +370,142 @@ public class TaskController {
             return "redirect:/tasks";
         }
     }
+
+    /**
+     * Get the task board: every status with its count and most urgent tasks (AJAX endpoint)
+     * @param limit the most tasks per column
+     * @return the board columns
+     */
+    @GetMapping("/api/board")
+    @ResponseBody
+    public ResponseEntity<?> getTaskBoard(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(taskService.getTaskBoard(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load task board"));
+        }
+    }
+
+    /**
+     * Complete many tasks at once (AJAX endpoint)
+     * @param taskIds the task IDs
+     * @return the number of tasks completed and skipped
+     */
+    @PostMapping("/api/bulk/complete")
+    @ResponseBody
+    public ResponseEntity<?> completeTasks(@RequestBody List<Long> taskIds) {
+        try {
+            return ResponseEntity.ok(taskService.completeTasks(taskIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to complete tasks"));
+        }
+    }
+
+    /**
+     * Hand all open tasks of one staff member to another (AJAX endpoint)
+     * @param fromStaffId the staff member the tasks are assigned to now
+     * @param toStaffId the staff member to assign them to
+     * @return the number of tasks reassigned
+     */
+    @PostMapping("/api/bulk/reassign")
+    @ResponseBody
+    public ResponseEntity<?> reassignOpenTasks(@RequestParam Long fromStaffId, @RequestParam Long toStaffId) {
+        try {
+            return ResponseEntity.ok(taskService.reassignOpenTasks(fromStaffId, toStaffId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to reassign tasks"));
+        }
+    }
+
+    /**
+     * Put all pending and in progress tasks of a category on hold (AJAX endpoint)
+     * @param category the task category
+     * @return the number of tasks put on hold
+     */
+    @PostMapping("/api/bulk/hold")
+    @ResponseBody
+    public ResponseEntity<?> holdCategoryTasks(@RequestParam String category) {
+        try {
+            return ResponseEntity.ok(taskService.holdCategoryTasks(category));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to put tasks on hold"));
+        }
+    }
+
+    /**
+     * Search tasks by title, description, category and creator, best match first (AJAX endpoint)
+     * @param q the words to look for
+     * @param status only tasks in this status
+     * @param minPriority only tasks of at least this priority
+     * @param limit the most tasks to return
+     * @return the best matches and the number of tasks matched
+     */
+    @GetMapping("/api/search")
+    @ResponseBody
+    public ResponseEntity<?> searchTasks(@RequestParam(defaultValue = "") String q,
+                                         @RequestParam(required = false) TaskStatus status,
+                                         @RequestParam(required = false) Integer minPriority,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(taskService.searchTasks(q, status, minPriority, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to search tasks"));
+        }
+    }
+
+    /**
+     * List overdue tasks from the in-memory overdue tracker (AJAX endpoint)
+     * @param limit the most tasks to return
+     * @return the overdue tasks, most overdue first
+     */
+    @GetMapping("/api/overdue")
+    @ResponseBody
+    public ResponseEntity<?> getOverdueTaskSummaries(@RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(taskService.getOverdueTaskSummaries(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load overdue tasks"));
+        }
+    }
+
+    /**
+     * Show the automatic dispatcher's waiting tasks and staff loads (AJAX endpoint)
+     * @param limit the most waiting tasks to list per staff role
+     * @return the dispatcher's state
+     */
+    @GetMapping("/api/dispatch")
+    @ResponseBody
+    public ResponseEntity<?> getDispatchStatus(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(taskService.getDispatchStatus(limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to load dispatch status"));
+        }
+    }
+
+    /**
+     * Add the status counts, read with one grouped query, and what the list page's new task form needs
+     */
+    private void addTaskListAttributes(Model model) {
+        Map<TaskStatus, Long> counts = taskService.countTasksGroupedByStatus();
+        model.addAttribute("pendingCount", counts.get(TaskStatus.PENDING));
+        model.addAttribute("inProgressCount", counts.get(TaskStatus.IN_PROGRESS));
+        model.addAttribute("completedCount", counts.get(TaskStatus.COMPLETED));
+        model.addAttribute("task", new Task());
+        model.addAttribute("staff", staffService.getActiveStaff());
+    }
 }
@@ -0,0 +1,21 @@
+package com.hotel.management.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Passes every statement Hibernate prepares to {@link SqlDiagnostics} unchanged
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    private final transient SqlDiagnostics diagnostics;
+
+    public CountingStatementInspector(SqlDiagnostics diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        diagnostics.onStatement(sql);
+        return sql;
+    }
+}
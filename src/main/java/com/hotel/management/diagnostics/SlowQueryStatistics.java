@@ -0,0 +1,24 @@
+package com.hotel.management.diagnostics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate statistics that also hand statements slower than hibernate.log_slow_query
+ * to {@link SqlDiagnostics}, which keeps them by shape rather than by literal SQL
+ */
+public class SlowQueryStatistics extends StatisticsImpl {
+
+    private final transient SqlDiagnostics diagnostics;
+
+    public SlowQueryStatistics(SessionFactoryImplementor sessionFactory, SqlDiagnostics diagnostics) {
+        super(sessionFactory);
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public void slowQuery(String sql, long executionTime) {
+        super.slowQuery(sql, executionTime);
+        diagnostics.onSlowStatement(sql, executionTime);
+    }
+}
@@ -0,0 +1,211 @@
+package com.hotel.management.diagnostics;
+
+import com.hotel.management.dto.SqlDiagnosticsReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements each HTTP request runs and collects slow statements
+ *
+ * Statements are counted per request by {@link CountingStatementInspector}, and slow ones
+ * reported by Hibernate statistics through {@link SlowQueryStatistics}. A request that runs
+ * more statements than the threshold, or one statement shape over and over (the N+1 pattern),
+ * is logged and counted against its endpoint. Enabled with hotel.diagnostics.sql.enabled=true.
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.diagnostics.sql.enabled", havingValue = "true")
+public class SqlDiagnostics {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlDiagnostics.class);
+
+    /** Bounds memory when statements are built with varying literals */
+    private static final int MAX_SLOW_SHAPES = 500;
+    private static final int MAX_SHAPE_LENGTH = 1000;
+
+    /**
+     * Slow statements arrive as the JDBC statement's toString(): "HikariProxyPreparedStatement@1a2b
+     * wrapping prep7: select ... {1: 'X'}" on H2, "com.mysql.cj.jdbc.ClientPreparedStatement: select ..."
+     * with the values inlined on MySQL
+     */
+    private static final Pattern POOL_WRAPPER = Pattern.compile("^.*?\\bwrapping\\s+");
+    private static final Pattern DRIVER_PREFIX = Pattern.compile("^[\\w.$]+:\\s+");
+    private static final Pattern DRIVER_PARAMETERS = Pattern.compile("\\s+\\{\\d+: .*}$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    @Value("${hotel.diagnostics.sql.statement-threshold:20}")
+    private int statementThreshold;
+
+    @Value("${hotel.diagnostics.sql.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    private final ThreadLocal<Map<String, Integer>> currentRequest = new ThreadLocal<>();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, SlowStatementStats> slowStatements = new ConcurrentHashMap<>();
+
+    /**
+     * Start counting the statements of the current thread's request
+     */
+    public void beginRequest() {
+        currentRequest.set(new HashMap<>());
+    }
+
+    /**
+     * Stop counting and attribute the request's statements to its endpoint
+     * @param endpoint the method and route of the request, e.g. "GET /staff/{id}"
+     */
+    public void endRequest(String endpoint) {
+        Map<String, Integer> statements = currentRequest.get();
+        currentRequest.remove();
+        if (statements == null) return;
+
+        int total = 0;
+        String mostRepeated = null;
+        int mostRepeatedCount = 0;
+        for (Map.Entry<String, Integer> entry : statements.entrySet()) {
+            total += entry.getValue();
+            if (entry.getValue() > mostRepeatedCount) {
+                mostRepeated = entry.getKey();
+                mostRepeatedCount = entry.getValue();
+            }
+        }
+        boolean flagged = total > statementThreshold || mostRepeatedCount >= repeatThreshold;
+        String repeatedShape = mostRepeatedCount >= repeatThreshold ? shape(mostRepeated) : null;
+        endpoints.computeIfAbsent(endpoint, EndpointStats::new).record(total, flagged, repeatedShape, mostRepeatedCount);
+
+        if (flagged) {
+            logger.warn("{} ran {} SQL statements{}", endpoint, total, repeatedShape == null ? ""
+                    : "; repeated " + mostRepeatedCount + "x: " + repeatedShape);
+        }
+    }
+
+    /**
+     * Count a statement Hibernate is about to run
+     */
+    void onStatement(String sql) {
+        Map<String, Integer> statements = currentRequest.get();
+        if (statements != null) {
+            statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Record a statement that ran longer than hibernate.log_slow_query
+     */
+    void onSlowStatement(String sql, long millis) {
+        String statement = POOL_WRAPPER.matcher(sql).replaceFirst("");
+        statement = DRIVER_PREFIX.matcher(statement).replaceFirst("");
+        statement = DRIVER_PARAMETERS.matcher(statement).replaceFirst("");
+        String shape = shape(statement);
+        SlowStatementStats stats = slowStatements.get(shape);
+        if (stats == null) {
+            if (slowStatements.size() >= MAX_SLOW_SHAPES) return;
+            stats = slowStatements.computeIfAbsent(shape, SlowStatementStats::new);
+        }
+        stats.record(millis);
+    }
+
+    /**
+     * Get the endpoints running the most statements per request and the slowest statements
+     * @param top how many of each to include
+     * @return the report
+     */
+    public SqlDiagnosticsReport getReport(int top) {
+        List<SqlDiagnosticsReport.Endpoint> worstEndpoints = endpoints.values().stream()
+                .map(EndpointStats::toReport)
+                .sorted(Comparator.comparingDouble(SqlDiagnosticsReport.Endpoint::getAverageStatements).reversed())
+                .limit(top)
+                .toList();
+        List<SqlDiagnosticsReport.SlowStatement> slowest = slowStatements.values().stream()
+                .map(SlowStatementStats::toReport)
+                .sorted(Comparator.comparingLong(SqlDiagnosticsReport.SlowStatement::getTotalMillis).reversed())
+                .limit(top)
+                .toList();
+        return new SqlDiagnosticsReport(statementThreshold, repeatThreshold, worstEndpoints, slowest);
+    }
+
+    /**
+     * Forget everything collected so far
+     */
+    public void reset() {
+        endpoints.clear();
+        slowStatements.clear();
+    }
+
+    /**
+     * The statement with literals, whitespace and IN lists normalized, so runs with
+     * different values group together
+     */
+    static String shape(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?...)");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) + "..." : shape;
+    }
+
+    private static final class EndpointStats {
+
+        private final String endpoint;
+        private long requests;
+        private long statements;
+        private int maxStatements;
+        private long flaggedRequests;
+        private String repeatedShape;
+        private int repeatedCount;
+
+        private EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        private synchronized void record(int total, boolean flagged, String shape, int count) {
+            requests++;
+            statements += total;
+            maxStatements = Math.max(maxStatements, total);
+            if (flagged) flaggedRequests++;
+            if (shape != null && count > repeatedCount) {
+                repeatedShape = shape;
+                repeatedCount = count;
+            }
+        }
+
+        private synchronized SqlDiagnosticsReport.Endpoint toReport() {
+            return new SqlDiagnosticsReport.Endpoint(endpoint, requests, (double) statements / requests,
+                    maxStatements, flaggedRequests, repeatedShape, repeatedCount);
+        }
+    }
+
+    private static final class SlowStatementStats {
+
+        private final String shape;
+        private long count;
+        private long totalMillis;
+        private long maxMillis;
+
+        private SlowStatementStats(String shape) {
+            this.shape = shape;
+        }
+
+        private synchronized void record(long millis) {
+            count++;
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+        }
+
+        private synchronized SqlDiagnosticsReport.SlowStatement toReport() {
+            return new SqlDiagnosticsReport.SlowStatement(shape, count, totalMillis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.hotel.management.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hooks {@link SqlDiagnostics} into Hibernate: a statement inspector to count statements,
+ * and statistics with slow query logging to catch the slow ones
+ */
+@Configuration
+@ConditionalOnProperty(name = "hotel.diagnostics.sql.enabled", havingValue = "true")
+public class SqlDiagnosticsConfig {
+
+    @Value("${hotel.diagnostics.sql.slow-query-ms:200}")
+    private long slowQueryMillis;
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlDiagnosticsCustomizer(SqlDiagnostics diagnostics) {
+        StatisticsFactory statisticsFactory = sessionFactory -> new SlowQueryStatistics(sessionFactory, diagnostics);
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector(diagnostics));
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            // Statistics would otherwise log a metrics summary at INFO for every session
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryMillis);
+            properties.put("hibernate.stats.factory", statisticsFactory);
+        };
+    }
+}
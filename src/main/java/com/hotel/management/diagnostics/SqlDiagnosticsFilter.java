@@ -0,0 +1,43 @@
+package com.hotel.management.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Brackets each request so {@link SqlDiagnostics} can attribute its statements to the
+ * route that handled it, e.g. "GET /staff/{id}/edit" rather than every individual id
+ */
+@Component
+@ConditionalOnProperty(name = "hotel.diagnostics.sql.enabled", havingValue = "true")
+public class SqlDiagnosticsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private SqlDiagnostics diagnostics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        diagnostics.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            diagnostics.endRequest(request.getMethod() + " " + (route != null ? route : "(unmapped)"));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.startsWith("/diagnostics/") || path.startsWith("/actuator/");
+    }
+}
@@ -0,0 +1,46 @@
+package com.hotel.management.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A bookable seating time and the tables free for it
+ */
+public class AvailabilitySlot {
+
+    private final LocalDateTime time;
+    private final List<AvailableTable> tables;
+
+    public AvailabilitySlot(LocalDateTime time, List<AvailableTable> tables) {
+        this.time = time;
+        this.tables = tables;
+    }
+
+    public LocalDateTime getTime() { return time; }
+
+    public List<AvailableTable> getTables() { return tables; }
+
+    public int getAvailableCount() { return tables.size(); }
+
+    /**
+     * A table that can be booked for the slot
+     */
+    public static class AvailableTable {
+
+        private final Long id;
+        private final String tableNumber;
+        private final Integer capacity;
+
+        public AvailableTable(Long id, String tableNumber, Integer capacity) {
+            this.id = id;
+            this.tableNumber = tableNumber;
+            this.capacity = capacity;
+        }
+
+        public Long getId() { return id; }
+
+        public String getTableNumber() { return tableNumber; }
+
+        public Integer getCapacity() { return capacity; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotel.management.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk task status change or reassignment
+ */
+public class BulkTaskResult {
+
+    private final int updated;
+    private final int skipped;
+    private final List<Long> updatedTaskIds;
+
+    public BulkTaskResult(int updated, int skipped, List<Long> updatedTaskIds) {
+        this.updated = updated;
+        this.skipped = skipped;
+        this.updatedTaskIds = updatedTaskIds;
+    }
+
+    public int getUpdated() { return updated; }
+
+    public int getSkipped() { return skipped; }
+
+    public List<Long> getUpdatedTaskIds() { return updatedTaskIds; }
+}
@@ -0,0 +1,35 @@
+package com.hotel.management.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing and the cursor for the page after it
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean isHasNext() { return nextCursor != null; }
+
+    public int getSize() { return items.size(); }
+
+    /**
+     * Convert the items of the page, keeping its cursor
+     * @param mapper the conversion to apply to each item
+     * @return the converted page
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
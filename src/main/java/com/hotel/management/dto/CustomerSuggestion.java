@@ -0,0 +1,43 @@
+package com.hotel.management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A returning customer offered by the reservation form's typeahead: a name and phone
+ * number seen together on reservations, how often and when last
+ */
+public class CustomerSuggestion {
+
+    private final String customerName;
+    private final String customerPhone;
+    private final long reservationCount;
+    private final LocalDateTime lastReservationTime;
+
+    public CustomerSuggestion(String customerName, String customerPhone, long reservationCount,
+                              LocalDateTime lastReservationTime) {
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.reservationCount = reservationCount;
+        this.lastReservationTime = lastReservationTime;
+    }
+
+    /**
+     * This customer with more reservations
+     * @param count the number of reservations to add
+     * @param latest the time of the latest of them
+     * @return the updated suggestion
+     */
+    public CustomerSuggestion withReservations(long count, LocalDateTime latest) {
+        LocalDateTime last = lastReservationTime == null || (latest != null && latest.isAfter(lastReservationTime))
+                ? latest : lastReservationTime;
+        return new CustomerSuggestion(customerName, customerPhone, reservationCount + count, last);
+    }
+
+    public String getCustomerName() { return customerName; }
+
+    public String getCustomerPhone() { return customerPhone; }
+
+    public long getReservationCount() { return reservationCount; }
+
+    public LocalDateTime getLastReservationTime() { return lastReservationTime; }
+}
@@ -0,0 +1,57 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.entity.Rating;
+import com.hotel.management.entity.Reservation;
+
+import java.util.List;
+
+/**
+ * Figures shown on the home page dashboard
+ */
+public class DashboardSummary {
+
+    private final long todayReservationsCount;
+    private final long availableTablesCount;
+    private final long occupiedTablesCount;
+    private final long reservedTablesCount;
+    private final long activeStaffCount;
+    private final double averageRating;
+    private final long pendingReviewsCount;
+    private final List<Reservation> recentReservations;
+    private final List<Rating> recentRatings;
+
+    public DashboardSummary(long todayReservationsCount, long availableTablesCount, long occupiedTablesCount,
+                            long reservedTablesCount, long activeStaffCount, double averageRating,
+                            long pendingReviewsCount, List<Reservation> recentReservations,
+                            List<Rating> recentRatings) {
+        this.todayReservationsCount = todayReservationsCount;
+        this.availableTablesCount = availableTablesCount;
+        this.occupiedTablesCount = occupiedTablesCount;
+        this.reservedTablesCount = reservedTablesCount;
+        this.activeStaffCount = activeStaffCount;
+        this.averageRating = averageRating;
+        this.pendingReviewsCount = pendingReviewsCount;
+        this.recentReservations = recentReservations;
+        this.recentRatings = recentRatings;
+    }
+
+    public long getTodayReservationsCount() { return todayReservationsCount; }
+
+    public long getAvailableTablesCount() { return availableTablesCount; }
+
+    public long getOccupiedTablesCount() { return occupiedTablesCount; }
+
+    public long getReservedTablesCount() { return reservedTablesCount; }
+
+    public long getTotalTables() { return availableTablesCount + occupiedTablesCount + reservedTablesCount; }
+
+    public long getActiveStaffCount() { return activeStaffCount; }
+
+    public double getAverageRating() { return averageRating; }
+
+    public long getPendingReviewsCount() { return pendingReviewsCount; }
+
+    public List<Reservation> getRecentReservations() { return recentReservations; }
+
+    public List<Rating> getRecentRatings() { return recentRatings; }
+}
@@ -0,0 +1,72 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.StaffRole;
+
+import java.util.List;
+
+/**
+ * The task dispatcher's queue and staff loads, per staff role
+ */
+public class DispatchStatus {
+
+    private final boolean enabled;
+    private final int maxOpenTasksPerStaff;
+    private final List<RoleQueue> roles;
+
+    public DispatchStatus(boolean enabled, int maxOpenTasksPerStaff, List<RoleQueue> roles) {
+        this.enabled = enabled;
+        this.maxOpenTasksPerStaff = maxOpenTasksPerStaff;
+        this.roles = roles;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public int getMaxOpenTasksPerStaff() { return maxOpenTasksPerStaff; }
+
+    public List<RoleQueue> getRoles() { return roles; }
+
+    /**
+     * The tasks waiting for one role, in the order they will be assigned, and the open
+     * task load of the role's active staff, least loaded first
+     */
+    public static class RoleQueue {
+
+        private final StaffRole role;
+        private final int queued;
+        private final List<QueuedTask> next;
+        private final List<StaffLoad> staff;
+
+        public RoleQueue(StaffRole role, int queued, List<QueuedTask> next, List<StaffLoad> staff) {
+            this.role = role;
+            this.queued = queued;
+            this.next = next;
+            this.staff = staff;
+        }
+
+        public StaffRole getRole() { return role; }
+
+        public int getQueued() { return queued; }
+
+        public List<QueuedTask> getNext() { return next; }
+
+        public List<StaffLoad> getStaff() { return staff; }
+    }
+
+    /**
+     * The number of open tasks assigned to an active staff member
+     */
+    public static class StaffLoad {
+
+        private final Long staffId;
+        private final int openTasks;
+
+        public StaffLoad(Long staffId, int openTasks) {
+            this.staffId = staffId;
+            this.openTasks = openTasks;
+        }
+
+        public Long getStaffId() { return staffId; }
+
+        public int getOpenTasks() { return openTasks; }
+    }
+}
@@ -0,0 +1,44 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * An unfinished task with a due date, as tracked by the overdue task scanner
+ */
+public class DueTask {
+
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final int priority;
+    private final LocalDate dueDate;
+    private final TaskStatus status;
+    private final Long assignedStaffId;
+
+    public DueTask(Long id, String title, String category, Integer priority, LocalDate dueDate, TaskStatus status,
+                   Long assignedStaffId) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.priority = priority != null ? priority : 3;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.assignedStaffId = assignedStaffId;
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCategory() { return category; }
+
+    public int getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public Long getAssignedStaffId() { return assignedStaffId; }
+}
@@ -0,0 +1,39 @@
+package com.hotel.management.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An unassigned pending task waiting in the dispatcher's queue for its category's staff role
+ */
+public class QueuedTask {
+
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final int priority;
+    private final LocalDate dueDate;
+    private final LocalDateTime createdAt;
+
+    public QueuedTask(Long id, String title, String category, Integer priority, LocalDate dueDate,
+                      LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.priority = priority != null ? priority : 3;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCategory() { return category; }
+
+    public int getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -0,0 +1,66 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.RatingStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Rating counts per status and star value, as kept in the rating aggregates
+ */
+public class RatingSummary {
+
+    public static final int MIN_STARS = 1;
+    public static final int MAX_STARS = 5;
+
+    private final Map<RatingStatus, long[]> counts = new EnumMap<>(RatingStatus.class);
+
+    public RatingSummary() {
+        for (RatingStatus status : RatingStatus.values()) {
+            counts.put(status, new long[MAX_STARS - MIN_STARS + 1]);
+        }
+    }
+
+    /**
+     * Add ratings to the summary
+     * @param status the status of the ratings
+     * @param stars their star value; values outside 1 to 5 are ignored
+     * @param count how many there are
+     */
+    public void add(RatingStatus status, int stars, long count) {
+        if (status != null && stars >= MIN_STARS && stars <= MAX_STARS) {
+            counts.get(status)[stars - MIN_STARS] += count;
+        }
+    }
+
+    public long getCount(RatingStatus status, int stars) {
+        return stars >= MIN_STARS && stars <= MAX_STARS ? counts.get(status)[stars - MIN_STARS] : 0;
+    }
+
+    public long getCount(RatingStatus status) {
+        long total = 0;
+        for (long count : counts.get(status)) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return the sum of the star values of the ratings in a status
+     */
+    public long getStarTotal(RatingStatus status) {
+        long total = 0;
+        for (int stars = MIN_STARS; stars <= MAX_STARS; stars++) {
+            total += stars * getCount(status, stars);
+        }
+        return total;
+    }
+
+    /**
+     * @return the average star value in a status rounded to one decimal, or 0.0 without ratings
+     */
+    public double getAverage(RatingStatus status) {
+        long count = getCount(status);
+        return count > 0 ? Math.round((double) getStarTotal(status) / count * 10.0) / 10.0 : 0.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hotel.management.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Approved ratings dated within the last days, compared with the same number of days before
+ */
+public class RatingWindow {
+
+    private final int days;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long count;
+    private final double average;
+    private final Map<Integer, Long> distribution;
+    private final long previousCount;
+    private final double previousAverage;
+    private final Double trend;
+
+    /**
+     * @param days the length of the window
+     * @param from the first day of the window
+     * @param to the last day of the window
+     * @param count the approved ratings in the window
+     * @param average their average star value, or 0.0 without ratings
+     * @param distribution the number of them per star value, highest first
+     * @param previousCount the approved ratings in the window before
+     * @param previousAverage their average star value, or 0.0 without ratings
+     * @param trend the change of the average, or null when either window has no ratings
+     */
+    public RatingWindow(int days, LocalDate from, LocalDate to, long count, double average,
+                        Map<Integer, Long> distribution, long previousCount, double previousAverage, Double trend) {
+        this.days = days;
+        this.from = from;
+        this.to = to;
+        this.count = count;
+        this.average = average;
+        this.distribution = distribution;
+        this.previousCount = previousCount;
+        this.previousAverage = previousAverage;
+        this.trend = trend;
+    }
+
+    public int getDays() { return days; }
+
+    public LocalDate getFrom() { return from; }
+
+    public LocalDate getTo() { return to; }
+
+    public long getCount() { return count; }
+
+    public double getAverage() { return average; }
+
+    public Map<Integer, Long> getDistribution() { return distribution; }
+
+    public long getPreviousCount() { return previousCount; }
+
+    public double getPreviousAverage() { return previousAverage; }
+
+    public Double getTrend() { return trend; }
+}
@@ -0,0 +1,62 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * A reservation as returned by the JSON API
+ */
+public class ReservationSummary {
+
+    private final Long id;
+    private final String customerName;
+    private final String customerPhone;
+    private final Long tableId;
+    private final String tableNumber;
+    private final LocalDateTime reservationTime;
+    private final Integer partySize;
+    private final ReservationStatus status;
+
+    public ReservationSummary(Long id, String customerName, String customerPhone, Long tableId,
+                              String tableNumber, LocalDateTime reservationTime, Integer partySize,
+                              ReservationStatus status) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.reservationTime = reservationTime;
+        this.partySize = partySize;
+        this.status = status;
+    }
+
+    /**
+     * Build a summary from a reservation whose table has been loaded
+     * @param reservation the reservation
+     * @return the summary
+     */
+    public static ReservationSummary from(Reservation reservation) {
+        return new ReservationSummary(reservation.getId(), reservation.getCustomerName(),
+                reservation.getCustomerPhone(), reservation.getTable().getId(),
+                reservation.getTable().getTableNumber(), reservation.getReservationTime(),
+                reservation.getPartySize(), reservation.getStatus());
+    }
+
+    public Long getId() { return id; }
+
+    public String getCustomerName() { return customerName; }
+
+    public String getCustomerPhone() { return customerPhone; }
+
+    public Long getTableId() { return tableId; }
+
+    public String getTableNumber() { return tableNumber; }
+
+    public LocalDateTime getReservationTime() { return reservationTime; }
+
+    public Integer getPartySize() { return partySize; }
+
+    public ReservationStatus getStatus() { return status; }
+}
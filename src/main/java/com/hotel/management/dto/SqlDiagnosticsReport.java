@@ -0,0 +1,96 @@
+package com.hotel.management.dto;
+
+import java.util.List;
+
+/**
+ * The endpoints running the most SQL statements per request and the slowest statement shapes
+ */
+public class SqlDiagnosticsReport {
+
+    private final int statementThreshold;
+    private final int repeatThreshold;
+    private final List<Endpoint> endpoints;
+    private final List<SlowStatement> slowStatements;
+
+    public SqlDiagnosticsReport(int statementThreshold, int repeatThreshold, List<Endpoint> endpoints,
+                                List<SlowStatement> slowStatements) {
+        this.statementThreshold = statementThreshold;
+        this.repeatThreshold = repeatThreshold;
+        this.endpoints = endpoints;
+        this.slowStatements = slowStatements;
+    }
+
+    public int getStatementThreshold() { return statementThreshold; }
+
+    public int getRepeatThreshold() { return repeatThreshold; }
+
+    public List<Endpoint> getEndpoints() { return endpoints; }
+
+    public List<SlowStatement> getSlowStatements() { return slowStatements; }
+
+    /**
+     * Statement counts of the requests to one route; repeatedShape is the statement a single
+     * request ran most often, when that reached the repeat threshold
+     */
+    public static class Endpoint {
+
+        private final String endpoint;
+        private final long requests;
+        private final double averageStatements;
+        private final int maxStatements;
+        private final long flaggedRequests;
+        private final String repeatedShape;
+        private final int repeatedCount;
+
+        public Endpoint(String endpoint, long requests, double averageStatements, int maxStatements,
+                        long flaggedRequests, String repeatedShape, int repeatedCount) {
+            this.endpoint = endpoint;
+            this.requests = requests;
+            this.averageStatements = averageStatements;
+            this.maxStatements = maxStatements;
+            this.flaggedRequests = flaggedRequests;
+            this.repeatedShape = repeatedShape;
+            this.repeatedCount = repeatedCount;
+        }
+
+        public String getEndpoint() { return endpoint; }
+
+        public long getRequests() { return requests; }
+
+        public double getAverageStatements() { return averageStatements; }
+
+        public int getMaxStatements() { return maxStatements; }
+
+        public long getFlaggedRequests() { return flaggedRequests; }
+
+        public String getRepeatedShape() { return repeatedShape; }
+
+        public int getRepeatedCount() { return repeatedCount; }
+    }
+
+    /**
+     * Timings of one statement shape that ran longer than the slow query threshold
+     */
+    public static class SlowStatement {
+
+        private final String shape;
+        private final long count;
+        private final long totalMillis;
+        private final long maxMillis;
+
+        public SlowStatement(String shape, long count, long totalMillis, long maxMillis) {
+            this.shape = shape;
+            this.count = count;
+            this.totalMillis = totalMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getShape() { return shape; }
+
+        public long getCount() { return count; }
+
+        public long getTotalMillis() { return totalMillis; }
+
+        public long getMaxMillis() { return maxMillis; }
+    }
+}
@@ -0,0 +1,70 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.StaffRole;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A row of the staff page: the staff member and the numbers of the tables assigned to them
+ */
+public class StaffListing {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+    private final String phone;
+    private final StaffRole role;
+    private final String department;
+    private final Boolean isActive;
+    private final List<StaffTableAssignment> assignedTables = new ArrayList<>();
+    private final Set<Long> assignedTableIds = new HashSet<>();
+
+    public StaffListing(Long id, String firstName, String lastName, String email, String phone,
+                        StaffRole role, String department, Boolean isActive) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.role = role;
+        this.department = department;
+        this.isActive = isActive;
+    }
+
+    public Long getId() { return id; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    public String getEmail() { return email; }
+
+    public String getPhone() { return phone; }
+
+    public StaffRole getRole() { return role; }
+
+    public String getDepartment() { return department; }
+
+    public Boolean getIsActive() { return isActive; }
+
+    public List<StaffTableAssignment> getAssignedTables() { return assignedTables; }
+
+    public void addAssignedTable(StaffTableAssignment assignment) {
+        if (assignedTableIds.add(assignment.getTableId())) {
+            assignedTables.add(assignment);
+        }
+    }
+
+    /**
+     * Check if a table is assigned to this staff member
+     * @param tableId the table ID
+     * @return true if the table is assigned
+     */
+    public boolean isAssigned(Long tableId) {
+        return assignedTableIds.contains(tableId);
+    }
+}
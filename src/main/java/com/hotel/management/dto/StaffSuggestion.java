@@ -0,0 +1,49 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.entity.Staff;
+import com.hotel.management.enums.StaffRole;
+
+/**
+ * A staff member offered by the staff name typeahead
+ */
+public class StaffSuggestion {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final StaffRole role;
+    private final String department;
+    private final Boolean isActive;
+
+    public StaffSuggestion(Long id, String firstName, String lastName, StaffRole role, String department,
+                           Boolean isActive) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.department = department;
+        this.isActive = isActive;
+    }
+
+    public static StaffSuggestion from(Staff staff) {
+        return new StaffSuggestion(staff.getId(), staff.getFirstName(), staff.getLastName(), staff.getRole(),
+                staff.getDepartment(), staff.getIsActive());
+    }
+
+    public static StaffSuggestion from(StaffListing listing) {
+        return new StaffSuggestion(listing.getId(), listing.getFirstName(), listing.getLastName(), listing.getRole(),
+                listing.getDepartment(), listing.getIsActive());
+    }
+
+    public Long getId() { return id; }
+
+    public String getFirstName() { return firstName; }
+
+    public String getLastName() { return lastName; }
+
+    public StaffRole getRole() { return role; }
+
+    public String getDepartment() { return department; }
+
+    public Boolean getIsActive() { return isActive; }
+}
@@ -0,0 +1,23 @@
+package com.hotel.management.dto;
+
+/**
+ * A table assigned to a staff member, as shown on the staff page
+ */
+public class StaffTableAssignment {
+
+    private final Long staffId;
+    private final Long tableId;
+    private final String tableNumber;
+
+    public StaffTableAssignment(Long staffId, Long tableId, String tableNumber) {
+        this.staffId = staffId;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+    }
+
+    public Long getStaffId() { return staffId; }
+
+    public Long getTableId() { return tableId; }
+
+    public String getTableNumber() { return tableNumber; }
+}
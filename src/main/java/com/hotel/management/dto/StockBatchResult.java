@@ -0,0 +1,19 @@
+package com.hotel.management.dto;
+
+/**
+ * Outcome of a batched stock movement submission
+ */
+public class StockBatchResult {
+
+    private final int movements;
+    private final int items;
+
+    public StockBatchResult(int movements, int items) {
+        this.movements = movements;
+        this.items = items;
+    }
+
+    public int getMovements() { return movements; }
+
+    public int getItems() { return items; }
+}
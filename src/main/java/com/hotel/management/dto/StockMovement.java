@@ -0,0 +1,41 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.entity.InventoryTransaction;
+
+/**
+ * One line of a batched stock movement submission
+ */
+public class StockMovement {
+
+    private Long itemId;
+    private InventoryTransaction.Type type;
+    private Integer quantity;
+    private String note;
+    private String createdBy;
+
+    public StockMovement() {
+    }
+
+    public StockMovement(Long itemId, InventoryTransaction.Type type, Integer quantity, String note, String createdBy) {
+        this.itemId = itemId;
+        this.type = type;
+        this.quantity = quantity;
+        this.note = note;
+        this.createdBy = createdBy;
+    }
+
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+
+    public InventoryTransaction.Type getType() { return type; }
+    public void setType(InventoryTransaction.Type type) { this.type = type; }
+
+    public Integer getQuantity() { return quantity; }
+    public void setQuantity(Integer quantity) { this.quantity = quantity; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public String getCreatedBy() { return createdBy; }
+    public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+}
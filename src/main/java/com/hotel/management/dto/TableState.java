@@ -0,0 +1,34 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.enums.TableStatus;
+
+/**
+ * The live state of one table on the floor plan
+ */
+public class TableState {
+
+    private final Long id;
+    private final String tableNumber;
+    private final Integer capacity;
+    private final TableStatus status;
+
+    public TableState(Long id, String tableNumber, Integer capacity, TableStatus status) {
+        this.id = id;
+        this.tableNumber = tableNumber;
+        this.capacity = capacity;
+        this.status = status;
+    }
+
+    public static TableState from(RestaurantTable table) {
+        return new TableState(table.getId(), table.getTableNumber(), table.getCapacity(), table.getStatus());
+    }
+
+    public Long getId() { return id; }
+
+    public String getTableNumber() { return tableNumber; }
+
+    public Integer getCapacity() { return capacity; }
+
+    public TableStatus getStatus() { return status; }
+}
@@ -0,0 +1,52 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.TaskStatus;
+
+import java.util.List;
+
+/**
+ * The task board: one column per task status, each with its total count and its
+ * most urgent tasks up to the column limit
+ */
+public class TaskBoard {
+
+    private final int columnLimit;
+    private final List<Column> columns;
+
+    public TaskBoard(int columnLimit, List<Column> columns) {
+        this.columnLimit = columnLimit;
+        this.columns = columns;
+    }
+
+    public int getColumnLimit() { return columnLimit; }
+
+    public List<Column> getColumns() { return columns; }
+
+    public long getTotalCount() {
+        return columns.stream().mapToLong(Column::getCount).sum();
+    }
+
+    /**
+     * The tasks in one status, ordered by priority then due date; count includes those past the limit
+     */
+    public static class Column {
+
+        private final TaskStatus status;
+        private final long count;
+        private final List<TaskCard> tasks;
+
+        public Column(TaskStatus status, long count, List<TaskCard> tasks) {
+            this.status = status;
+            this.count = count;
+            this.tasks = tasks;
+        }
+
+        public TaskStatus getStatus() { return status; }
+
+        public String getDisplayName() { return status.getDisplayName(); }
+
+        public long getCount() { return count; }
+
+        public List<TaskCard> getTasks() { return tasks; }
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A task as shown on the task board, with its assignee's name read in the same query
+ */
+public class TaskCard {
+
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final int priority;
+    private final LocalDate dueDate;
+    private final TaskStatus status;
+    private final Long assignedStaffId;
+    private final String assignedStaffName;
+
+    public TaskCard(Long id, String title, String category, Integer priority, LocalDate dueDate, TaskStatus status,
+                    Long assignedStaffId, String assignedStaffName) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.priority = priority != null ? priority : 3;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.assignedStaffId = assignedStaffId;
+        this.assignedStaffName = assignedStaffName;
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCategory() { return category; }
+
+    public int getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public Long getAssignedStaffId() { return assignedStaffId; }
+
+    public String getAssignedStaffName() { return assignedStaffName; }
+}
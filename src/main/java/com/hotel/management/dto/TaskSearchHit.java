@@ -0,0 +1,48 @@
+package com.hotel.management.dto;
+
+import com.hotel.management.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * A task matching a full-text search, with its relevance score
+ */
+public class TaskSearchHit {
+
+    private final Long id;
+    private final String title;
+    private final String category;
+    private final TaskStatus status;
+    private final int priority;
+    private final LocalDate dueDate;
+    private final Long assignedStaffId;
+    private final double score;
+
+    public TaskSearchHit(Long id, String title, String category, TaskStatus status, int priority, LocalDate dueDate,
+                         Long assignedStaffId, double score) {
+        this.id = id;
+        this.title = title;
+        this.category = category;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.assignedStaffId = assignedStaffId;
+        this.score = score;
+    }
+
+    public Long getId() { return id; }
+
+    public String getTitle() { return title; }
+
+    public String getCategory() { return category; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public int getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public Long getAssignedStaffId() { return assignedStaffId; }
+
+    public double getScore() { return score; }
+}
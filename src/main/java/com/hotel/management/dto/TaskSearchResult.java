@@ -0,0 +1,21 @@
+package com.hotel.management.dto;
+
+import java.util.List;
+
+/**
+ * The best matches of a task search, and how many tasks matched in all
+ */
+public class TaskSearchResult {
+
+    private final long totalMatches;
+    private final List<TaskSearchHit> hits;
+
+    public TaskSearchResult(long totalMatches, List<TaskSearchHit> hits) {
+        this.totalMatches = totalMatches;
+        this.hits = hits;
+    }
+
+    public long getTotalMatches() { return totalMatches; }
+
+    public List<TaskSearchHit> getHits() { return hits; }
+}
@@ -11,7 +11,8 @@ import com.hotel.management.enums.RatingStatus;
 public class Rating {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ratings_seq")
+    @SequenceGenerator(name = "ratings_seq", sequenceName = "ratings_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Customer name is required")
@@ -0,0 +1,52 @@
+package com.hotel.management.entity;
+
+import com.hotel.management.enums.RatingStatus;
+import jakarta.persistence.*;
+
+/**
+ * The number of ratings with one star value in one status.
+ *
+ * Rating writes adjust these rows in their own transaction, so the average and
+ * distribution of ratings are read from a handful of rows instead of the ratings table.
+ */
+@Entity
+@Table(name = "rating_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_aggregates_status_stars", columnNames = {"status", "stars"})
+})
+public class RatingAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RatingStatus status;
+
+    @Column(name = "stars", nullable = false)
+    private Integer stars;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    public RatingAggregate() {
+    }
+
+    public RatingAggregate(RatingStatus status, Integer stars, Long ratingCount) {
+        this.status = status;
+        this.stars = stars;
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public RatingStatus getStatus() { return status; }
+    public void setStatus(RatingStatus status) { this.status = status; }
+
+    public Integer getStars() { return stars; }
+    public void setStars(Integer stars) { this.stars = stars; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+}
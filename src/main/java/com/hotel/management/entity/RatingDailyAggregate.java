@@ -0,0 +1,52 @@
+package com.hotel.management.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * The number of approved ratings with one star value dated on one day.
+ *
+ * Kept alongside {@link RatingAggregate} by rating moderation, so averages over any
+ * window of days are summed from a few rows per day instead of the ratings table.
+ */
+@Entity
+@Table(name = "rating_daily_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_rating_daily_aggregates_day_stars", columnNames = {"rating_day", "stars"})
+})
+public class RatingDailyAggregate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rating_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "stars", nullable = false)
+    private Integer stars;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    public RatingDailyAggregate() {
+    }
+
+    public RatingDailyAggregate(LocalDate day, Integer stars, Long ratingCount) {
+        this.day = day;
+        this.stars = stars;
+        this.ratingCount = ratingCount;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public Integer getStars() { return stars; }
+    public void setStars(Integer stars) { this.stars = stars; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+}
@@ -10,11 +10,15 @@ import java.time.LocalDateTime;
  * JPA Entity representing a restaurant reservation
  */
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservations_time_id", columnList = "reservation_time, id"),
+        @Index(name = "idx_reservations_status_time_id", columnList = "status, reservation_time, id")
+})
 public class Reservation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "customer_name", nullable = false)
@@ -47,6 +51,10 @@ public class Reservation {
     @NotNull(message = "Status is required")
     private ReservationStatus status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Default constructor
     public Reservation() {
         this.status = ReservationStatus.PENDING;
@@ -131,6 +139,14 @@ public class Reservation {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "Reservation{" +
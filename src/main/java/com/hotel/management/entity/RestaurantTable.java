@@ -32,6 +32,10 @@ public class RestaurantTable {
     @NotNull(message = "Status is required")
     private TableStatus status;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Default constructor
     public RestaurantTable() {
         this.status = TableStatus.AVAILABLE;
@@ -84,6 +88,14 @@ public class RestaurantTable {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "RestaurantTable{" +
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "title", nullable = false)
@@ -61,6 +62,10 @@ public class Task {
     @Size(max = 50, message = "Category must not exceed 50 characters")
     private String category;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     // Default constructor
     public Task() {
         this.status = TaskStatus.PENDING;
@@ -191,6 +196,14 @@ public class Task {
         this.category = category;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     // Helper methods
     public boolean isOverdue() {
         return dueDate != null && dueDate.isBefore(LocalDate.now()) && status != TaskStatus.COMPLETED;
@@ -0,0 +1,43 @@
+package com.hotel.management.event;
+
+import com.hotel.management.enums.RatingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a rating is submitted or moderated
+ */
+public class RatingStatusChangedEvent {
+
+    private final Long ratingId;
+    private final int stars;
+    private final LocalDateTime date;
+    private final RatingStatus oldStatus;
+    private final RatingStatus newStatus;
+
+    /**
+     * @param ratingId the rating ID
+     * @param stars the rating value
+     * @param date the date of the rating
+     * @param oldStatus the previous status, or null for a new rating
+     * @param newStatus the current status
+     */
+    public RatingStatusChangedEvent(Long ratingId, int stars, LocalDateTime date,
+                                    RatingStatus oldStatus, RatingStatus newStatus) {
+        this.ratingId = ratingId;
+        this.stars = stars;
+        this.date = date;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public Long getRatingId() { return ratingId; }
+
+    public int getStars() { return stars; }
+
+    public LocalDateTime getDate() { return date; }
+
+    public RatingStatus getOldStatus() { return oldStatus; }
+
+    public RatingStatus getNewStatus() { return newStatus; }
+}
@@ -0,0 +1,45 @@
+package com.hotel.management.event;
+
+import com.hotel.management.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a reservation is created or its status changes
+ */
+public class ReservationChangedEvent {
+
+    private final Long reservationId;
+    private final Long tableId;
+    private final LocalDateTime reservationTime;
+    private final ReservationStatus oldStatus;
+    private final ReservationStatus newStatus;
+
+    /**
+     * @param reservationId the reservation ID
+     * @param tableId the ID of the reserved table
+     * @param reservationTime the reservation time
+     * @param oldStatus the previous status, or null for a new reservation
+     * @param newStatus the current status
+     */
+    public ReservationChangedEvent(Long reservationId, Long tableId, LocalDateTime reservationTime,
+                                   ReservationStatus oldStatus, ReservationStatus newStatus) {
+        this.reservationId = reservationId;
+        this.tableId = tableId;
+        this.reservationTime = reservationTime;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+    }
+
+    public Long getReservationId() { return reservationId; }
+
+    public Long getTableId() { return tableId; }
+
+    public LocalDateTime getReservationTime() { return reservationTime; }
+
+    public ReservationStatus getOldStatus() { return oldStatus; }
+
+    public ReservationStatus getNewStatus() { return newStatus; }
+
+    public boolean isCreated() { return oldStatus == null; }
+}
@@ -0,0 +1,35 @@
+package com.hotel.management.event;
+
+import com.hotel.management.enums.StaffRole;
+
+/**
+ * Published when a staff member is created, activated or deactivated, or moves to another role
+ */
+public class StaffStatusChangedEvent {
+
+    private final Long staffId;
+    private final StaffRole role;
+    private final Boolean wasActive;
+    private final boolean active;
+
+    /**
+     * @param staffId the staff ID
+     * @param role the staff role
+     * @param wasActive whether the staff member was active before, or null for a new staff member
+     * @param active whether the staff member is active now
+     */
+    public StaffStatusChangedEvent(Long staffId, StaffRole role, Boolean wasActive, boolean active) {
+        this.staffId = staffId;
+        this.role = role;
+        this.wasActive = wasActive;
+        this.active = active;
+    }
+
+    public Long getStaffId() { return staffId; }
+
+    public StaffRole getRole() { return role; }
+
+    public Boolean getWasActive() { return wasActive; }
+
+    public boolean isActive() { return active; }
+}
@@ -0,0 +1,41 @@
+package com.hotel.management.event;
+
+import com.hotel.management.enums.TableStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a table is created or its status changes
+ */
+public class TableStatusChangedEvent {
+
+    private final Long tableId;
+    private final String tableNumber;
+    private final TableStatus oldStatus;
+    private final TableStatus newStatus;
+    private final LocalDateTime occurredAt;
+
+    /**
+     * @param tableId the table ID
+     * @param tableNumber the table number
+     * @param oldStatus the previous status, or null for a new table
+     * @param newStatus the current status
+     */
+    public TableStatusChangedEvent(Long tableId, String tableNumber, TableStatus oldStatus, TableStatus newStatus) {
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public Long getTableId() { return tableId; }
+
+    public String getTableNumber() { return tableNumber; }
+
+    public TableStatus getOldStatus() { return oldStatus; }
+
+    public TableStatus getNewStatus() { return newStatus; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
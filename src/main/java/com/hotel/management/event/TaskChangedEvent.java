@@ -0,0 +1,117 @@
+package com.hotel.management.event;
+
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Published when a task is created, changed, assigned or deleted
+ */
+public class TaskChangedEvent {
+
+    private final Long taskId;
+    private final String title;
+    private final String description;
+    private final String category;
+    private final String createdBy;
+    private final int priority;
+    private final LocalDate dueDate;
+    private final LocalDateTime createdAt;
+    private final TaskStatus oldStatus;
+    private final TaskStatus newStatus;
+    private final Long oldStaffId;
+    private final Long newStaffId;
+
+    /**
+     * @param taskId the task ID
+     * @param title the task title as committed
+     * @param description the task description as committed
+     * @param category the task category as committed
+     * @param createdBy who created the task
+     * @param priority the task priority, 1 (low) to 5 (critical)
+     * @param dueDate the due date, or null
+     * @param createdAt when the task was created
+     * @param oldStatus the previous status, or null for a new task
+     * @param newStatus the current status, or null for a deleted task
+     * @param oldStaffId the staff member the task was assigned to before, or null
+     * @param newStaffId the staff member the task is assigned to now, or null
+     */
+    public TaskChangedEvent(Long taskId, String title, String description, String category, String createdBy,
+                            int priority, LocalDate dueDate, LocalDateTime createdAt, TaskStatus oldStatus,
+                            TaskStatus newStatus, Long oldStaffId, Long newStaffId) {
+        this.taskId = taskId;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.createdBy = createdBy;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.oldStaffId = oldStaffId;
+        this.newStaffId = newStaffId;
+    }
+
+    /**
+     * A created or changed task, as it is about to be committed
+     * @param task the saved task
+     * @param oldStatus its status before the change, or null if it is new
+     * @param oldStaffId who it was assigned to before the change, or null
+     * @return the event
+     */
+    public static TaskChangedEvent changed(Task task, TaskStatus oldStatus, Long oldStaffId) {
+        return new TaskChangedEvent(task.getId(), task.getTitle(), task.getDescription(), task.getCategory(),
+                task.getCreatedBy(), priority(task), task.getDueDate(), task.getCreatedAt(), oldStatus,
+                task.getStatus(), oldStaffId, staffId(task));
+    }
+
+    /**
+     * A deleted task
+     * @param task the task as it was before deletion
+     * @return the event
+     */
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(task.getId(), task.getTitle(), task.getDescription(), task.getCategory(),
+                task.getCreatedBy(), priority(task), task.getDueDate(), task.getCreatedAt(), task.getStatus(),
+                null, staffId(task), null);
+    }
+
+    private static Long staffId(Task task) {
+        return task.getAssignedStaff() != null ? task.getAssignedStaff().getId() : null;
+    }
+
+    private static int priority(Task task) {
+        return task.getPriority() != null ? task.getPriority() : 3;
+    }
+
+    public Long getTaskId() { return taskId; }
+
+    public String getTitle() { return title; }
+
+    public String getDescription() { return description; }
+
+    public String getCategory() { return category; }
+
+    public String getCreatedBy() { return createdBy; }
+
+    public int getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public TaskStatus getOldStatus() { return oldStatus; }
+
+    public TaskStatus getNewStatus() { return newStatus; }
+
+    public Long getOldStaffId() { return oldStaffId; }
+
+    public Long getNewStaffId() { return newStaffId; }
+
+    public boolean isCreated() { return oldStatus == null; }
+
+    public boolean isDeleted() { return newStatus == null; }
+}
@@ -0,0 +1,21 @@
+package com.hotel.management.event;
+
+import com.hotel.management.dto.DueTask;
+
+/**
+ * Published when an unfinished task passes its due date, or is changed so that it already has.
+ * It follows an already committed change, so listeners use {@code @EventListener}
+ */
+public class TaskOverdueEvent {
+
+    private final DueTask task;
+
+    /**
+     * @param task the task as last committed
+     */
+    public TaskOverdueEvent(DueTask task) {
+        this.task = task;
+    }
+
+    public DueTask getTask() { return task; }
+}
@@ -0,0 +1,76 @@
+package com.hotel.management.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in every {@code rate} INFO and lower events of the configured high-frequency
+ * loggers and drops the rest before a logging event is even built; WARN and ERROR always pass.
+ *
+ * Configured in logback-spring.xml:
+ * <pre>
+ * &lt;turboFilter class="com.hotel.management.logging.SamplingTurboFilter"&gt;
+ *     &lt;loggers&gt;com.hotel.management.service.ReservationService&lt;/loggers&gt;
+ *     &lt;rate&gt;100&lt;/rate&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggerPrefixes = new ArrayList<>();
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int rate = 1;
+
+    /**
+     * @param loggers comma-separated logger names; each also covers the loggers below it
+     */
+    public void setLoggers(String loggers) {
+        for (String name : loggers.split(",")) {
+            if (!name.isBlank()) loggerPrefixes.add(name.trim());
+        }
+    }
+
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public void start() {
+        if (rate < 1) {
+            addError("Sampling rate must be at least 1, got " + rate);
+            return;
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rate == 1 || level == null || level.isGreaterOrEqual(Level.WARN)
+                // Only sample events that would be logged, so disabled levels don't use up the count
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())
+                || !isSampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        long count = counters.computeIfAbsent(logger.getName(), name -> new AtomicLong()).getAndIncrement();
+        return count % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)
+                    && (loggerName.length() == prefix.length() || loggerName.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
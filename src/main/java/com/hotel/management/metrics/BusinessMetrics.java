@@ -0,0 +1,91 @@
+package com.hotel.management.metrics;
+
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.enums.TableStatus;
+import com.hotel.management.event.RatingStatusChangedEvent;
+import com.hotel.management.event.ReservationChangedEvent;
+import com.hotel.management.event.TaskOverdueEvent;
+import com.hotel.management.repository.InventoryItemRepository;
+import com.hotel.management.service.DashboardService;
+import com.hotel.management.service.OverdueTaskTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counters for business events and gauges for the state of the floor and the stock room
+ *
+ * Reservation and rating counters follow the committed change events; the table gauges
+ * read the event-maintained dashboard snapshot, loaded at startup, and the overdue gauge the
+ * in-memory overdue tracker, so neither queries on a scrape. The low
+ * stock gauge runs one COUNT query over the inventory items per scrape.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final Counter reservationsCreated;
+    private final Counter reservationsCancelled;
+    private final Counter stockOutRejected;
+    private final Counter ratingsApproved;
+    private final Counter tasksWentOverdue;
+
+    public BusinessMetrics(MeterRegistry meterRegistry, DashboardService dashboardService,
+                           InventoryItemRepository itemRepository, OverdueTaskTracker overdueTaskTracker) {
+        reservationsCreated = Counter.builder("hotel.reservations.created")
+                .description("Reservations booked").register(meterRegistry);
+        reservationsCancelled = Counter.builder("hotel.reservations.cancelled")
+                .description("Reservations cancelled").register(meterRegistry);
+        stockOutRejected = Counter.builder("hotel.inventory.stock.out.rejected")
+                .description("Stock OUT movements refused for insufficient stock").register(meterRegistry);
+        ratingsApproved = Counter.builder("hotel.ratings.approved")
+                .description("Ratings approved for display").register(meterRegistry);
+        tasksWentOverdue = Counter.builder("hotel.tasks.went.overdue")
+                .description("Tasks that passed their due date unfinished").register(meterRegistry);
+
+        for (TableStatus status : TableStatus.values()) {
+            Gauge.builder("hotel.tables", dashboardService, service -> service.getTableCount(status))
+                    .description("Tables by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("hotel.inventory.low.stock.items", itemRepository, InventoryItemRepository::countLowStockItems)
+                .description("Inventory items at or below their low stock threshold")
+                .register(meterRegistry);
+        Gauge.builder("hotel.tasks.overdue", overdueTaskTracker, OverdueTaskTracker::getOverdueCount)
+                .description("Unfinished tasks past their due date")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Count a stock OUT movement refused because the item had too little stock
+     */
+    public void stockOutRejected() {
+        stockOutRejected.increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        if (event.isCreated()) {
+            reservationsCreated.increment();
+        } else if (event.getNewStatus() == ReservationStatus.CANCELLED && event.getOldStatus() != ReservationStatus.CANCELLED) {
+            reservationsCancelled.increment();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRatingStatusChanged(RatingStatusChangedEvent event) {
+        if (event.getNewStatus() == RatingStatus.APPROVED && event.getOldStatus() != RatingStatus.APPROVED) {
+            ratingsApproved.increment();
+        }
+    }
+
+    @EventListener
+    public void onTaskOverdue(TaskOverdueEvent event) {
+        tasksWentOverdue.increment();
+    }
+}
@@ -2,9 +2,12 @@ package com.hotel.management.repository;
 
 import com.hotel.management.entity.InventoryItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,36 @@ public interface InventoryItemRepository extends JpaRepository<InventoryItem, Lo
 
     @Query("SELECT i FROM InventoryItem i WHERE i.quantity <= i.lowStockThreshold")
     List<InventoryItem> findLowStockItems();
-}
 
+    @Query("SELECT COUNT(i) FROM InventoryItem i WHERE i.quantity <= i.lowStockThreshold")
+    long countLowStockItems();
+
+    // Stock movements are single conditional UPDATEs; each returns the number of rows changed
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity - :amount, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.quantity >= :amount")
+    int decrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :amount, i.updatedAt = :now WHERE i.id = :id")
+    int incrementQuantity(@Param("id") Long id, @Param("amount") int amount, @Param("now") LocalDateTime now);
 
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = :quantity, i.updatedAt = :now WHERE i.id = :id")
+    int setQuantity(@Param("id") Long id, @Param("quantity") int quantity, @Param("now") LocalDateTime now);
+
+    // Net movements of a batch; "required" is the lowest starting quantity for which no step goes negative
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = i.quantity + :delta, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.quantity >= :required")
+    int applyNetDelta(@Param("id") Long id, @Param("delta") int delta, @Param("required") int required,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE InventoryItem i SET i.quantity = :quantity, i.updatedAt = :now " +
+           "WHERE i.id = :id AND i.quantity >= :required")
+    int setQuantityIfAtLeast(@Param("id") Long id, @Param("quantity") int quantity, @Param("required") int required,
+                             @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,28 @@
+package com.hotel.management.repository;
+
+import com.hotel.management.entity.RatingAggregate;
+import com.hotel.management.enums.RatingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatingAggregateRepository extends JpaRepository<RatingAggregate, Long> {
+
+    // A single UPDATE, so concurrent rating writes never lose each other's counts; returns the rows changed
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RatingAggregate a SET a.ratingCount = a.ratingCount + :delta " +
+           "WHERE a.status = :status AND a.stars = :stars")
+    int addToCount(@Param("status") RatingStatus status, @Param("stars") int stars, @Param("delta") long delta);
+
+    // Blocks rating writes until a rebuild commits, so none is counted twice or lost
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM RatingAggregate a")
+    List<RatingAggregate> findAllForUpdate();
+}
@@ -0,0 +1,27 @@
+package com.hotel.management.repository;
+
+import com.hotel.management.entity.RatingDailyAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface RatingDailyAggregateRepository extends JpaRepository<RatingDailyAggregate, Long> {
+
+    // One atomic upsert, so the first ratings of a day approved concurrently cannot both insert the bucket.
+    // ON DUPLICATE KEY UPDATE is MySQL syntax, which H2 accepts in MySQL mode
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO rating_daily_aggregates (rating_day, stars, rating_count) VALUES (:day, :stars, :delta) " +
+                   "ON DUPLICATE KEY UPDATE rating_count = rating_count + :delta", nativeQuery = true)
+    int addToCount(@Param("day") LocalDate day, @Param("stars") int stars, @Param("delta") long delta);
+
+    /**
+     * Find the buckets of the days from one date to another, both inclusive
+     */
+    List<RatingDailyAggregate> findByDayBetween(LocalDate from, LocalDate to);
+}
@@ -4,7 +4,6 @@ import com.hotel.management.entity.Rating;
 import com.hotel.management.enums.RatingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,12 +19,15 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     
     List<Rating> findAllByOrderByDateDesc();
     
-    @Query("SELECT AVG(r.rating) FROM Rating r WHERE r.status = :status")
-    Double findAverageRatingByStatus(@Param("status") RatingStatus status);
-    
-    @Query("SELECT COUNT(r) FROM Rating r WHERE r.status = :status")
-    Long countByStatus(@Param("status") RatingStatus status);
+    // Full scan; only the rating aggregate rebuild uses it, reads go to the aggregates
+    @Query("SELECT r.status, r.rating, COUNT(r) FROM Rating r GROUP BY r.status, r.rating")
+    List<Object[]> countGroupedByStatusAndRating();
+
+    // Full scan as well, for the daily rating aggregates
+    @Query("SELECT cast(r.date as LocalDate), r.rating, COUNT(r) FROM Rating r " +
+           "WHERE r.status = com.hotel.management.enums.RatingStatus.APPROVED " +
+           "GROUP BY cast(r.date as LocalDate), r.rating")
+    List<Object[]> countApprovedGroupedByDayAndRating();
     
-    @Query("SELECT COUNT(r) FROM Rating r WHERE r.rating = :rating AND r.status = :status")
-    Long countByRatingAndStatus(@Param("rating") Integer rating, @Param("status") RatingStatus status);
-}
\ No newline at end of file
+    List<Rating> findTop5ByStatusOrderByDateDesc(RatingStatus status);
+}
@@ -1,5 +1,6 @@
 package com.hotel.management.repository;
 
+import com.hotel.management.dto.CustomerSuggestion;
 import com.hotel.management.entity.Reservation;
 import com.hotel.management.enums.ReservationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,12 +10,13 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA Repository for Reservation entity
  */
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
     /**
      * Find all reservations by status
@@ -72,4 +74,51 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
      * @return number of reservations with the specified status
      */
     long countByStatus(ReservationStatus status);
+
+    /**
+     * Find reservations in any of the given statuses starting at or after a time
+     * @param statuses the reservation statuses to include
+     * @param startTime the earliest reservation time (inclusive)
+     * @return list of matching reservations
+     */
+    List<Reservation> findByStatusInAndReservationTimeGreaterThanEqual(List<ReservationStatus> statuses,
+                                                                       LocalDateTime startTime);
+
+    /**
+     * Find reservations of a table in any of the given statuses starting at or after a time
+     * @param tableId the table ID to search for
+     * @param statuses the reservation statuses to include
+     * @param startTime the earliest reservation time (inclusive)
+     * @return list of matching reservations
+     */
+    @Query("SELECT r FROM Reservation r WHERE r.table.id = :tableId AND r.status IN :statuses " +
+           "AND r.reservationTime >= :startTime")
+    List<Reservation> findByTableIdAndStatusInFrom(@Param("tableId") Long tableId,
+                                                   @Param("statuses") List<ReservationStatus> statuses,
+                                                   @Param("startTime") LocalDateTime startTime);
+
+    /**
+     * Find the ID of the table a reservation is for
+     * @param reservationId the reservation ID
+     * @return optional containing the table ID if the reservation exists
+     */
+    @Query("SELECT r.table.id FROM Reservation r WHERE r.id = :reservationId")
+    Optional<Long> findTableIdById(@Param("reservationId") Long reservationId);
+
+    /**
+     * Count reservations starting in [startTime, endTime)
+     * @param startTime the start of the time range (inclusive)
+     * @param endTime the end of the time range (exclusive)
+     * @return number of reservations in the time range
+     */
+    long countByReservationTimeGreaterThanEqualAndReservationTimeLessThan(LocalDateTime startTime,
+                                                                          LocalDateTime endTime);
+
+    /**
+     * Get every customer name and phone number booked together, with how often and when last
+     * @return one row per distinct name and phone number
+     */
+    @Query("SELECT new com.hotel.management.dto.CustomerSuggestion(r.customerName, r.customerPhone, " +
+           "COUNT(r), MAX(r.reservationTime)) FROM Reservation r GROUP BY r.customerName, r.customerPhone")
+    List<CustomerSuggestion> findCustomerSuggestions();
 }
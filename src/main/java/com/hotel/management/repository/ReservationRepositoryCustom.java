@@ -0,0 +1,28 @@
+package com.hotel.management.repository;
+
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Hand-written queries for Reservation that Spring Data cannot derive
+ */
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Find the page of reservations that follows a position in (reservationTime, id) order.
+     * The position is a seek predicate rather than an offset, so every page costs the same
+     * no matter how deep it is. The table of every reservation is fetched in the same query.
+     * @param status the status to filter by (null for any status)
+     * @param from the earliest reservation time (inclusive, null for no lower bound)
+     * @param to the latest reservation time (exclusive, null for no upper bound)
+     * @param afterTime the reservation time of the last row of the previous page (null for the first page)
+     * @param afterId the ID of the last row of the previous page (null for the first page)
+     * @param limit the maximum number of reservations to return
+     * @return list of reservations ordered by reservation time, then ID
+     */
+    List<Reservation> findPage(ReservationStatus status, LocalDateTime from, LocalDateTime to,
+                               LocalDateTime afterTime, Long afterId, int limit);
+}
@@ -0,0 +1,54 @@
+package com.hotel.management.repository;
+
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.enums.ReservationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of {@link ReservationRepositoryCustom}
+ */
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Reservation> findPage(ReservationStatus status, LocalDateTime from, LocalDateTime to,
+                                      LocalDateTime afterTime, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT r FROM Reservation r JOIN FETCH r.table WHERE 1 = 1");
+        if (status != null) {
+            jpql.append(" AND r.status = :status");
+        }
+        if (from != null) {
+            jpql.append(" AND r.reservationTime >= :from");
+        }
+        if (to != null) {
+            jpql.append(" AND r.reservationTime < :to");
+        }
+        if (afterTime != null && afterId != null) {
+            jpql.append(" AND (r.reservationTime > :afterTime OR (r.reservationTime = :afterTime AND r.id > :afterId))");
+        }
+        jpql.append(" ORDER BY r.reservationTime ASC, r.id ASC");
+
+        TypedQuery<Reservation> query = entityManager.createQuery(jpql.toString(), Reservation.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        if (afterTime != null && afterId != null) {
+            query.setParameter("afterTime", afterTime);
+            query.setParameter("afterId", afterId);
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+}
@@ -1,12 +1,16 @@
 package com.hotel.management.repository;
 
+import com.hotel.management.dto.StaffListing;
+import com.hotel.management.dto.StaffTableAssignment;
 import com.hotel.management.entity.Staff;
 import com.hotel.management.enums.StaffRole;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -98,11 +102,66 @@ public interface StaffRepository extends JpaRepository<Staff, Long> {
     long countByIsActive(Boolean isActive);
 
     /**
-     * Find all staff ordered by last name, first name
+     * Find all staff ordered by last name, first name, with their assigned tables
      * @return list of all staff ordered by name
      */
+    @EntityGraph(attributePaths = "assignedTables")
     List<Staff> findAllByOrderByLastNameAscFirstNameAsc();
 
+    /**
+     * Staff page rows for all staff, ordered by last name, first name; assigned tables are not filled in
+     * @return the rows
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffListing(s.id, s.firstName, s.lastName, s.email, s.phone, " +
+           "s.role, s.department, s.isActive) FROM Staff s ORDER BY s.lastName, s.firstName")
+    List<StaffListing> findAllListings();
+
+    /**
+     * Staff page rows for one role
+     * @param role the role to filter by
+     * @return the rows ordered by name
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffListing(s.id, s.firstName, s.lastName, s.email, s.phone, " +
+           "s.role, s.department, s.isActive) FROM Staff s WHERE s.role = :role ORDER BY s.lastName, s.firstName")
+    List<StaffListing> findListingsByRole(@Param("role") StaffRole role);
+
+    /**
+     * Staff page rows for one department
+     * @param department the department to filter by
+     * @return the rows ordered by name
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffListing(s.id, s.firstName, s.lastName, s.email, s.phone, " +
+           "s.role, s.department, s.isActive) FROM Staff s WHERE s.department = :department " +
+           "ORDER BY s.lastName, s.firstName")
+    List<StaffListing> findListingsByDepartment(@Param("department") String department);
+
+    /**
+     * Staff page rows whose first or last name contains the search term
+     * @param searchTerm the search term
+     * @return the rows ordered by name
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffListing(s.id, s.firstName, s.lastName, s.email, s.phone, " +
+           "s.role, s.department, s.isActive) FROM Staff s " +
+           "WHERE s.firstName LIKE %:searchTerm% OR s.lastName LIKE %:searchTerm% ORDER BY s.lastName, s.firstName")
+    List<StaffListing> searchListings(@Param("searchTerm") String searchTerm);
+
+    /**
+     * Every table assignment, ordered by table number
+     * @return the assignments
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffTableAssignment(s.id, t.id, t.tableNumber) " +
+           "FROM Staff s JOIN s.assignedTables t ORDER BY t.tableNumber")
+    List<StaffTableAssignment> findAllTableAssignments();
+
+    /**
+     * The table assignments of some staff members, ordered by table number
+     * @param staffIds the staff IDs
+     * @return the assignments
+     */
+    @Query("SELECT new com.hotel.management.dto.StaffTableAssignment(s.id, t.id, t.tableNumber) " +
+           "FROM Staff s JOIN s.assignedTables t WHERE s.id IN :staffIds ORDER BY t.tableNumber")
+    List<StaffTableAssignment> findTableAssignments(@Param("staffIds") Collection<Long> staffIds);
+
     /**
      * Find staff with tasks assigned
      * @return list of staff who have tasks assigned
@@ -2,7 +2,9 @@ package com.hotel.management.repository;
 
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.enums.TableStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -75,4 +77,21 @@ public interface TableRepository extends JpaRepository<RestaurantTable, Long> {
      * @return list of all tables ordered by table number
      */
     List<RestaurantTable> findAllByOrderByTableNumberAsc();
+
+    /**
+     * Find a table for a booking, bumping its version when the transaction commits
+     * so concurrent bookings of the same table cannot both commit
+     * @param id the table ID
+     * @return optional containing the table if found
+     */
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT t FROM RestaurantTable t WHERE t.id = :id")
+    Optional<RestaurantTable> findByIdForBooking(@Param("id") Long id);
+
+    /**
+     * Count tables in every status with a single grouped query
+     * @return rows of [TableStatus status, Long count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM RestaurantTable t GROUP BY t.status")
+    List<Object[]> countGroupedByStatus();
 }
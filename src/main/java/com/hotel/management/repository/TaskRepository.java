@@ -1,14 +1,22 @@
 package com.hotel.management.repository;
 
+import com.hotel.management.dto.DueTask;
+import com.hotel.management.dto.QueuedTask;
 import com.hotel.management.entity.Task;
 import com.hotel.management.entity.Staff;
 import com.hotel.management.enums.TaskStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,14 +76,6 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     List<Task> findByDueDate(LocalDate dueDate);
 
-    /**
-     * Find overdue tasks
-     * @param currentDate the current date
-     * @return list of overdue tasks
-     */
-    @Query("SELECT t FROM Task t WHERE t.dueDate < :currentDate AND t.status != 'COMPLETED'")
-    List<Task> findOverdueTasks(@Param("currentDate") LocalDate currentDate);
-
     /**
      * Find tasks due within a date range
      * @param startDate the start date
@@ -121,15 +121,17 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
 
     /**
      * Find all tasks ordered by priority desc, due date asc
-     * @return list of all tasks ordered by priority and due date
+     * @return list of all tasks ordered by priority and due date, with their assigned staff
      */
+    @EntityGraph(attributePaths = "assignedStaff")
     List<Task> findAllByOrderByPriorityDescDueDateAsc();
 
     /**
      * Find tasks by status ordered by priority desc, due date asc
      * @param status the task status
-     * @return list of tasks with specified status ordered by priority and due date
+     * @return list of tasks with specified status ordered by priority and due date, with their assigned staff
      */
+    @EntityGraph(attributePaths = "assignedStaff")
     List<Task> findByStatusOrderByPriorityDescDueDateAsc(TaskStatus status);
 
     /**
@@ -153,4 +155,163 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
      */
     @Query("SELECT t FROM Task t JOIN t.assignedStaff s WHERE s.role = :role")
     List<Task> findByAssignedStaffRole(@Param("role") String role);
+
+    /**
+     * Unassigned pending tasks, as loaded into the task dispatcher's queues
+     * @return the tasks
+     */
+    @Query("SELECT new com.hotel.management.dto.QueuedTask(t.id, t.title, t.category, t.priority, t.dueDate, " +
+           "t.createdAt) FROM Task t WHERE t.assignedStaff IS NULL AND t.status = 'PENDING'")
+    List<QueuedTask> findDispatchQueue();
+
+    /**
+     * Count the tasks in the given statuses assigned to each staff member
+     * @param statuses the statuses to count
+     * @return rows of staff ID and task count, for staff with at least one such task
+     */
+    @Query("SELECT t.assignedStaff.id, COUNT(t) FROM Task t WHERE t.assignedStaff IS NOT NULL " +
+           "AND t.status IN :statuses GROUP BY t.assignedStaff.id")
+    List<Object[]> countByStatusInGroupedByStaff(@Param("statuses") Collection<TaskStatus> statuses);
+
+    // A single conditional UPDATE: only claims a task still unassigned and pending, for staff still active.
+    // Returns the rows changed, 0 if a manager got there first. Bumps the version, so a manager's edit
+    // of a copy loaded before the claim fails instead of writing the old assignment back
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.assignedStaff = :staff, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.id = :id " +
+           "AND t.assignedStaff IS NULL AND t.status = 'PENDING' " +
+           "AND EXISTS (SELECT s.id FROM Staff s WHERE s = :staff AND s.isActive = true)")
+    int assignIfUnassigned(@Param("id") Long id, @Param("staff") Staff staff, @Param("now") LocalDateTime now);
+
+    /**
+     * Unfinished tasks with a due date, as loaded into the overdue task tracker
+     * @return the tasks
+     */
+    @Query("SELECT new com.hotel.management.dto.DueTask(t.id, t.title, t.category, t.priority, t.dueDate, " +
+           "t.status, s.id) FROM Task t LEFT JOIN t.assignedStaff s " +
+           "WHERE t.dueDate IS NOT NULL AND t.status <> 'COMPLETED'")
+    List<DueTask> findDueTasks();
+
+    /**
+     * Find tasks by ID with their assigned staff fetched in the same query
+     * @param ids the task IDs
+     * @return the tasks found, in no particular order
+     */
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.assignedStaff WHERE t.id IN :ids")
+    List<Task> findWithStaffByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Count tasks in every status with a single grouped query
+     * @return rows of [TaskStatus status, Long count]
+     */
+    @Query("SELECT t.status, COUNT(t) FROM Task t GROUP BY t.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * The task board in one query: the most urgent tasks of every status, with each status's total
+     * @param limit the most tasks per status
+     * @return rows of [Long id, String title, String category, Integer priority, LocalDate dueDate,
+     *         TaskStatus status, Long staffId, String staffFirstName, String staffLastName, Long statusCount],
+     *         ordered by status, then priority desc, due date asc
+     */
+    @Query("SELECT b.id, b.title, b.category, b.priority, b.dueDate, b.status, b.staffId, b.firstName, b.lastName, " +
+           "b.statusCount FROM (SELECT t.id AS id, t.title AS title, t.category AS category, t.priority AS priority, " +
+           "t.dueDate AS dueDate, t.status AS status, s.id AS staffId, s.firstName AS firstName, " +
+           "s.lastName AS lastName, " +
+           "ROW_NUMBER() OVER (PARTITION BY t.status ORDER BY t.priority DESC, t.dueDate ASC, t.id) AS position, " +
+           "COUNT(*) OVER (PARTITION BY t.status) AS statusCount " +
+           "FROM Task t LEFT JOIN t.assignedStaff s) b " +
+           "WHERE b.position <= :limit ORDER BY b.status, b.position")
+    List<Object[]> findBoardRows(@Param("limit") long limit);
+
+    /**
+     * Every task's searchable text and filter fields, as loaded into the task search index
+     * @return rows of [Long id, String title, String description, String category, String createdBy,
+     *         TaskStatus status, Integer priority, LocalDate dueDate, Long staffId]
+     */
+    @Query("SELECT t.id, t.title, t.description, t.category, t.createdBy, t.status, t.priority, t.dueDate, s.id " +
+           "FROM Task t LEFT JOIN t.assignedStaff s")
+    List<Object[]> findSearchDocuments();
+
+    // The bulk operations lock the tasks they read, so no task changes between the read and the update.
+    // They count the matching tasks first, to refuse an oversized batch before locking anything
+
+    /**
+     * Count a staff member's tasks in the given statuses
+     * @param staffId the staff ID
+     * @param statuses the statuses to include
+     * @return the number of tasks
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.assignedStaff.id = :staffId AND t.status IN :statuses")
+    long countByStaffAndStatusIn(@Param("staffId") Long staffId, @Param("statuses") Collection<TaskStatus> statuses);
+
+    /**
+     * Count a category's tasks in the given statuses
+     * @param category the task category
+     * @param statuses the statuses to include
+     * @return the number of tasks
+     */
+    @Query("SELECT COUNT(t) FROM Task t WHERE t.category = :category AND t.status IN :statuses")
+    long countByCategoryAndStatusIn(@Param("category") String category,
+                                    @Param("statuses") Collection<TaskStatus> statuses);
+
+    /**
+     * Find tasks by ID for a bulk update, locking them
+     * @param ids the task IDs
+     * @return the tasks found, in no particular order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids")
+    List<Task> findForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Find a staff member's tasks in the given statuses for a bulk update, locking them
+     * @param staffId the staff ID
+     * @param statuses the statuses to include
+     * @return the tasks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.assignedStaff.id = :staffId AND t.status IN :statuses")
+    List<Task> findForUpdateByStaffAndStatusIn(@Param("staffId") Long staffId,
+                                               @Param("statuses") Collection<TaskStatus> statuses);
+
+    /**
+     * Find a category's tasks in the given statuses for a bulk update, locking them
+     * @param category the task category
+     * @param statuses the statuses to include
+     * @return the tasks
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.category = :category AND t.status IN :statuses")
+    List<Task> findForUpdateByCategoryAndStatusIn(@Param("category") String category,
+                                                  @Param("statuses") Collection<TaskStatus> statuses);
+
+    /**
+     * Set the status of many tasks in one statement, stamping the completion time of newly completed ones
+     * and bumping their versions. Clears the persistence context, so tasks loaded before are detached
+     * @param ids the task IDs
+     * @param status the new status
+     * @param now the update time
+     * @return the number of tasks updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1, t.completedAt = " +
+           "CASE WHEN :status = com.hotel.management.enums.TaskStatus.COMPLETED AND t.completedAt IS NULL " +
+           "THEN :now ELSE t.completedAt END WHERE t.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * Assign many tasks to one staff member in one statement, bumping their versions.
+     * Clears the persistence context, so tasks loaded before are detached
+     * @param ids the task IDs
+     * @param staff the staff member
+     * @param now the update time
+     * @return the number of tasks updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.assignedStaff = :staff, t.updatedAt = :now, t.version = t.version + 1 " +
+           "WHERE t.id IN :ids")
+    int assignByIdIn(@Param("ids") Collection<Long> ids, @Param("staff") Staff staff,
+                     @Param("now") LocalDateTime now);
 }
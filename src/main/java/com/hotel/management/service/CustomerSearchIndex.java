@@ -0,0 +1,88 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.CustomerSuggestion;
+import com.hotel.management.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-memory typeahead index of the customers who have booked, by name and phone number.
+ *
+ * A customer is a name and phone number seen together on reservations, so the same
+ * person booking with another phone number is a second entry. Customers who booked
+ * more often rank above others with an equally good match. Loaded once at startup;
+ * {@link ReservationService} adds each committed reservation.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final TrigramIndex<String, CustomerSuggestion> index = new TrigramIndex<>();
+
+    /**
+     * Load every customer from the reservations table
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        index.clear();
+        for (CustomerSuggestion customer : reservationRepository.findCustomerSuggestions()) {
+            merge(customer);
+        }
+        logger.info("Customer search index loaded: {} customers", index.size());
+    }
+
+    /**
+     * Count a committed reservation against its customer
+     * @param customerName the customer name on the reservation
+     * @param customerPhone the phone number on the reservation
+     * @param reservationTime the reservation time
+     */
+    public synchronized void addReservation(String customerName, String customerPhone, LocalDateTime reservationTime) {
+        if (customerName == null || customerName.isBlank()) return;
+        merge(new CustomerSuggestion(customerName.trim(), customerPhone, 1, reservationTime));
+    }
+
+    /**
+     * Find the customers whose name or phone number match every word of the query, best first
+     * @param query the text typed so far
+     * @param limit the most customers to return
+     * @return the matching customers
+     */
+    public List<CustomerSuggestion> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Add a customer's reservations to those already counted for the same customer
+     */
+    private void merge(CustomerSuggestion customer) {
+        String key = key(customer.getCustomerName(), customer.getCustomerPhone());
+        CustomerSuggestion known = index.get(key);
+        if (known != null) {
+            customer = known.withReservations(customer.getReservationCount(), customer.getLastReservationTime());
+        }
+        index.put(key, customer, customer.getReservationCount(), customer.getCustomerName(), customer.getCustomerPhone());
+    }
+
+    /**
+     * Names differing only in case or spacing, and phone numbers differing only in
+     * punctuation, are the same customer
+     */
+    private static String key(String customerName, String customerPhone) {
+        return String.join(" ", TrigramIndex.words(customerName)) + "|" + String.join("", TrigramIndex.words(customerPhone));
+    }
+}
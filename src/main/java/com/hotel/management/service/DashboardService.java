@@ -0,0 +1,354 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DashboardSummary;
+import com.hotel.management.dto.RatingSummary;
+import com.hotel.management.entity.Rating;
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.enums.TableStatus;
+import com.hotel.management.event.RatingStatusChangedEvent;
+import com.hotel.management.event.ReservationChangedEvent;
+import com.hotel.management.event.StaffStatusChangedEvent;
+import com.hotel.management.event.TableStatusChangedEvent;
+import com.hotel.management.repository.RatingRepository;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TableRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Service computing the home page dashboard.
+ *
+ * The figures are served from an in-memory snapshot. It is loaded with grouped
+ * count and top-N queries and the rating aggregates, then kept current by applying the change events that
+ * the table, reservation, staff and rating services publish once their
+ * transactions commit, so a dashboard refresh normally runs no queries at all.
+ * The snapshot is loaded at startup, after the rating aggregates, and again right after an
+ * invalidation, so the table gauges always have figures to read. It is reloaded when the day
+ * changes and after a maximum age, which bounds any drift from writes made outside these services.
+ */
+@Service
+public class DashboardService {
+
+    private static final int RECENT_ITEMS = 5;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Value("${hotel.dashboard.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Incremented when a write publishes its change event and on invalidation, so a reload
+     * can tell whether it raced a write
+     */
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Writes whose change event was published but not yet applied to the snapshot: their
+     * transaction may commit before or during a reload, so the reload may already include them
+     */
+    private final AtomicLong inFlight = new AtomicLong();
+
+    /**
+     * Get all figures for the dashboard
+     * @return the dashboard summary
+     * @throws RuntimeException if an unexpected error occurs
+     */
+    public DashboardSummary getSummary() {
+        try {
+            Snapshot current = snapshot.get();
+            if (current == null || current.isStale(LocalDate.now(), TimeUnit.SECONDS.toNanos(maxAgeSeconds))) {
+                current = reload();
+            }
+
+            // The recent items lists are dropped on writes and reloaded by the next reader
+            if (current.recentReservations == null) {
+                List<Reservation> recent = loadRecentReservations(current.day, current.todayReservations);
+                Snapshot updated = current.withRecentReservations(recent);
+                current = snapshot.compareAndSet(current, updated) ? updated : current.withRecentReservations(recent);
+            }
+            if (current.recentRatings == null) {
+                List<Rating> recent = ratingRepository.findTop5ByStatusOrderByDateDesc(RatingStatus.APPROVED);
+                Snapshot updated = current.withRecentRatings(recent);
+                current = snapshot.compareAndSet(current, updated) ? updated : current.withRecentRatings(recent);
+            }
+
+            return current.toSummary();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load dashboard: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load the snapshot once the rating aggregates are built, so it is ready before the first page view
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Get the number of tables in a status from the snapshot, without running a query unless
+     * no snapshot is loaded (a reload after invalidation lost a race with a write)
+     * @param status the table status
+     * @return the count
+     */
+    public double getTableCount(TableStatus status) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            current = reload();
+        }
+        return current.tables[status.ordinal()];
+    }
+
+    @EventListener
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        applyAfterCommit(s -> s.withTableMoved(event.getOldStatus(), event.getNewStatus()));
+    }
+
+    @EventListener
+    public void onReservationChanged(ReservationChangedEvent event) {
+        applyAfterCommit(s -> {
+            if (!event.getReservationTime().toLocalDate().equals(s.day)) {
+                return s;
+            }
+            Snapshot updated = event.isCreated() ? s.withTodayReservations(s.todayReservations + 1) : s;
+            return updated.withRecentReservations(null);
+        });
+    }
+
+    @EventListener
+    public void onStaffStatusChanged(StaffStatusChangedEvent event) {
+        long delta = (event.isActive() ? 1 : 0) - (Boolean.TRUE.equals(event.getWasActive()) ? 1 : 0);
+        if (delta != 0) {
+            applyAfterCommit(s -> s.withActiveStaff(s.activeStaff + delta));
+        }
+    }
+
+    @EventListener
+    public void onRatingStatusChanged(RatingStatusChangedEvent event) {
+        applyAfterCommit(s -> s.withRatingMoved(event.getOldStatus(), event.getNewStatus(), event.getStars()));
+    }
+
+    /**
+     * Replace the snapshot after data changed without events, e.g. bulk loads
+     */
+    public void invalidate() {
+        changes.incrementAndGet();
+        snapshot.set(null);
+        reload();
+    }
+
+    /**
+     * Apply a change to the snapshot once the publishing transaction commits, or at once
+     * outside a transaction. The write counts as in flight until the change is applied
+     * or its transaction rolls back.
+     */
+    private void applyAfterCommit(UnaryOperator<Snapshot> change) {
+        // In flight before counted as a change, so a reload that misses the change sees it in flight
+        inFlight.incrementAndGet();
+        changes.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                apply(change);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Apply a change to the snapshot, if one is loaded
+     */
+    private void apply(UnaryOperator<Snapshot> change) {
+        snapshot.updateAndGet(s -> s == null ? null : change.apply(s));
+    }
+
+    /**
+     * Load a new snapshot. It is only published if no write was in flight when it started
+     * and none began while it was loading, since such a write may or may not be included in it
+     * and its change may still be applied on top.
+     */
+    private Snapshot reload() {
+        long changesBefore = changes.get();
+        boolean quiet = inFlight.get() == 0;
+        Snapshot previous = snapshot.get();
+
+        long[] tables = new long[TableStatus.values().length];
+        for (Object[] row : tableRepository.countGroupedByStatus()) {
+            tables[((TableStatus) row[0]).ordinal()] = (Long) row[1];
+        }
+
+        RatingSummary ratings = ratingAggregateService.getSummary();
+        long pendingRatings = ratings.getCount(RatingStatus.PENDING);
+        long approvedRatings = ratings.getCount(RatingStatus.APPROVED);
+        long approvedStars = ratings.getStarTotal(RatingStatus.APPROVED);
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        long todayReservations = reservationRepository
+                .countByReservationTimeGreaterThanEqualAndReservationTimeLessThan(startOfDay, startOfDay.plusDays(1));
+
+        long activeStaff = staffRepository.countByIsActive(true);
+
+        Snapshot loaded = new Snapshot(today, System.nanoTime(), tables, todayReservations, activeStaff,
+                pendingRatings, approvedRatings, approvedStars, null, null);
+        if (quiet && changes.get() == changesBefore) {
+            snapshot.compareAndSet(previous, loaded);
+        }
+        return loaded;
+    }
+
+    private List<Reservation> loadRecentReservations(LocalDate day, long todayReservations) {
+        if (todayReservations == 0) {
+            return List.of();
+        }
+        LocalDateTime startOfDay = day.atStartOfDay();
+        return reservationRepository.findPage(null, startOfDay, startOfDay.plusDays(1), null, null, RECENT_ITEMS);
+    }
+
+    /**
+     * Immutable dashboard figures; every change produces a new copy
+     */
+    private static final class Snapshot {
+
+        private final LocalDate day;
+        private final long loadedAt;
+        private final long[] tables;
+        private final long todayReservations;
+        private final long activeStaff;
+        private final long pendingRatings;
+        private final long approvedRatings;
+        private final long approvedStars;
+        private final List<Reservation> recentReservations;
+        private final List<Rating> recentRatings;
+
+        private Snapshot(LocalDate day, long loadedAt, long[] tables, long todayReservations, long activeStaff,
+                         long pendingRatings, long approvedRatings, long approvedStars,
+                         List<Reservation> recentReservations, List<Rating> recentRatings) {
+            this.day = day;
+            this.loadedAt = loadedAt;
+            this.tables = tables;
+            this.todayReservations = todayReservations;
+            this.activeStaff = activeStaff;
+            this.pendingRatings = pendingRatings;
+            this.approvedRatings = approvedRatings;
+            this.approvedStars = approvedStars;
+            this.recentReservations = recentReservations;
+            this.recentRatings = recentRatings;
+        }
+
+        private boolean isStale(LocalDate today, long maxAgeNanos) {
+            return !day.equals(today) || System.nanoTime() - loadedAt > maxAgeNanos;
+        }
+
+        private Snapshot withTableMoved(TableStatus from, TableStatus to) {
+            long[] moved = tables.clone();
+            if (from != null) {
+                moved[from.ordinal()]--;
+            }
+            if (to != null) {
+                moved[to.ordinal()]++;
+            }
+            return new Snapshot(day, loadedAt, moved, todayReservations, activeStaff,
+                    pendingRatings, approvedRatings, approvedStars, recentReservations, recentRatings);
+        }
+
+        private Snapshot withTodayReservations(long count) {
+            return new Snapshot(day, loadedAt, tables, count, activeStaff,
+                    pendingRatings, approvedRatings, approvedStars, recentReservations, recentRatings);
+        }
+
+        private Snapshot withActiveStaff(long count) {
+            return new Snapshot(day, loadedAt, tables, todayReservations, count,
+                    pendingRatings, approvedRatings, approvedStars, recentReservations, recentRatings);
+        }
+
+        private Snapshot withRatingMoved(RatingStatus from, RatingStatus to, int stars) {
+            long pending = pendingRatings;
+            long approved = approvedRatings;
+            long approvedTotal = approvedStars;
+            if (from == RatingStatus.PENDING) {
+                pending--;
+            } else if (from == RatingStatus.APPROVED) {
+                approved--;
+                approvedTotal -= stars;
+            }
+            if (to == RatingStatus.PENDING) {
+                pending++;
+            } else if (to == RatingStatus.APPROVED) {
+                approved++;
+                approvedTotal += stars;
+            }
+            boolean approvedChanged = from == RatingStatus.APPROVED || to == RatingStatus.APPROVED;
+            return new Snapshot(day, loadedAt, tables, todayReservations, activeStaff,
+                    pending, approved, approvedTotal, recentReservations, approvedChanged ? null : recentRatings);
+        }
+
+        private Snapshot withRecentReservations(List<Reservation> recent) {
+            return new Snapshot(day, loadedAt, tables, todayReservations, activeStaff,
+                    pendingRatings, approvedRatings, approvedStars, recent, recentRatings);
+        }
+
+        private Snapshot withRecentRatings(List<Rating> recent) {
+            return new Snapshot(day, loadedAt, tables, todayReservations, activeStaff,
+                    pendingRatings, approvedRatings, approvedStars, recentReservations, recent);
+        }
+
+        private DashboardSummary toSummary() {
+            double average = approvedRatings > 0
+                    ? Math.round((double) approvedStars / approvedRatings * 10.0) / 10.0
+                    : 0.0;
+            return new DashboardSummary(todayReservations,
+                    tables[TableStatus.AVAILABLE.ordinal()],
+                    tables[TableStatus.OCCUPIED.ordinal()],
+                    tables[TableStatus.RESERVED.ordinal()],
+                    activeStaff, average, pendingRatings, recentReservations, recentRatings);
+        }
+    }
+}
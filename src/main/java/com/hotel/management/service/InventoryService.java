@@ -1,15 +1,23 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.StockBatchResult;
+import com.hotel.management.dto.StockMovement;
 import com.hotel.management.entity.InventoryItem;
 import com.hotel.management.entity.InventoryTransaction;
+import com.hotel.management.metrics.BusinessMetrics;
 import com.hotel.management.repository.InventoryItemRepository;
 import com.hotel.management.repository.InventoryTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
 
 @Service
 @Transactional
@@ -21,6 +29,12 @@ public class InventoryService {
     @Autowired
     private InventoryTransactionRepository transactionRepository;
 
+    @Autowired
+    private BusinessMetrics businessMetrics;
+
+    @Value("${hotel.inventory.max-batch-size:2000}")
+    private int maxBatchSize;
+
     public List<InventoryItem> getAllItems() {
         return itemRepository.findAll();
     }
@@ -84,25 +98,132 @@ public class InventoryService {
         if (type == null) throw new IllegalArgumentException("Transaction type is required");
         if (quantity < 1) throw new IllegalArgumentException("Quantity must be at least 1");
 
-        InventoryItem item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item with ID " + itemId + " not found"));
+        // Apply the movement in the database so concurrent movements cannot lose updates
+        LocalDateTime now = LocalDateTime.now();
+        int updated = switch (type) {
+            case IN -> itemRepository.incrementQuantity(itemId, quantity, now);
+            case OUT -> itemRepository.decrementQuantity(itemId, quantity, now);
+            case ADJUSTMENT -> itemRepository.setQuantity(itemId, quantity, now); // absolute set
+        };
+        if (updated == 0) {
+            if (!itemRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item with ID " + itemId + " not found");
+            }
+            businessMetrics.stockOutRejected();
+            throw new IllegalArgumentException("Insufficient stock for OUT transaction");
+        }
+
+        InventoryTransaction tx = new InventoryTransaction(itemRepository.getReferenceById(itemId), type, quantity, note, createdBy);
+        return transactionRepository.save(tx);
+    }
+
+    /**
+     * Record a batch of stock movements all-or-nothing.
+     * Movements are grouped per item and applied in submission order as one conditional
+     * update per item; the transaction rows are then inserted in Hibernate JDBC batches.
+     * @param movements the movements to record
+     * @return the number of movements and items touched
+     * @throws IllegalArgumentException if a movement is invalid, an item is missing, or stock would go negative
+     */
+    public StockBatchResult recordTransactions(List<StockMovement> movements) {
+        if (movements == null || movements.isEmpty()) {
+            throw new IllegalArgumentException("At least one movement is required");
+        }
+        if (movements.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + maxBatchSize + " movements");
+        }
+
+        // Group per item; updating items in ID order keeps concurrent batches from deadlocking
+        Map<Long, List<StockMovement>> byItem = new TreeMap<>();
+        for (int i = 0; i < movements.size(); i++) {
+            StockMovement movement = movements.get(i);
+            validateMovement(movement, i + 1);
+            byItem.computeIfAbsent(movement.getItemId(), id -> new ArrayList<>()).add(movement);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, List<StockMovement>> entry : byItem.entrySet()) {
+            applyNetMovement(entry.getKey(), entry.getValue(), now);
+        }
 
-        int newQty = item.getQuantity();
-        switch (type) {
-            case IN -> newQty += quantity;
-            case OUT -> {
-                if (item.getQuantity() - quantity < 0) {
-                    throw new IllegalArgumentException("Insufficient stock for OUT transaction");
+        List<InventoryTransaction> transactions = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements) {
+            InventoryTransaction tx = new InventoryTransaction(itemRepository.getReferenceById(movement.getItemId()),
+                    movement.getType(), movement.getQuantity(), movement.getNote(), movement.getCreatedBy());
+            tx.setCreatedAt(now);
+            transactions.add(tx);
+        }
+        transactionRepository.saveAll(transactions);
+
+        return new StockBatchResult(movements.size(), byItem.size());
+    }
+
+    private void validateMovement(StockMovement movement, int line) {
+        if (movement == null) throw new IllegalArgumentException("Line " + line + ": movement cannot be null");
+        if (movement.getItemId() == null) throw new IllegalArgumentException("Line " + line + ": item ID cannot be null");
+        if (movement.getType() == null) throw new IllegalArgumentException("Line " + line + ": transaction type is required");
+        if (movement.getQuantity() == null || movement.getQuantity() < 1) {
+            throw new IllegalArgumentException("Line " + line + ": quantity must be at least 1");
+        }
+        if (movement.getNote() != null && movement.getNote().length() > 255) {
+            throw new IllegalArgumentException("Line " + line + ": note must not exceed 255 characters");
+        }
+        if (movement.getCreatedBy() != null && movement.getCreatedBy().length() > 100) {
+            throw new IllegalArgumentException("Line " + line + ": created by must not exceed 100 characters");
+        }
+    }
+
+    /**
+     * Apply one item's movements with a single update. Until the first ADJUSTMENT the
+     * quantity is relative to the stored one, and the lowest running total fixes how much
+     * stock the item must start with; after an ADJUSTMENT every step is known and checked here.
+     */
+    private void applyNetMovement(Long itemId, List<StockMovement> movements, LocalDateTime now) {
+        long relative = 0;
+        long required = 0;
+        Long absolute = null;
+        for (StockMovement movement : movements) {
+            int quantity = movement.getQuantity();
+            switch (movement.getType()) {
+                case IN -> {
+                    if (absolute != null) absolute += quantity; else relative += quantity;
+                }
+                case OUT -> {
+                    if (absolute != null) {
+                        absolute -= quantity;
+                        if (absolute < 0) {
+                            businessMetrics.stockOutRejected();
+                            throw new IllegalArgumentException("Insufficient stock for OUT transaction on item " + itemId);
+                        }
+                    } else {
+                        relative -= quantity;
+                        required = Math.max(required, -relative);
+                    }
                 }
-                newQty -= quantity;
+                case ADJUSTMENT -> absolute = (long) quantity;
             }
-            case ADJUSTMENT -> newQty = quantity; // absolute set
         }
-        item.setQuantity(newQty);
-        itemRepository.save(item);
 
-        InventoryTransaction tx = new InventoryTransaction(item, type, quantity, note, createdBy);
-        return transactionRepository.save(tx);
+        // No stored quantity can cover more than Integer.MAX_VALUE, or end up holding it
+        if (required > Integer.MAX_VALUE) {
+            businessMetrics.stockOutRejected();
+            throw new IllegalArgumentException("Insufficient stock for OUT transaction on item " + itemId);
+        }
+        long net = absolute != null ? absolute : relative;
+        if (net > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Net quantity for item " + itemId + " exceeds " + Integer.MAX_VALUE);
+        }
+
+        int updated = absolute != null
+                ? itemRepository.setQuantityIfAtLeast(itemId, Math.toIntExact(absolute), Math.toIntExact(required), now)
+                : itemRepository.applyNetDelta(itemId, Math.toIntExact(relative), Math.toIntExact(required), now);
+        if (updated == 0) {
+            if (!itemRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item with ID " + itemId + " not found");
+            }
+            businessMetrics.stockOutRejected();
+            throw new IllegalArgumentException("Insufficient stock for OUT transaction on item " + itemId);
+        }
     }
 
     public List<InventoryItem> getLowStockItems() {
@@ -0,0 +1,255 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DueTask;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.event.TaskOverdueEvent;
+import com.hotel.management.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory due-date index of unfinished tasks, and the set of those that are overdue.
+ *
+ * Tasks are kept in a map ordered by due date with a moving cutoff at today: everything
+ * due before the cutoff is overdue, so the overdue view is a head-map read. A scanner
+ * thread wakes at each midnight, moves the cutoff forward and publishes a
+ * {@link TaskOverdueEvent} for every task that just crossed its due date. Task writes
+ * reach the index through {@link TaskChangedEvent}s. As in {@code Task.isOverdue()},
+ * a task is overdue from the day after its due date until it is completed.
+ */
+@Component
+public class OverdueTaskTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(OverdueTaskTracker.class);
+
+    /** Most overdue first; within a day, most urgent first */
+    private static final Comparator<DueTask> OVERDUE_ORDER = Comparator.comparing(DueTask::getDueDate)
+            .thenComparing(Comparator.comparingInt(DueTask::getPriority).reversed())
+            .thenComparing(DueTask::getId);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** The source of today's date; tests substitute one that can be moved past midnight */
+    private Clock clock = Clock.systemDefaultZone();
+
+    // Guarded by this
+    private final TreeMap<LocalDate, Map<Long, DueTask>> byDueDate = new TreeMap<>();
+    private final Map<Long, DueTask> tracked = new HashMap<>();
+    private LocalDate cutoff = LocalDate.now(clock);
+    private int overdueCount;
+
+    private ScheduledExecutorService scanner;
+
+    private ScheduledFuture<?> nextScan;
+
+    @PostConstruct
+    public void start() {
+        scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-task-scanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        scanner.shutdownNow();
+    }
+
+    /**
+     * Load every unfinished task with a due date. Tasks already overdue are not announced again
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<DueTask> tasks = taskRepository.findDueTasks();
+        int tracking;
+        int overdue;
+        synchronized (this) {
+            byDueDate.clear();
+            tracked.clear();
+            overdueCount = 0;
+            cutoff = LocalDate.now(clock);
+            for (DueTask task : tasks) {
+                track(task);
+            }
+            tracking = tracked.size();
+            overdue = overdueCount;
+        }
+        logger.info("Overdue task tracker loaded: {} tasks with due dates, {} overdue", tracking, overdue);
+        scheduleScan();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        DueTask task = event.isDeleted() || event.getNewStatus() == TaskStatus.COMPLETED || event.getDueDate() == null
+                ? null
+                : new DueTask(event.getTaskId(), event.getTitle(), event.getCategory(), event.getPriority(),
+                        event.getDueDate(), event.getNewStatus(), event.getNewStaffId());
+        List<DueTask> crossed;
+        boolean nowOverdue;
+        synchronized (this) {
+            crossed = catchUp();
+            DueTask previous = untrack(event.getTaskId());
+            nowOverdue = task != null && isOverdue(task) && (previous == null || !isOverdue(previous));
+            if (task != null) {
+                track(task);
+            }
+        }
+        if (nowOverdue) {
+            crossed.add(task);
+        }
+        announce(crossed);
+    }
+
+    /**
+     * Get the number of overdue tasks
+     * @return the count
+     */
+    public int getOverdueCount() {
+        List<DueTask> crossed;
+        int count;
+        synchronized (this) {
+            crossed = catchUp();
+            count = overdueCount;
+        }
+        announce(crossed);
+        return count;
+    }
+
+    /**
+     * Get overdue tasks, most overdue first and, within a day, most urgent first
+     * @param limit the most tasks to return
+     * @return the tasks as last committed
+     */
+    public List<DueTask> getOverdueTasks(int limit) {
+        List<DueTask> crossed;
+        List<DueTask> overdue = new ArrayList<>();
+        synchronized (this) {
+            crossed = catchUp();
+            for (Map<Long, DueTask> day : byDueDate.headMap(cutoff, false).values()) {
+                if (overdue.size() >= limit) break;
+                List<DueTask> tasks = new ArrayList<>(day.values());
+                tasks.sort(OVERDUE_ORDER);
+                overdue.addAll(tasks.subList(0, Math.min(tasks.size(), limit - overdue.size())));
+            }
+        }
+        announce(crossed);
+        return overdue;
+    }
+
+    /**
+     * Move the cutoff to today and announce the tasks that crossed it; re-arms itself for the next midnight
+     */
+    private void scan() {
+        try {
+            List<DueTask> crossed;
+            synchronized (this) {
+                crossed = catchUp();
+            }
+            announce(crossed);
+            if (!crossed.isEmpty()) {
+                logger.info("{} tasks went overdue", crossed.size());
+            }
+        } catch (Exception e) {
+            logger.warn("Overdue task scan failed: {}", e.getMessage());
+        } finally {
+            scheduleScan();
+        }
+    }
+
+    private synchronized void scheduleScan() {
+        if (nextScan != null) {
+            nextScan.cancel(false);
+        }
+        // Computed from the clock each time, so a wake-up a little before midnight just sleeps again
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(clock.getZone());
+        nextScan = scanner.schedule(this::scan, Duration.between(now, midnight).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void announce(List<DueTask> tasks) {
+        for (DueTask task : tasks) {
+            eventPublisher.publishEvent(new TaskOverdueEvent(task));
+        }
+    }
+
+    // The methods below are called with this held
+
+    /**
+     * Move the cutoff to today, in case a read or write arrives before the midnight scan
+     * @return the tasks that became overdue
+     */
+    private List<DueTask> catchUp() {
+        LocalDate today = LocalDate.now(clock);
+        List<DueTask> crossed = new ArrayList<>();
+        if (!today.isAfter(cutoff)) {
+            return crossed;
+        }
+        for (Map<Long, DueTask> day : byDueDate.subMap(cutoff, true, today, false).values()) {
+            crossed.addAll(day.values());
+        }
+        overdueCount += crossed.size();
+        cutoff = today;
+        return crossed;
+    }
+
+    private boolean isOverdue(DueTask task) {
+        return task.getDueDate().isBefore(cutoff);
+    }
+
+    private void track(DueTask task) {
+        tracked.put(task.getId(), task);
+        byDueDate.computeIfAbsent(task.getDueDate(), date -> new HashMap<>()).put(task.getId(), task);
+        if (isOverdue(task)) {
+            overdueCount++;
+        }
+    }
+
+    private DueTask untrack(Long taskId) {
+        DueTask task = tracked.remove(taskId);
+        if (task == null) {
+            return null;
+        }
+        Map<Long, DueTask> day = byDueDate.get(task.getDueDate());
+        day.remove(taskId);
+        if (day.isEmpty()) {
+            byDueDate.remove(task.getDueDate());
+        }
+        if (isOverdue(task)) {
+            overdueCount--;
+        }
+        return task;
+    }
+}
@@ -0,0 +1,270 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.RatingSummary;
+import com.hotel.management.dto.RatingWindow;
+import com.hotel.management.entity.RatingAggregate;
+import com.hotel.management.entity.RatingDailyAggregate;
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.repository.RatingAggregateRepository;
+import com.hotel.management.repository.RatingDailyAggregateRepository;
+import com.hotel.management.repository.RatingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service keeping the rating aggregates: the number of ratings per status and star value,
+ * and the number of approved ratings per day and star value.
+ *
+ * {@link RatingService} records every submission and moderation here in the same
+ * transaction, so the aggregates always agree with the committed ratings. The average
+ * and distribution cost one read of at most fifteen rows, and a rolling window of N days
+ * at most 5 x 2N daily rows, whatever the number of ratings. They are rebuilt
+ * from the ratings table at startup and on a schedule, which repairs drift from
+ * ratings written around the service.
+ */
+@Service
+@Transactional
+public class RatingAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingAggregateService.class);
+
+    @Autowired
+    private RatingAggregateRepository aggregateRepository;
+
+    @Autowired
+    private RatingDailyAggregateRepository dailyAggregateRepository;
+
+    @Autowired
+    private RatingRepository ratingRepository;
+
+    /** Where the rolling windows end; fixed in tests */
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Move a rating between statuses
+     * @param oldStatus the status it had, or null for a new rating
+     * @param newStatus the status it has now
+     * @param stars its star value; ratings outside 1 to 5 fail validation and are not counted
+     * @param date the date of the rating
+     */
+    public void record(RatingStatus oldStatus, RatingStatus newStatus, int stars, LocalDateTime date) {
+        if (oldStatus == newStatus || stars < RatingSummary.MIN_STARS || stars > RatingSummary.MAX_STARS) {
+            return;
+        }
+        if (oldStatus != null) {
+            addToCount(oldStatus, stars, -1);
+        }
+        if (newStatus != null) {
+            addToCount(newStatus, stars, 1);
+        }
+        boolean wasApproved = oldStatus == RatingStatus.APPROVED;
+        boolean approved = newStatus == RatingStatus.APPROVED;
+        if (wasApproved != approved && date != null) {
+            addToDailyCount(date.toLocalDate(), stars, approved ? 1 : -1);
+        }
+    }
+
+    /**
+     * Get the current rating counts
+     * @return the counts per status and star value
+     */
+    @Transactional(readOnly = true)
+    public RatingSummary getSummary() {
+        RatingSummary summary = new RatingSummary();
+        for (RatingAggregate aggregate : aggregateRepository.findAll()) {
+            summary.add(aggregate.getStatus(), aggregate.getStars(), aggregate.getRatingCount());
+        }
+        return summary;
+    }
+
+    /**
+     * Get rolling averages and distributions of the approved ratings, each compared with
+     * the window of the same length just before it
+     * @param windows the window lengths in days, each counting back from today inclusive
+     * @return one entry per window length, in the order given
+     */
+    @Transactional(readOnly = true)
+    public List<RatingWindow> getWindows(List<Integer> windows) {
+        LocalDate today = LocalDate.now(clock);
+        int longest = windows.stream().mapToInt(Integer::intValue).max().orElse(0);
+
+        // Counts per star value by days back from today, over the longest window and the one before it
+        long[][] byDaysBack = new long[2 * longest][];
+        for (RatingDailyAggregate bucket : dailyAggregateRepository.findByDayBetween(today.minusDays(2L * longest - 1), today)) {
+            int daysBack = (int) ChronoUnit.DAYS.between(bucket.getDay(), today);
+            int stars = bucket.getStars();
+            if (stars < RatingSummary.MIN_STARS || stars > RatingSummary.MAX_STARS) continue;
+            if (byDaysBack[daysBack] == null) {
+                byDaysBack[daysBack] = new long[RatingSummary.MAX_STARS + 1];
+            }
+            byDaysBack[daysBack][stars] += bucket.getRatingCount();
+        }
+
+        List<RatingWindow> result = new ArrayList<>(windows.size());
+        for (int days : windows) {
+            long[] current = sum(byDaysBack, 0, days);
+            long[] previous = sum(byDaysBack, days, 2 * days);
+            Map<Integer, Long> distribution = new LinkedHashMap<>();
+            for (int stars = RatingSummary.MAX_STARS; stars >= RatingSummary.MIN_STARS; stars--) {
+                distribution.put(stars, current[stars]);
+            }
+            long count = count(current);
+            long previousCount = count(previous);
+            Double trend = count > 0 && previousCount > 0 ? round(mean(current) - mean(previous)) : null;
+            result.add(new RatingWindow(days, today.minusDays(days - 1L), today, count, round(mean(current)),
+                    distribution, previousCount, round(mean(previous)), trend));
+        }
+        return result;
+    }
+
+    /**
+     * Recount the aggregates from the ratings table. Rating writes wait for the rebuild
+     * to commit, so none of them is lost or counted twice.
+     * Runs before any other startup listener so sample data is counted on top of it.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${hotel.ratings.aggregate-rebuild-cron:0 30 3 * * *}")
+    public void rebuild() {
+        List<RatingAggregate> aggregates = aggregateRepository.findAllForUpdate();
+
+        RatingSummary counted = new RatingSummary();
+        for (Object[] row : ratingRepository.countGroupedByStatusAndRating()) {
+            counted.add((RatingStatus) row[0], (Integer) row[1], (Long) row[2]);
+        }
+
+        List<RatingAggregate> changed = new ArrayList<>();
+        for (RatingAggregate aggregate : aggregates) {
+            long count = counted.getCount(aggregate.getStatus(), aggregate.getStars());
+            if (aggregate.getRatingCount() != count) {
+                aggregate.setRatingCount(count);
+                changed.add(aggregate);
+            }
+        }
+        // A row for every status and star value, so writes only ever update
+        for (RatingStatus status : RatingStatus.values()) {
+            for (int stars = RatingSummary.MIN_STARS; stars <= RatingSummary.MAX_STARS; stars++) {
+                int value = stars;
+                boolean exists = aggregates.stream()
+                        .anyMatch(a -> a.getStatus() == status && a.getStars() == value);
+                if (!exists) {
+                    changed.add(new RatingAggregate(status, stars, counted.getCount(status, stars)));
+                }
+            }
+        }
+        aggregateRepository.saveAll(changed);
+        int dailyChanged = rebuildDaily();
+
+        long total = 0;
+        for (RatingStatus status : RatingStatus.values()) {
+            total += counted.getCount(status);
+        }
+        logger.info("Rating aggregates rebuilt: {} ratings, {} rows and {} daily rows written",
+                total, changed.size(), dailyChanged);
+    }
+
+    /**
+     * Recount the daily buckets of approved ratings, dropping the buckets of days without any
+     * @return the number of buckets written or deleted
+     */
+    private int rebuildDaily() {
+        Map<LocalDate, long[]> counted = new HashMap<>();
+        for (Object[] row : ratingRepository.countApprovedGroupedByDayAndRating()) {
+            int stars = (Integer) row[1];
+            if (stars < RatingSummary.MIN_STARS || stars > RatingSummary.MAX_STARS) continue;
+            counted.computeIfAbsent((LocalDate) row[0], day -> new long[RatingSummary.MAX_STARS + 1])[stars] = (Long) row[2];
+        }
+
+        List<RatingDailyAggregate> changed = new ArrayList<>();
+        List<RatingDailyAggregate> emptied = new ArrayList<>();
+        for (RatingDailyAggregate bucket : dailyAggregateRepository.findAll()) {
+            long[] counts = counted.get(bucket.getDay());
+            int stars = bucket.getStars();
+            long count = counts != null && stars >= RatingSummary.MIN_STARS && stars <= RatingSummary.MAX_STARS
+                    ? counts[stars] : 0;
+            if (count == 0) {
+                emptied.add(bucket);
+                continue;
+            }
+            if (bucket.getRatingCount() != count) {
+                bucket.setRatingCount(count);
+                changed.add(bucket);
+            }
+            counts[stars] = 0;
+        }
+        // The counts left have no bucket yet
+        counted.forEach((day, counts) -> {
+            for (int stars = RatingSummary.MIN_STARS; stars <= RatingSummary.MAX_STARS; stars++) {
+                if (counts[stars] > 0) {
+                    changed.add(new RatingDailyAggregate(day, stars, counts[stars]));
+                }
+            }
+        });
+        dailyAggregateRepository.deleteAllInBatch(emptied);
+        dailyAggregateRepository.saveAll(changed);
+        return changed.size() + emptied.size();
+    }
+
+    private void addToDailyCount(LocalDate day, int stars, long delta) {
+        // Creates the bucket for the first approved rating of the day with this star value
+        dailyAggregateRepository.addToCount(day, stars, delta);
+    }
+
+    private static long[] sum(long[][] byDaysBack, int fromDaysBack, int toDaysBack) {
+        long[] total = new long[RatingSummary.MAX_STARS + 1];
+        for (int daysBack = fromDaysBack; daysBack < toDaysBack; daysBack++) {
+            if (byDaysBack[daysBack] == null) continue;
+            for (int stars = RatingSummary.MIN_STARS; stars <= RatingSummary.MAX_STARS; stars++) {
+                total[stars] += byDaysBack[daysBack][stars];
+            }
+        }
+        return total;
+    }
+
+    private static long count(long[] byStars) {
+        long count = 0;
+        for (long c : byStars) {
+            count += c;
+        }
+        return count;
+    }
+
+    private static double mean(long[] byStars) {
+        long count = count(byStars);
+        if (count == 0) return 0.0;
+        long total = 0;
+        for (int stars = RatingSummary.MIN_STARS; stars <= RatingSummary.MAX_STARS; stars++) {
+            total += stars * byStars[stars];
+        }
+        return (double) total / count;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10.0) / 10.0;
+    }
+
+    private void addToCount(RatingStatus status, int stars, long delta) {
+        if (aggregateRepository.addToCount(status, stars, delta) == 0) {
+            // Only before the first rebuild has created the rows
+            aggregateRepository.save(new RatingAggregate(status, stars, delta));
+        }
+    }
+}
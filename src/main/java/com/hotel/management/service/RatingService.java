@@ -1,9 +1,13 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.RatingSummary;
+import com.hotel.management.dto.RatingWindow;
 import com.hotel.management.entity.Rating;
 import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.event.RatingStatusChangedEvent;
 import com.hotel.management.repository.RatingRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,23 +19,38 @@ import java.util.Optional;
 @Transactional
 public class RatingService {
 
+    /** Longest rolling window, and most windows, the analytics endpoint accepts */
+    public static final int MAX_ANALYTICS_DAYS = 366;
+    public static final int MAX_ANALYTICS_WINDOWS = 10;
+
     @Autowired
     private RatingRepository ratingRepository;
 
+    @Autowired
+    private RatingAggregateService ratingAggregateService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Rating submitRating(Rating rating) {
         if (rating.getDate() == null) {
             rating.setDate(LocalDateTime.now());
         }
         rating.setStatus(RatingStatus.PENDING);
-        return ratingRepository.save(rating);
+        Rating saved = ratingRepository.save(rating);
+        publishStatusChange(saved, null);
+        return saved;
     }
 
     public Rating approveRating(Long ratingId) {
         Optional<Rating> ratingOpt = ratingRepository.findById(ratingId);
         if (ratingOpt.isPresent()) {
             Rating rating = ratingOpt.get();
+            RatingStatus oldStatus = rating.getStatus();
             rating.setStatus(RatingStatus.APPROVED);
-            return ratingRepository.save(rating);
+            Rating saved = ratingRepository.save(rating);
+            publishStatusChange(saved, oldStatus);
+            return saved;
         }
         throw new IllegalArgumentException("Rating not found with ID: " + ratingId);
     }
@@ -40,16 +59,18 @@ public class RatingService {
         Optional<Rating> ratingOpt = ratingRepository.findById(ratingId);
         if (ratingOpt.isPresent()) {
             Rating rating = ratingOpt.get();
+            RatingStatus oldStatus = rating.getStatus();
             rating.setStatus(RatingStatus.REJECTED);
-            return ratingRepository.save(rating);
+            Rating saved = ratingRepository.save(rating);
+            publishStatusChange(saved, oldStatus);
+            return saved;
         }
         throw new IllegalArgumentException("Rating not found with ID: " + ratingId);
     }
 
     public Double getAverageRating() {
         try {
-            Double average = ratingRepository.findAverageRatingByStatus(RatingStatus.APPROVED);
-            return average != null ? Math.round(average * 10.0) / 10.0 : 0.0;
+            return ratingAggregateService.getSummary().getAverage(RatingStatus.APPROVED);
         } catch (Exception e) {
             return 0.0;
         }
@@ -97,8 +118,7 @@ public class RatingService {
 
     public Long getPendingRatingsCount() {
         try {
-            Long count = ratingRepository.countByStatus(RatingStatus.PENDING);
-            return count != null ? count : 0L;
+            return ratingAggregateService.getSummary().getCount(RatingStatus.PENDING);
         } catch (Exception e) {
             return 0L;
         }
@@ -106,19 +126,48 @@ public class RatingService {
 
     public Long getApprovedRatingsCount() {
         try {
-            Long count = ratingRepository.countByStatus(RatingStatus.APPROVED);
-            return count != null ? count : 0L;
+            return ratingAggregateService.getSummary().getCount(RatingStatus.APPROVED);
         } catch (Exception e) {
             return 0L;
         }
     }
 
     public String getRatingDistribution() {
+        RatingSummary summary = ratingAggregateService.getSummary();
         StringBuilder distribution = new StringBuilder();
         for (int i = 5; i >= 1; i--) {
-            Long count = ratingRepository.countByRatingAndStatus(i, RatingStatus.APPROVED);
+            long count = summary.getCount(RatingStatus.APPROVED, i);
             distribution.append(i).append(" stars: ").append(count).append(" | ");
         }
         return distribution.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Get rolling averages, star distributions and trends of the approved ratings
+     * @param windows the window lengths in days
+     * @return one entry per window, in the order given
+     * @throws IllegalArgumentException if no window or too many are given, or one is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<RatingWindow> getRatingAnalytics(List<Integer> windows) {
+        if (windows == null || windows.isEmpty() || windows.size() > MAX_ANALYTICS_WINDOWS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_ANALYTICS_WINDOWS + " windows are required");
+        }
+        for (Integer days : windows) {
+            if (days == null || days < 1 || days > MAX_ANALYTICS_DAYS) {
+                throw new IllegalArgumentException("Windows must be between 1 and " + MAX_ANALYTICS_DAYS + " days");
+            }
+        }
+        return ratingAggregateService.getWindows(windows);
+    }
+
+    private void publishStatusChange(Rating rating, RatingStatus oldStatus) {
+        if (oldStatus != rating.getStatus()) {
+            if (rating.getRating() != null) {
+                ratingAggregateService.record(oldStatus, rating.getStatus(), rating.getRating(), rating.getDate());
+            }
+            eventPublisher.publishEvent(new RatingStatusChangedEvent(
+                    rating.getId(), rating.getRating() != null ? rating.getRating() : 0, rating.getDate(), oldStatus, rating.getStatus()));
+        }
+    }
+}
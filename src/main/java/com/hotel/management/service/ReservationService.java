@@ -1,20 +1,30 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.CursorPage;
+import com.hotel.management.dto.CustomerSuggestion;
 import com.hotel.management.entity.Reservation;
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.enums.ReservationStatus;
 import com.hotel.management.enums.TableStatus;
+import com.hotel.management.event.ReservationChangedEvent;
+import com.hotel.management.event.TableStatusChangedEvent;
 import com.hotel.management.repository.ReservationRepository;
 import com.hotel.management.repository.TableRepository;
+import com.hotel.management.util.TransactionHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,12 +37,34 @@ public class ReservationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationService.class);
 
+    /**
+     * Largest page the reservation listing will return
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Most customers the typeahead will suggest
+     */
+    public static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private ReservationRepository reservationRepository;
 
     @Autowired
     private TableRepository tableRepository;
 
+    @Autowired
+    private TableAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TableTransactionRunner tableTransactionRunner;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new reservation after checking table availability
      * @param reservation the reservation to create
@@ -40,6 +72,7 @@ public class ReservationService {
      * @throws IllegalArgumentException if table is not available or validation fails
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Reservation createReservation(Reservation reservation) {
         try {
             // Validate input
@@ -51,23 +84,6 @@ public class ReservationService {
                 throw new IllegalArgumentException("Table must be specified for reservation");
             }
 
-            // Check if table exists and is available
-            Optional<RestaurantTable> tableOpt = tableRepository.findById(reservation.getTable().getId());
-            if (tableOpt.isEmpty()) {
-                throw new IllegalArgumentException("Table with ID " + reservation.getTable().getId() + " not found");
-            }
-
-            RestaurantTable table = tableOpt.get();
-            if (table.getStatus() != TableStatus.AVAILABLE) {
-                throw new IllegalArgumentException("Table " + table.getTableNumber() + " is not available. Current status: " + table.getStatus());
-            }
-
-            // Check if party size exceeds table capacity
-            if (reservation.getPartySize() > table.getCapacity()) {
-                throw new IllegalArgumentException("Party size (" + reservation.getPartySize() + 
-                    ") exceeds table capacity (" + table.getCapacity() + ")");
-            }
-
             // Check if reservation time is in the future
             if (reservation.getReservationTime().isBefore(LocalDateTime.now())) {
                 throw new IllegalArgumentException("Reservation time must be in the future");
@@ -78,19 +94,101 @@ public class ReservationService {
                 reservation.setStatus(ReservationStatus.PENDING);
             }
 
+            // Book under the table's lock; a retry starts over from a fresh copy of the table
+            Long tableId = reservation.getTable().getId();
+            return tableTransactionRunner.execute(tableId, () -> {
+                reservation.setId(null);
+                reservation.setVersion(0);
+                return bookTable(reservation, tableId);
+            }, () -> availabilityIndex.reloadTable(tableId));
+
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create reservation: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check a table and save a reservation for it, inside the caller's transaction
+     */
+    private Reservation bookTable(Reservation reservation, Long tableId) {
+        // Loading the table this way bumps its version, so a concurrent booking cannot also commit
+        RestaurantTable table = tableRepository.findByIdForBooking(tableId)
+            .orElseThrow(() -> new IllegalArgumentException("Table with ID " + tableId + " not found"));
+        if (!availabilityIndex.isKnownTable(tableId)) {
+            availabilityIndex.registerTable(table);
+        }
+
+        // Check if party size exceeds table capacity
+        if (reservation.getPartySize() > table.getCapacity()) {
+            throw new IllegalArgumentException("Party size (" + reservation.getPartySize() + 
+                ") exceeds table capacity (" + table.getCapacity() + ")");
+        }
+
+        // A walk-in occupying the table right now is not in the index
+        boolean upcoming = isUpcomingSeating(reservation.getReservationTime());
+        if (upcoming && table.getStatus() == TableStatus.OCCUPIED) {
+            throw new IllegalArgumentException("Table " + table.getTableNumber() + " is not available. Current status: " + table.getStatus());
+        }
+
+        // Hold the table for this seating
+        TableAvailabilityIndex.Booking booking = null;
+        if (TableAvailabilityIndex.ACTIVE_STATUSES.contains(reservation.getStatus())) {
+            booking = availabilityIndex.tryBook(tableId, reservation.getReservationTime());
+            if (booking == null) {
+                throw new IllegalArgumentException("Table " + table.getTableNumber() +
+                    " is already booked around " + reservation.getReservationTime());
+            }
+        }
+
+        try {
+            reservation.setTable(table);
+
             // Save the reservation
             Reservation savedReservation = reservationRepository.save(reservation);
 
-            // Update table status to RESERVED
-            table.setStatus(TableStatus.RESERVED);
-            tableRepository.save(table);
+            if (booking != null) {
+                TableAvailabilityIndex.Booking held = booking;
+                availabilityIndex.bind(held, savedReservation.getId());
+                TransactionHooks.onRollback(() -> availabilityIndex.release(held));
+            }
+
+            // Only the upcoming seating changes the live floor status
+            if (upcoming && table.getStatus() == TableStatus.AVAILABLE) {
+                changeTableStatus(table, TableStatus.RESERVED);
+                tableRepository.save(table);
+            }
+
+            String customerName = savedReservation.getCustomerName();
+            String customerPhone = savedReservation.getCustomerPhone();
+            LocalDateTime reservationTime = savedReservation.getReservationTime();
+            TransactionHooks.afterCommit(() -> customerSearchIndex.addReservation(customerName, customerPhone, reservationTime));
 
+            eventPublisher.publishEvent(new ReservationChangedEvent(savedReservation.getId(), tableId,
+                savedReservation.getReservationTime(), null, savedReservation.getStatus()));
             return savedReservation;
+        } catch (RuntimeException e) {
+            availabilityIndex.release(booking);
+            throw e;
+        }
+    }
 
-        } catch (IllegalArgumentException e) {
-            throw e; // Re-throw validation errors
+    /**
+     * Suggest returning customers for the reservation form, from the in-memory index
+     * @param query the name or phone number typed so far
+     * @param limit the most customers to return, capped at {@link #MAX_SUGGESTIONS}
+     * @return the best matching customers, empty for a blank query
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<CustomerSuggestion> suggestCustomers(String query, int limit) {
+        try {
+            if (query == null || query.isBlank()) {
+                return List.of();
+            }
+            return customerSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
         } catch (Exception e) {
-            throw new RuntimeException("Failed to create reservation: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to suggest customers: " + e.getMessage(), e);
         }
     }
 
@@ -146,6 +244,48 @@ public class ReservationService {
         }
     }
 
+    /**
+     * Get one page of reservations in (reservation time, ID) order
+     * @param status the status to filter by (null for any status)
+     * @param date the date to filter by (null for any date)
+     * @param cursor the cursor returned with the previous page (null for the first page)
+     * @param size the maximum number of reservations on the page
+     * @return the page of reservations, with their tables loaded
+     * @throws IllegalArgumentException if the cursor is malformed
+     * @throws RuntimeException if an unexpected error occurs
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> getReservationPage(ReservationStatus status, LocalDate date,
+                                                      String cursor, int size) {
+        try {
+            int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+            LocalDateTime from = date != null ? date.atStartOfDay() : null;
+            LocalDateTime to = date != null ? date.plusDays(1).atStartOfDay() : null;
+
+            LocalDateTime afterTime = null;
+            Long afterId = null;
+            if (cursor != null && !cursor.isBlank()) {
+                String[] position = decodeCursor(cursor);
+                afterTime = LocalDateTime.parse(position[0]);
+                afterId = Long.valueOf(position[1]);
+            }
+
+            // Fetch one extra row to learn whether another page follows
+            List<Reservation> rows = reservationRepository.findPage(status, from, to, afterTime, afterId, limit + 1);
+            if (rows.size() <= limit) {
+                return new CursorPage<>(rows, null);
+            }
+            List<Reservation> page = rows.subList(0, limit);
+            Reservation last = page.get(limit - 1);
+            return new CursorPage<>(page, encodeCursor(last.getReservationTime(), last.getId()));
+
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get reservation page: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Get a reservation by ID
      * @param id the reservation ID
@@ -177,32 +317,47 @@ public List<Reservation> getAllReservations() {
  * @return the cancelled reservation
  * @throws IllegalArgumentException if reservation not found
  */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 public Reservation cancelReservation(Long reservationId) {
     try {
         if (reservationId == null) {
             throw new IllegalArgumentException("Reservation ID cannot be null");
         }
 
-        // Find reservation
-        Reservation reservation = reservationRepository.findById(reservationId)
+        Long tableId = reservationRepository.findTableIdById(reservationId)
             .orElseThrow(() -> new IllegalArgumentException("Reservation with ID " + reservationId + " not found"));
 
-        logger.info("Processing reservation {} - current status: {}, new status: {}", 
-            reservationId, reservation.getStatus(), ReservationStatus.CANCELLED);
-
-        // Get fresh table instance
-        RestaurantTable table = tableRepository.findById(reservation.getTable().getId())
-            .orElseThrow(() -> new IllegalArgumentException("Table not found"));
-
-        // Update reservation status to CANCELLED
-        reservation.setStatus(ReservationStatus.CANCELLED);
-        Reservation cancelledReservation = reservationRepository.save(reservation);
-
-        // Free up the table
-        table.setStatus(TableStatus.AVAILABLE);
-        tableRepository.save(table);
+        return tableTransactionRunner.execute(tableId, () -> {
+            // Find reservation
+            Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation with ID " + reservationId + " not found"));
+
+            logger.info("Processing reservation {} - current status: {}, new status: {}", 
+                reservationId, reservation.getStatus(), ReservationStatus.CANCELLED);
+
+            // Get fresh table instance
+            RestaurantTable table = tableRepository.findById(tableId)
+                .orElseThrow(() -> new IllegalArgumentException("Table not found"));
+
+            // Update reservation status to CANCELLED
+            ReservationStatus previousStatus = reservation.getStatus();
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            Reservation cancelledReservation = reservationRepository.save(reservation);
+            TransactionHooks.afterCommit(() -> availabilityIndex.releaseReservation(reservationId));
+
+            // Free up the table if this reservation was the one holding it
+            if (holdsTableNow(previousStatus, reservation.getReservationTime())
+                    && table.getStatus() != TableStatus.AVAILABLE) {
+                changeTableStatus(table, TableStatus.AVAILABLE);
+                tableRepository.save(table);
+            }
 
-        return cancelledReservation;
+            if (previousStatus != ReservationStatus.CANCELLED) {
+                eventPublisher.publishEvent(new ReservationChangedEvent(reservationId, tableId,
+                    reservation.getReservationTime(), previousStatus, ReservationStatus.CANCELLED));
+            }
+            return cancelledReservation;
+        }, null);
 
     } catch (IllegalArgumentException e) {
         throw e;
@@ -214,6 +369,7 @@ public Reservation cancelReservation(Long reservationId) {
         /**
  * Update the status of a reservation with table management
  */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
 public Reservation updateReservationStatus(Long reservationId, ReservationStatus newStatus) {
     try {
         if (reservationId == null) {
@@ -224,40 +380,72 @@ public Reservation updateReservationStatus(Long reservationId, ReservationStatus
             throw new IllegalArgumentException("New status cannot be null");
         }
 
-        // Find reservation within transaction
-        Reservation reservation = reservationRepository.findById(reservationId)
+        Long tableId = reservationRepository.findTableIdById(reservationId)
             .orElseThrow(() -> new IllegalArgumentException("Reservation with ID " + reservationId + " not found"));
 
-        logger.info("Processing reservation {} - current status: {}, new status: {}", 
-            reservationId, reservation.getStatus(), newStatus);
-
-        // Get fresh table instance to avoid detached entity issues
-        RestaurantTable table = tableRepository.findById(reservation.getTable().getId())
-            .orElseThrow(() -> new IllegalArgumentException("Table not found"));
-
-        // Update reservation status
-        reservation.setStatus(newStatus);
-        Reservation updatedReservation = reservationRepository.save(reservation);
-
-        // Update table status
-        switch (newStatus) {
-            case CONFIRMED:
-            case PENDING:
-                table.setStatus(TableStatus.RESERVED);
-                break;
-            case SEATED:
-            case IN_SERVICE:
-                table.setStatus(TableStatus.OCCUPIED);
-                break;
-            case COMPLETED:
-            case CANCELLED:
-                table.setStatus(TableStatus.AVAILABLE);
-                break;
-        }
+        return tableTransactionRunner.execute(tableId, () -> {
+            // Find reservation within transaction
+            Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new IllegalArgumentException("Reservation with ID " + reservationId + " not found"));
+
+            logger.info("Processing reservation {} - current status: {}, new status: {}", 
+                reservationId, reservation.getStatus(), newStatus);
+
+            ReservationStatus previousStatus = reservation.getStatus();
+            boolean wasActive = TableAvailabilityIndex.ACTIVE_STATUSES.contains(previousStatus);
+            boolean isActive = TableAvailabilityIndex.ACTIVE_STATUSES.contains(newStatus);
+
+            // Get fresh table instance to avoid detached entity issues; re-booking bumps its version
+            RestaurantTable table = (!wasActive && isActive
+                    ? tableRepository.findByIdForBooking(tableId)
+                    : tableRepository.findById(tableId))
+                .orElseThrow(() -> new IllegalArgumentException("Table not found"));
+
+            // Update reservation status
+            reservation.setStatus(newStatus);
+            Reservation updatedReservation = reservationRepository.save(reservation);
+
+            // Keep the availability index in step with the reservation
+            if (wasActive && !isActive) {
+                TransactionHooks.afterCommit(() -> availabilityIndex.releaseReservation(reservationId));
+            } else if (!wasActive && isActive && !availabilityIndex.isBooked(reservationId)) {
+                TableAvailabilityIndex.Booking booking = availabilityIndex.tryBook(table.getId(), reservation.getReservationTime());
+                if (booking == null) {
+                    throw new IllegalArgumentException("Table " + table.getTableNumber() +
+                        " is already booked around " + reservation.getReservationTime());
+                }
+                availabilityIndex.bind(booking, reservationId);
+                TransactionHooks.onRollback(() -> availabilityIndex.release(booking));
+            }
+
+            // Update table status; later seatings leave the live floor status alone
+            switch (newStatus) {
+                case CONFIRMED:
+                case PENDING:
+                    if (isUpcomingSeating(reservation.getReservationTime()) && table.getStatus() == TableStatus.AVAILABLE) {
+                        changeTableStatus(table, TableStatus.RESERVED);
+                    }
+                    break;
+                case SEATED:
+                case IN_SERVICE:
+                    changeTableStatus(table, TableStatus.OCCUPIED);
+                    break;
+                case COMPLETED:
+                case CANCELLED:
+                    if (holdsTableNow(previousStatus, reservation.getReservationTime())) {
+                        changeTableStatus(table, TableStatus.AVAILABLE);
+                    }
+                    break;
+            }
         
-        tableRepository.save(table);
+            tableRepository.save(table);
 
-        return updatedReservation;
+            if (previousStatus != newStatus) {
+                eventPublisher.publishEvent(new ReservationChangedEvent(reservationId, tableId,
+                    reservation.getReservationTime(), previousStatus, newStatus));
+            }
+            return updatedReservation;
+        }, () -> availabilityIndex.reloadTable(tableId));
 
     } catch (IllegalArgumentException e) {
         throw e;
@@ -266,4 +454,50 @@ public Reservation updateReservationStatus(Long reservationId, ReservationStatus
     }
 }
 
+/**
+ * Set a table's status and publish the change if there is one
+ */
+private void changeTableStatus(RestaurantTable table, TableStatus newStatus) {
+    TableStatus oldStatus = table.getStatus();
+    table.setStatus(newStatus);
+    if (oldStatus != newStatus) {
+        eventPublisher.publishEvent(new TableStatusChangedEvent(table.getId(), table.getTableNumber(), oldStatus, newStatus));
+    }
+}
+
+/**
+ * Encode a (reservation time, ID) position as an opaque page cursor
+ */
+private static String encodeCursor(LocalDateTime reservationTime, Long id) {
+    String position = reservationTime + "|" + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+}
+
+/**
+ * Decode a page cursor into its reservation time and ID parts
+ */
+private static String[] decodeCursor(String cursor) {
+    String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    String[] parts = position.split("\\|");
+    if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid page cursor");
+    }
+    return parts;
+}
+
+/**
+ * Check whether a reservation time falls within the next dining duration
+ */
+private boolean isUpcomingSeating(LocalDateTime reservationTime) {
+    return reservationTime.isBefore(LocalDateTime.now().plus(availabilityIndex.getDiningDuration()));
+}
+
+/**
+ * Check whether a reservation in the given status is what currently holds its table
+ */
+private boolean holdsTableNow(ReservationStatus status, LocalDateTime reservationTime) {
+    return status == ReservationStatus.SEATED || status == ReservationStatus.IN_SERVICE
+        || (TableAvailabilityIndex.ACTIVE_STATUSES.contains(status) && isUpcomingSeating(reservationTime));
+}
+
 }
\ No newline at end of file
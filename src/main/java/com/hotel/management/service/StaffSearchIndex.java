@@ -0,0 +1,64 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.StaffListing;
+import com.hotel.management.dto.StaffSuggestion;
+import com.hotel.management.repository.StaffRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * In-memory typeahead index of staff names.
+ *
+ * Loaded once at startup; {@link StaffService} updates it after each committed staff write.
+ * Active staff rank above inactive staff with an equally good name match.
+ */
+@Component
+public class StaffSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaffSearchIndex.class);
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    private final TrigramIndex<Long, StaffSuggestion> index = new TrigramIndex<>();
+
+    /**
+     * Load every staff member
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        for (StaffListing listing : staffRepository.findAllListings()) {
+            put(StaffSuggestion.from(listing));
+        }
+        logger.info("Staff search index loaded: {} staff", index.size());
+    }
+
+    /**
+     * Add or replace a staff member
+     * @param staff the staff member as committed
+     */
+    public void put(StaffSuggestion staff) {
+        index.put(staff.getId(), staff, Boolean.TRUE.equals(staff.getIsActive()) ? 1 : 0,
+                staff.getFirstName(), staff.getLastName());
+    }
+
+    /**
+     * Find the staff whose names match every word of the query, best first
+     * @param query the text typed so far
+     * @param limit the most staff to return
+     * @return the matching staff
+     */
+    public List<StaffSuggestion> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+}
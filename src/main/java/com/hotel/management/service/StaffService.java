@@ -1,17 +1,27 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.StaffListing;
+import com.hotel.management.dto.StaffSuggestion;
+import com.hotel.management.dto.StaffTableAssignment;
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.entity.Staff;
 import com.hotel.management.enums.StaffRole;
+import com.hotel.management.event.StaffStatusChangedEvent;
 import com.hotel.management.repository.StaffRepository;
 import com.hotel.management.repository.TableRepository;
+import com.hotel.management.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing staff members
@@ -20,12 +30,24 @@ import java.util.Optional;
 @Transactional
 public class StaffService {
 
+    /** Staff IDs per IN list when loading the table assignments of a filtered listing */
+    private static final int ASSIGNMENT_BATCH_SIZE = 1000;
+
+    /** Most staff the name typeahead will suggest */
+    public static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private StaffRepository staffRepository;
 
     @Autowired
     private TableRepository tableRepository;
 
+    @Autowired
+    private StaffSearchIndex staffSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Create a new staff member
      * @param staff the staff to create
@@ -57,7 +79,11 @@ public class StaffService {
                 staff.setHireDate(LocalDate.now());
             }
 
-            return staffRepository.save(staff);
+            Staff savedStaff = staffRepository.save(staff);
+            indexAfterCommit(savedStaff);
+            eventPublisher.publishEvent(new StaffStatusChangedEvent(
+                    savedStaff.getId(), savedStaff.getRole(), null, Boolean.TRUE.equals(savedStaff.getIsActive())));
+            return savedStaff;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -72,19 +98,122 @@ public class StaffService {
      */
     public List<Staff> getAllStaff() {
         try {
-            List<Staff> staff = staffRepository.findAllByOrderByLastNameAscFirstNameAsc();
-            // Initialize assigned tables to avoid lazy loading issues
-            staff.forEach(s -> {
-                if (s.getAssignedTables() != null) {
-                    s.getAssignedTables().size(); // Force initialization
-                }
-            });
-            return staff;
+            // Assigned tables are fetched in the same query
+            return staffRepository.findAllByOrderByLastNameAscFirstNameAsc();
         } catch (Exception e) {
             throw new RuntimeException("Failed to get all staff: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Get the staff page rows for all staff, with their assigned tables
+     * @return the rows ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<StaffListing> getStaffListing() {
+        try {
+            return withAssignedTables(staffRepository.findAllListings(), staffRepository.findAllTableAssignments());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get staff listing: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the staff page rows for one role
+     * @param role the role to filter by
+     * @return the rows ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<StaffListing> getStaffListingByRole(StaffRole role) {
+        try {
+            if (role == null) {
+                throw new IllegalArgumentException("Role cannot be null");
+            }
+            return withAssignedTables(staffRepository.findListingsByRole(role));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get staff listing by role: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the staff page rows for one department
+     * @param department the department to filter by
+     * @return the rows ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<StaffListing> getStaffListingByDepartment(String department) {
+        try {
+            if (department == null || department.trim().isEmpty()) {
+                throw new IllegalArgumentException("Department cannot be null or empty");
+            }
+            return withAssignedTables(staffRepository.findListingsByDepartment(department));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get staff listing by department: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the staff page rows whose name contains the search term
+     * @param searchTerm the search term; blank lists all staff
+     * @return the rows ordered by name
+     */
+    @Transactional(readOnly = true)
+    public List<StaffListing> searchStaffListing(String searchTerm) {
+        try {
+            if (searchTerm == null || searchTerm.trim().isEmpty()) {
+                return getStaffListing();
+            }
+            return withAssignedTables(staffRepository.searchListings(searchTerm.trim()));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to search staff listing: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Load the assignments of the listed staff, a batch of IDs per query
+     */
+    private List<StaffListing> withAssignedTables(List<StaffListing> staff) {
+        List<Long> ids = staff.stream().map(StaffListing::getId).toList();
+        for (int from = 0; from < ids.size(); from += ASSIGNMENT_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + ASSIGNMENT_BATCH_SIZE, ids.size()));
+            withAssignedTables(staff, staffRepository.findTableAssignments(batch));
+        }
+        return staff;
+    }
+
+    private static List<StaffListing> withAssignedTables(List<StaffListing> staff, List<StaffTableAssignment> assignments) {
+        Map<Long, StaffListing> byId = staff.stream().collect(Collectors.toMap(StaffListing::getId, Function.identity()));
+        for (StaffTableAssignment assignment : assignments) {
+            StaffListing listing = byId.get(assignment.getStaffId());
+            if (listing != null) {
+                listing.addAssignedTable(assignment);
+            }
+        }
+        return staff;
+    }
+
+    /**
+     * Suggest staff by name from the in-memory index, as the user types
+     * @param query the name typed so far
+     * @param limit the most staff to return, capped at {@link #MAX_SUGGESTIONS}
+     * @return the best matching staff, empty for a blank query
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StaffSuggestion> suggestStaff(String query, int limit) {
+        try {
+            if (query == null || query.isBlank()) {
+                return List.of();
+            }
+            return staffSearchIndex.search(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to suggest staff: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Get staff by ID
      * @param id the staff ID
@@ -186,6 +315,8 @@ public class StaffService {
             }
 
             Staff existingStaff = existingStaffOpt.get();
+            boolean wasActive = Boolean.TRUE.equals(existingStaff.getIsActive());
+            StaffRole oldRole = existingStaff.getRole();
 
             // Update fields
             if (updatedStaff.getFirstName() != null) {
@@ -217,7 +348,10 @@ public class StaffService {
                 existingStaff.setIsActive(updatedStaff.getIsActive());
             }
 
-            return staffRepository.save(existingStaff);
+            Staff savedStaff = staffRepository.save(existingStaff);
+            indexAfterCommit(savedStaff);
+            publishIfStatusChanged(savedStaff, wasActive, oldRole);
+            return savedStaff;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -243,8 +377,12 @@ public class StaffService {
             }
 
             Staff staff = staffOpt.get();
+            boolean wasActive = Boolean.TRUE.equals(staff.getIsActive());
             staff.setIsActive(false);
-            return staffRepository.save(staff);
+            Staff savedStaff = staffRepository.save(staff);
+            indexAfterCommit(savedStaff);
+            publishIfStatusChanged(savedStaff, wasActive, savedStaff.getRole());
+            return savedStaff;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -270,8 +408,12 @@ public class StaffService {
             }
 
             Staff staff = staffOpt.get();
+            boolean wasActive = Boolean.TRUE.equals(staff.getIsActive());
             staff.setIsActive(true);
-            return staffRepository.save(staff);
+            Staff savedStaff = staffRepository.save(staff);
+            indexAfterCommit(savedStaff);
+            publishIfStatusChanged(savedStaff, wasActive, savedStaff.getRole());
+            return savedStaff;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -419,4 +561,22 @@ public class StaffService {
             throw new RuntimeException("Failed to get assigned tables: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Update the name typeahead once the staff write has committed
+     */
+    private void indexAfterCommit(Staff staff) {
+        StaffSuggestion suggestion = StaffSuggestion.from(staff);
+        TransactionHooks.afterCommit(() -> staffSearchIndex.put(suggestion));
+    }
+
+    /**
+     * Publish a staff status change if the active flag flipped or the role changed
+     */
+    private void publishIfStatusChanged(Staff staff, boolean wasActive, StaffRole oldRole) {
+        boolean active = Boolean.TRUE.equals(staff.getIsActive());
+        if (active != wasActive || staff.getRole() != oldRole) {
+            eventPublisher.publishEvent(new StaffStatusChangedEvent(staff.getId(), staff.getRole(), wasActive, active));
+        }
+    }
 }
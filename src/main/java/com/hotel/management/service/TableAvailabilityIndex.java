@@ -0,0 +1,398 @@
+package com.hotel.management.service;
+
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.TableRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory interval index of table bookings.
+ *
+ * Every active reservation occupies its table from the reservation time for the
+ * configured dining duration. Bookings are kept per table in a map ordered by
+ * start time, so "is table T free between t1 and t2" is a single floor lookup
+ * and a table can be sold for several seatings on the same day. Writes go
+ * through {@link ReservationService}, which keeps this index in step with the
+ * reservations table.
+ */
+@Component
+public class TableAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableAvailabilityIndex.class);
+
+    /**
+     * Reservation statuses that hold a table
+     */
+    public static final List<ReservationStatus> ACTIVE_STATUSES = List.of(
+            ReservationStatus.PENDING, ReservationStatus.CONFIRMED,
+            ReservationStatus.SEATED, ReservationStatus.IN_SERVICE);
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Value("${hotel.reservations.dining-duration-minutes:120}")
+    private long diningDurationMinutes;
+
+    private final Map<Long, TableTimeline> timelines = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Integer, Set<Long>> tablesByCapacity = new ConcurrentSkipListMap<>();
+
+    private final Map<Long, Booking> bookingsByReservation = new ConcurrentHashMap<>();
+
+    /**
+     * Load all tables and the reservations that still hold them.
+     * Runs before any other startup listener so sample data goes through the index.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        timelines.clear();
+        tablesByCapacity.clear();
+        bookingsByReservation.clear();
+
+        for (RestaurantTable table : tableRepository.findAll()) {
+            registerTable(table);
+        }
+
+        LocalDateTime from = LocalDateTime.now().minus(getDiningDuration());
+        List<Reservation> active = reservationRepository
+                .findByStatusInAndReservationTimeGreaterThanEqual(ACTIVE_STATUSES, from);
+        int skipped = 0;
+        for (Reservation reservation : active) {
+            Booking booking = tryBook(reservation.getTable().getId(), reservation.getReservationTime());
+            if (booking == null) {
+                skipped++;
+                continue;
+            }
+            bind(booking, reservation.getId());
+        }
+        if (skipped > 0) {
+            logger.warn("{} overlapping reservations were not added to the availability index", skipped);
+        }
+        logger.info("Availability index loaded: {} tables, {} active bookings",
+                timelines.size(), bookingsByReservation.size());
+    }
+
+    /**
+     * Replace a table's bookings with the active reservations currently in the database.
+     * Used after another writer has committed changes to the table that this index has not seen.
+     * @param tableId the table ID
+     */
+    public void reloadTable(Long tableId) {
+        TableTimeline timeline = tableId != null ? timelines.get(tableId) : null;
+        if (timeline == null) {
+            return;
+        }
+        LocalDateTime from = LocalDateTime.now().minus(getDiningDuration());
+        List<Reservation> active = reservationRepository.findByTableIdAndStatusInFrom(tableId, ACTIVE_STATUSES, from);
+        synchronized (timeline) {
+            for (Booking booking : timeline.bookings.values()) {
+                if (booking.reservationId != null) {
+                    bookingsByReservation.remove(booking.reservationId, booking);
+                }
+            }
+            timeline.bookings.clear();
+            for (Reservation reservation : active) {
+                LocalDateTime start = reservation.getReservationTime();
+                LocalDateTime end = start.plus(getDiningDuration());
+                if (!timeline.isFree(start, end)) {
+                    continue;
+                }
+                Booking booking = new Booking(tableId, start, end);
+                booking.reservationId = reservation.getId();
+                timeline.bookings.put(start, booking);
+                bookingsByReservation.put(reservation.getId(), booking);
+            }
+        }
+    }
+
+    /**
+     * Get the length of time a reservation holds its table
+     * @return the dining duration
+     */
+    public Duration getDiningDuration() {
+        return Duration.ofMinutes(diningDurationMinutes);
+    }
+
+    /**
+     * Add a table to the index, or refresh its number and capacity
+     * @param table the table to register
+     */
+    public void registerTable(RestaurantTable table) {
+        if (table == null || table.getId() == null) {
+            return;
+        }
+        TableTimeline timeline = timelines.computeIfAbsent(table.getId(), TableTimeline::new);
+        synchronized (timeline) {
+            if (timeline.capacity != null) {
+                Set<Long> previous = tablesByCapacity.get(timeline.capacity);
+                if (previous != null) {
+                    previous.remove(table.getId());
+                }
+            }
+            timeline.tableNumber = table.getTableNumber();
+            timeline.capacity = table.getCapacity();
+        }
+        tablesByCapacity.computeIfAbsent(table.getCapacity(), c -> ConcurrentHashMap.newKeySet())
+                .add(table.getId());
+    }
+
+    /**
+     * Check whether the index knows a table
+     * @param tableId the table ID
+     * @return true if the table is registered
+     */
+    public boolean isKnownTable(Long tableId) {
+        return tableId != null && timelines.containsKey(tableId);
+    }
+
+    /**
+     * Get the capacity of a registered table
+     * @param tableId the table ID
+     * @return the capacity, or null if the table is unknown
+     */
+    public Integer getCapacity(Long tableId) {
+        TableTimeline timeline = tableId != null ? timelines.get(tableId) : null;
+        return timeline != null ? timeline.capacity : null;
+    }
+
+    /**
+     * Get the table number of a registered table
+     * @param tableId the table ID
+     * @return the table number, or null if the table is unknown
+     */
+    public String getTableNumber(Long tableId) {
+        TableTimeline timeline = tableId != null ? timelines.get(tableId) : null;
+        return timeline != null ? timeline.tableNumber : null;
+    }
+
+    /**
+     * Check whether a table has no booking overlapping [from, to)
+     * @param tableId the table ID
+     * @param from the start of the interval (inclusive)
+     * @param to the end of the interval (exclusive)
+     * @return true if the table is known and free for the whole interval
+     */
+    public boolean isFree(Long tableId, LocalDateTime from, LocalDateTime to) {
+        TableTimeline timeline = tableId != null ? timelines.get(tableId) : null;
+        if (timeline == null) {
+            return false;
+        }
+        synchronized (timeline) {
+            return timeline.isFree(from, to);
+        }
+    }
+
+    /**
+     * Find tables that can seat a party for a full dining duration starting at a time
+     * @param partySize the size of the party
+     * @param at the seating time
+     * @return IDs of free tables, smallest sufficient capacity first
+     */
+    public List<Long> findFreeTables(int partySize, LocalDateTime at) {
+        LocalDateTime to = at.plus(getDiningDuration());
+        List<Long> free = new ArrayList<>();
+        for (Set<Long> tableIds : tablesByCapacity.tailMap(partySize, true).values()) {
+            for (Long tableId : tableIds) {
+                if (isFree(tableId, at, to)) {
+                    free.add(tableId);
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Find the free tables for every seating slot of a day in one pass over its bookings.
+     * A slot is free on a table when a full dining duration starting at the slot
+     * overlaps none of the table's bookings.
+     * @param partySize the size of the party
+     * @param firstSlot the first seating time
+     * @param slotCount the number of slots
+     * @param step the time between slots
+     * @return per slot, IDs of free tables with smallest sufficient capacity first
+     */
+    public List<List<Long>> findFreeTablesPerSlot(int partySize, LocalDateTime firstSlot, int slotCount, Duration step) {
+        Duration dining = getDiningDuration();
+        LocalDateTime windowEnd = firstSlot.plus(step.multipliedBy(Math.max(slotCount - 1, 0))).plus(dining);
+        long stepMinutes = step.toMinutes();
+
+        List<List<Long>> free = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            free.add(new ArrayList<>());
+        }
+
+        for (Set<Long> tableIds : tablesByCapacity.tailMap(partySize, true).values()) {
+            for (Long tableId : tableIds) {
+                TableTimeline timeline = timelines.get(tableId);
+                if (timeline == null) {
+                    continue;
+                }
+                BitSet blocked = new BitSet(slotCount);
+                synchronized (timeline) {
+                    LocalDateTime from = timeline.bookings.lowerKey(firstSlot);
+                    Map<LocalDateTime, Booking> bookings = from != null
+                            ? timeline.bookings.subMap(from, true, windowEnd, false)
+                            : timeline.bookings.headMap(windowEnd, false);
+                    for (Booking booking : bookings.values()) {
+                        // Slot s collides when booking.start - dining < s < booking.end
+                        long lo = Duration.between(firstSlot, booking.start.minus(dining)).toMinutes();
+                        long hi = Duration.between(firstSlot, booking.end).toMinutes();
+                        int first = (int) Math.max(0, Math.floorDiv(lo, stepMinutes) + 1);
+                        int last = (int) Math.min(slotCount - 1L, Math.floorDiv(hi - 1, stepMinutes));
+                        if (first <= last) {
+                            blocked.set(first, last + 1);
+                        }
+                    }
+                }
+                for (int i = blocked.nextClearBit(0); i < slotCount; i = blocked.nextClearBit(i + 1)) {
+                    free.get(i).add(tableId);
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Atomically check a table and hold it for a dining duration starting at a time
+     * @param tableId the table ID
+     * @param start the reservation time
+     * @return the booking, or null if the table is unknown or already booked
+     */
+    public Booking tryBook(Long tableId, LocalDateTime start) {
+        TableTimeline timeline = tableId != null ? timelines.get(tableId) : null;
+        if (timeline == null) {
+            return null;
+        }
+        LocalDateTime end = start.plus(getDiningDuration());
+        synchronized (timeline) {
+            if (!timeline.isFree(start, end)) {
+                return null;
+            }
+            Booking booking = new Booking(tableId, start, end);
+            timeline.bookings.put(start, booking);
+            return booking;
+        }
+    }
+
+    /**
+     * Associate a booking with the reservation that was saved for it
+     * @param booking the booking
+     * @param reservationId the reservation ID
+     */
+    public void bind(Booking booking, Long reservationId) {
+        booking.reservationId = reservationId;
+        bookingsByReservation.put(reservationId, booking);
+    }
+
+    /**
+     * Release a booking
+     * @param booking the booking to release
+     */
+    public void release(Booking booking) {
+        if (booking == null) {
+            return;
+        }
+        if (booking.reservationId != null) {
+            bookingsByReservation.remove(booking.reservationId, booking);
+        }
+        TableTimeline timeline = timelines.get(booking.tableId);
+        if (timeline != null) {
+            synchronized (timeline) {
+                timeline.bookings.remove(booking.start, booking);
+            }
+        }
+    }
+
+    /**
+     * Release the booking held by a reservation, if any
+     * @param reservationId the reservation ID
+     */
+    public void releaseReservation(Long reservationId) {
+        if (reservationId != null) {
+            release(bookingsByReservation.get(reservationId));
+        }
+    }
+
+    /**
+     * Check whether a reservation currently holds a booking
+     * @param reservationId the reservation ID
+     * @return true if the reservation is in the index
+     */
+    public boolean isBooked(Long reservationId) {
+        return reservationId != null && bookingsByReservation.containsKey(reservationId);
+    }
+
+    /**
+     * Bookings of a single table, ordered by start time
+     */
+    private static final class TableTimeline {
+
+        private final Long tableId;
+        private String tableNumber;
+        private Integer capacity;
+        private final TreeMap<LocalDateTime, Booking> bookings = new TreeMap<>();
+
+        private TableTimeline(Long tableId) {
+            this.tableId = tableId;
+        }
+
+        /**
+         * Bookings never overlap, so their end times are ordered like their start
+         * times and only the last booking starting before {@code to} can collide.
+         */
+        private boolean isFree(LocalDateTime from, LocalDateTime to) {
+            Map.Entry<LocalDateTime, Booking> previous = bookings.lowerEntry(to);
+            return previous == null || !previous.getValue().end.isAfter(from);
+        }
+    }
+
+    /**
+     * A table held for one reservation
+     */
+    public static final class Booking {
+
+        private final Long tableId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private volatile Long reservationId;
+
+        private Booking(Long tableId, LocalDateTime start, LocalDateTime end) {
+            this.tableId = tableId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Long getTableId() { return tableId; }
+
+        public LocalDateTime getStart() { return start; }
+
+        public LocalDateTime getEnd() { return end; }
+
+        public Long getReservationId() { return reservationId; }
+    }
+}
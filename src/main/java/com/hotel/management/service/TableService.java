@@ -1,12 +1,24 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.AvailabilitySlot;
 import com.hotel.management.entity.RestaurantTable;
 import com.hotel.management.enums.TableStatus;
+import com.hotel.management.event.TableStatusChangedEvent;
 import com.hotel.management.repository.TableRepository;
+import com.hotel.management.util.TransactionHooks;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +32,21 @@ public class TableService {
     @Autowired
     private TableRepository tableRepository;
 
+    @Autowired
+    private TableAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private TableTransactionRunner tableTransactionRunner;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${hotel.restaurant.opening-time:11:00}")
+    private LocalTime openingTime;
+
+    @Value("${hotel.restaurant.closing-time:23:00}")
+    private LocalTime closingTime;
+
     /**
      * Get all available tables (status = AVAILABLE)
      * @return list of available tables
@@ -41,6 +68,7 @@ public class TableService {
      * @throws IllegalArgumentException if table not found or invalid status
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public RestaurantTable updateTableStatus(Long tableId, TableStatus newStatus) {
         try {
             if (tableId == null) {
@@ -51,20 +79,25 @@ public class TableService {
                 throw new IllegalArgumentException("New status cannot be null");
             }
 
-            // Find the table
-            Optional<RestaurantTable> tableOpt = tableRepository.findById(tableId);
-            if (tableOpt.isEmpty()) {
-                throw new IllegalArgumentException("Table with ID " + tableId + " not found");
-            }
-
-            RestaurantTable table = tableOpt.get();
-            TableStatus oldStatus = table.getStatus();
+            return tableTransactionRunner.execute(tableId, () -> {
+                // Find the table
+                Optional<RestaurantTable> tableOpt = tableRepository.findById(tableId);
+                if (tableOpt.isEmpty()) {
+                    throw new IllegalArgumentException("Table with ID " + tableId + " not found");
+                }
 
-            // Update the status
-            table.setStatus(newStatus);
-            RestaurantTable updatedTable = tableRepository.save(table);
+                RestaurantTable table = tableOpt.get();
+                TableStatus oldStatus = table.getStatus();
 
-            return updatedTable;
+                // Update the status
+                table.setStatus(newStatus);
+                RestaurantTable updatedTable = tableRepository.save(table);
+                if (oldStatus != newStatus) {
+                    eventPublisher.publishEvent(new TableStatusChangedEvent(
+                            tableId, table.getTableNumber(), oldStatus, newStatus));
+                }
+                return updatedTable;
+            }, null);
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -168,7 +201,11 @@ public class TableService {
                 table.setStatus(TableStatus.AVAILABLE);
             }
 
-            return tableRepository.save(table);
+            RestaurantTable savedTable = tableRepository.save(table);
+            TransactionHooks.afterCommit(() -> availabilityIndex.registerTable(savedTable));
+            eventPublisher.publishEvent(new TableStatusChangedEvent(
+                    savedTable.getId(), savedTable.getTableNumber(), null, savedTable.getStatus()));
+            return savedTable;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -210,4 +247,109 @@ public class TableService {
             throw new RuntimeException("Failed to count tables by status: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Check whether a table has no reservation between two times
+     * @param tableId the table ID
+     * @param from the start of the interval (inclusive)
+     * @param to the end of the interval (exclusive)
+     * @return true if the table is free for the whole interval
+     */
+    public boolean isTableFree(Long tableId, LocalDateTime from, LocalDateTime to) {
+        if (tableId == null) {
+            throw new IllegalArgumentException("Table ID cannot be null");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("A valid time interval is required");
+        }
+        return availabilityIndex.isFree(tableId, from, to);
+    }
+
+    /**
+     * Get tables that can seat a party for a full dining duration starting at a time
+     * @param partySize the size of the party
+     * @param time the seating time
+     * @return list of free tables with sufficient capacity, smallest first
+     */
+    public List<RestaurantTable> getTablesFreeAt(Integer partySize, LocalDateTime time) {
+        try {
+            if (partySize == null || partySize < 1) {
+                throw new IllegalArgumentException("Party size must be at least 1");
+            }
+            if (time == null) {
+                throw new IllegalArgumentException("Time cannot be null");
+            }
+            List<Long> tableIds = availabilityIndex.findFreeTables(partySize, time);
+            if (tableIds.isEmpty()) {
+                return List.of();
+            }
+            return tableRepository.findAllById(tableIds).stream()
+                    .sorted(Comparator.comparing(RestaurantTable::getCapacity)
+                            .thenComparing(RestaurantTable::getTableNumber))
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get free tables for party: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get every bookable seating slot of a day for a party, across all tables.
+     * The last slot still leaves a full dining duration before closing time.
+     * @param partySize the size of the party
+     * @param date the date to search
+     * @param slotMinutes the time between slots
+     * @return list of slots with at least one free table, in time order
+     */
+    public List<AvailabilitySlot> getAvailabilityForDay(Integer partySize, LocalDate date, int slotMinutes) {
+        try {
+            if (partySize == null || partySize < 1) {
+                throw new IllegalArgumentException("Party size must be at least 1");
+            }
+            if (date == null) {
+                throw new IllegalArgumentException("Date cannot be null");
+            }
+            if (slotMinutes < 5 || slotMinutes > 240) {
+                throw new IllegalArgumentException("Slot length must be between 5 and 240 minutes");
+            }
+
+            Duration step = Duration.ofMinutes(slotMinutes);
+            LocalDateTime firstSlot = date.atTime(openingTime);
+            LocalDateTime lastSlot = date.atTime(closingTime).minus(availabilityIndex.getDiningDuration());
+
+            // Skip slots that have already started
+            LocalDateTime now = LocalDateTime.now();
+            if (date.isBefore(now.toLocalDate())) {
+                return List.of();
+            }
+            while (firstSlot.isBefore(now)) {
+                firstSlot = firstSlot.plus(step);
+            }
+            if (firstSlot.isAfter(lastSlot)) {
+                return List.of();
+            }
+            int slotCount = (int) (Duration.between(firstSlot, lastSlot).toMinutes() / slotMinutes) + 1;
+
+            List<List<Long>> freeTables = availabilityIndex.findFreeTablesPerSlot(partySize, firstSlot, slotCount, step);
+            List<AvailabilitySlot> slots = new ArrayList<>();
+            for (int i = 0; i < slotCount; i++) {
+                List<Long> tableIds = freeTables.get(i);
+                if (tableIds.isEmpty()) {
+                    continue;
+                }
+                List<AvailabilitySlot.AvailableTable> tables = new ArrayList<>(tableIds.size());
+                for (Long tableId : tableIds) {
+                    tables.add(new AvailabilitySlot.AvailableTable(tableId,
+                            availabilityIndex.getTableNumber(tableId), availabilityIndex.getCapacity(tableId)));
+                }
+                slots.add(new AvailabilitySlot(firstSlot.plus(step.multipliedBy(i)), tables));
+            }
+            return slots;
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get availability for " + date + ": " + e.getMessage(), e);
+        }
+    }
 }
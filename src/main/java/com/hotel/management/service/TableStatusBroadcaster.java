@@ -0,0 +1,200 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.TableState;
+import com.hotel.management.event.TableStatusChangedEvent;
+import com.hotel.management.repository.TableRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes table status changes to connected floor-plan clients over Server-Sent Events.
+ *
+ * A client first receives a snapshot of every table, then one event per committed
+ * status change. Each client has a bounded buffer that a small shared pool drains,
+ * so a slow client never blocks the writer that committed the change. A client
+ * whose buffer overflows is disconnected; its EventSource reconnects and starts
+ * again from a fresh snapshot.
+ */
+@Component
+public class TableStatusBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableStatusBroadcaster.class);
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Value("${hotel.tables.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${hotel.tables.stream.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    @Value("${hotel.tables.stream.heartbeat-seconds:25}")
+    private long heartbeatSeconds;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        executor = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "table-status-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::sendHeartbeats, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Connect a new client and send it the current state of every table
+     * @return the emitter for the client's event stream
+     * @throws IOException if the snapshot cannot be sent
+     */
+    public SseEmitter subscribe() throws IOException {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Register before reading so no change committed after the snapshot is missed. A change committed
+        // just before the read may be replayed too; the client ignores changes the snapshot already shows
+        subscribers.add(subscriber);
+        List<TableState> tables = tableRepository.findAllByOrderByTableNumberAsc().stream()
+                .map(TableState::from)
+                .toList();
+        emitter.send(SseEmitter.event().name("snapshot").id(String.valueOf(sequence.get())).data(tables));
+
+        // Changes buffered while the snapshot was read are replayed after it, in order
+        subscriber.ready.set(true);
+        scheduleDrain(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Get the number of connected clients
+     * @return the client count
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTableStatusChanged(TableStatusChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Delta delta = new Delta(sequence.incrementAndGet(), event);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.buffer.offer(delta)) {
+                logger.debug("Disconnecting table stream client that fell {} events behind", bufferSize);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                continue;
+            }
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.ready.get() && !subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Delta delta;
+            while ((delta = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name("table-status")
+                        .id(String.valueOf(delta.id))
+                        .data(delta.event));
+            }
+        } catch (Exception e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have arrived after the last poll but before the flag was cleared
+        scheduleDrain(subscriber);
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.ready.get()) {
+                continue;
+            }
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (Exception e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * A connected client and the events waiting to be sent to it
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Queue<Delta> buffer;
+        private final AtomicBoolean ready = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, int bufferSize) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    /**
+     * A status change and its position in the stream
+     */
+    private static final class Delta {
+
+        private final long id;
+        private final TableStatusChangedEvent event;
+
+        private Delta(long id, TableStatusChangedEvent event) {
+            this.id = id;
+            this.event = event;
+        }
+    }
+}
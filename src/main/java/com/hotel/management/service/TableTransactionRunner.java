@@ -0,0 +1,80 @@
+package com.hotel.management.service;
+
+import com.hotel.management.util.StripedLock;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs writes that touch a restaurant table one at a time per table.
+ *
+ * The table's stripe lock is held until the transaction has committed, so
+ * writers in this instance never race each other on a table, while bookings
+ * for tables on other stripes proceed in parallel. Writers in other instances
+ * are caught by the optimistic version on {@code RestaurantTable}; the losing
+ * transaction is retried a bounded number of times.
+ */
+@Component
+public class TableTransactionRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TableTransactionRunner.class);
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hotel.reservations.lock-stripes:64}")
+    private int lockStripes;
+
+    @Value("${hotel.reservations.max-write-attempts:3}")
+    private int maxAttempts;
+
+    private TransactionTemplate transactionTemplate;
+
+    private StripedLock tableLocks;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tableLocks = new StripedLock(lockStripes);
+    }
+
+    /**
+     * Run work in its own transaction while holding the table's lock
+     * @param tableId the table the work writes to
+     * @param work the transactional work
+     * @param beforeRetry called after an optimistic locking failure, before the next attempt (may be null)
+     * @return the result of the work
+     * @throws OptimisticLockingFailureException if every attempt lost to a concurrent writer
+     */
+    public <T> T execute(Long tableId, Supplier<T> work, Runnable beforeRetry) {
+        ReentrantLock lock = tableLocks.lockFor(tableId);
+        lock.lock();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> work.get());
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxAttempts) {
+                        throw e;
+                    }
+                    logger.debug("Concurrent update of table {} (attempt {} of {}), retrying",
+                            tableId, attempt, maxAttempts);
+                    if (beforeRetry != null) {
+                        beforeRetry.run();
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DispatchStatus;
+import com.hotel.management.dto.QueuedTask;
+import com.hotel.management.dto.StaffListing;
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.StaffRole;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.StaffStatusChangedEvent;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TaskRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Assigns unassigned pending tasks to the least loaded active staff member of the
+ * role their category maps to (hotel.tasks.dispatch.category-roles).
+ *
+ * Waiting tasks are kept in one priority heap per role, most urgent first: higher
+ * priority, then earlier due date, then older. Each staff member's open task load is
+ * counted in memory and kept in step by {@link TaskChangedEvent}s, so picking a staff
+ * member costs no query. Dispatch runs on a single background thread whenever a task
+ * is queued or a staff member gains capacity; each assignment is one conditional UPDATE,
+ * which quietly loses to a manager assigning the same task by hand. The UPDATE bumps the
+ * task's version, so a manager's edit of a copy loaded just before it is retried on the
+ * claimed row instead of writing the task back unassigned. A pass that fails,
+ * e.g. on a database error, is retried with a growing delay. Tasks in unmapped
+ * categories are left for manual assignment.
+ */
+@Component
+public class TaskDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskDispatcher.class);
+
+    /**
+     * Task statuses that count towards a staff member's load
+     */
+    public static final Set<TaskStatus> OPEN_STATUSES =
+            EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.ON_HOLD);
+
+    private static final Comparator<Entry> URGENCY = Comparator
+            .comparingInt((Entry e) -> -e.task.getPriority())
+            .thenComparing(e -> e.task.getDueDate(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.task.getCreatedAt(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(e -> e.task.getId());
+
+    private static final Comparator<Worker> LEAST_LOADED =
+            Comparator.comparingInt((Worker w) -> w.load).thenComparing(w -> w.staffId);
+
+    /** Stale heap entries tolerated per role before the heap is rebuilt from the live ones */
+    private static final int MAX_STALE_ENTRIES = 1024;
+
+    /** Delay before retrying a failed dispatch pass, doubled after each failure up to the maximum */
+    private static final long MIN_RETRY_MILLIS = 1000;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private StaffRepository staffRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${hotel.tasks.dispatch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${hotel.tasks.dispatch.max-open-tasks-per-staff:8}")
+    private int maxOpenTasksPerStaff;
+
+    @Value("${hotel.tasks.dispatch.category-roles:Cleaning=CLEANER,Housekeeping=CLEANER,Maintenance=MAINTENANCE," +
+            "Kitchen=CHEF,Security=SECURITY,Customer Service=RECEPTIONIST,Front Desk=RECEPTIONIST,Service=WAITER," +
+            "Administrative=ADMIN,Inventory=ADMIN}")
+    private String categoryRolesSetting;
+
+    private final Map<String, StaffRole> categoryRoles = new HashMap<>();
+
+    private TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService executor;
+
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+
+    // Only touched on the dispatcher thread
+    private long retryDelayMillis = MIN_RETRY_MILLIS;
+    private ScheduledFuture<?> retry;
+
+    // Guarded by this
+    private final Map<StaffRole, RoleQueue> queues = new EnumMap<>(StaffRole.class);
+    private final Map<Long, Entry> queued = new HashMap<>();
+    private final Map<Long, Worker> workers = new HashMap<>();
+
+    @PostConstruct
+    public void start() {
+        for (String mapping : categoryRolesSetting.split(",")) {
+            if (mapping.isBlank()) continue;
+            String[] parts = mapping.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalStateException("Invalid hotel.tasks.dispatch.category-roles entry: " + mapping);
+            }
+            categoryRoles.put(normalize(parts[0]), StaffRole.valueOf(parts[1].trim().toUpperCase(Locale.ROOT)));
+        }
+        for (StaffRole role : StaffRole.values()) {
+            queues.put(role, new RoleQueue());
+        }
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Load the staff, their open task counts and the unassigned pending tasks, then dispatch
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<StaffListing> staff = staffRepository.findAllListings();
+        List<Object[]> loads = taskRepository.countByStatusInGroupedByStaff(OPEN_STATUSES);
+        List<QueuedTask> tasks = taskRepository.findDispatchQueue();
+
+        int queuedCount;
+        synchronized (this) {
+            queued.clear();
+            workers.clear();
+            for (RoleQueue queue : queues.values()) {
+                queue.heap.clear();
+                queue.available.clear();
+            }
+            for (Object[] row : loads) {
+                workerFor((Long) row[0]).load = ((Long) row[1]).intValue();
+            }
+            for (StaffListing listing : staff) {
+                Worker worker = workerFor(listing.getId());
+                worker.role = listing.getRole();
+                worker.active = Boolean.TRUE.equals(listing.getIsActive());
+                if (worker.isAvailable()) {
+                    queues.get(worker.role).available.add(worker);
+                }
+            }
+            for (QueuedTask task : tasks) {
+                enqueue(task);
+            }
+            queuedCount = queued.size();
+        }
+        logger.info("Task dispatcher loaded: {} queued tasks, {} staff", queuedCount, staff.size());
+        requestDispatch();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean wasOpen = event.getOldStatus() != null && OPEN_STATUSES.contains(event.getOldStatus());
+        boolean open = event.getNewStatus() != null && OPEN_STATUSES.contains(event.getNewStatus());
+        boolean freed = wasOpen && event.getOldStaffId() != null
+                && !(open && event.getOldStaffId().equals(event.getNewStaffId()));
+        boolean waiting;
+        synchronized (this) {
+            if (wasOpen && event.getOldStaffId() != null) {
+                adjustLoad(event.getOldStaffId(), -1);
+            }
+            if (open && event.getNewStaffId() != null) {
+                adjustLoad(event.getNewStaffId(), 1);
+            }
+            dequeue(event.getTaskId());
+            waiting = event.getNewStatus() == TaskStatus.PENDING && event.getNewStaffId() == null
+                    && enqueue(new QueuedTask(event.getTaskId(), event.getTitle(), event.getCategory(),
+                            event.getPriority(), event.getDueDate(), event.getCreatedAt()));
+        }
+        if (waiting || freed) {
+            requestDispatch();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStaffStatusChanged(StaffStatusChangedEvent event) {
+        synchronized (this) {
+            Worker worker = workerFor(event.getStaffId());
+            if (worker.isAvailable()) {
+                queues.get(worker.role).available.remove(worker);
+            }
+            worker.role = event.getRole();
+            worker.active = event.isActive();
+            if (worker.isAvailable()) {
+                queues.get(worker.role).available.add(worker);
+            }
+        }
+        if (event.isActive()) {
+            requestDispatch();
+        }
+    }
+
+    /**
+     * Get the number of open tasks assigned to a staff member
+     * @param staffId the staff ID
+     * @return the pending, in progress and on hold tasks assigned to them
+     */
+    public synchronized int getOpenTaskCount(Long staffId) {
+        Worker worker = workers.get(staffId);
+        return worker != null ? worker.load : 0;
+    }
+
+    /**
+     * Get the waiting tasks and staff loads of every role that has either
+     * @param limit the most waiting tasks to list per role
+     * @return the dispatcher's state
+     */
+    public synchronized DispatchStatus getStatus(int limit) {
+        List<DispatchStatus.RoleQueue> roles = new ArrayList<>();
+        for (Map.Entry<StaffRole, RoleQueue> role : queues.entrySet()) {
+            RoleQueue queue = role.getValue();
+            if (queue.live == 0 && queue.available.isEmpty()) continue;
+            List<QueuedTask> next = queue.heap.stream()
+                    .filter(this::isLive)
+                    .sorted(URGENCY)
+                    .limit(limit)
+                    .map(e -> e.task)
+                    .toList();
+            List<DispatchStatus.StaffLoad> staff = queue.available.stream()
+                    .map(w -> new DispatchStatus.StaffLoad(w.staffId, w.load))
+                    .toList();
+            roles.add(new DispatchStatus.RoleQueue(role.getKey(), queue.live, next, staff));
+        }
+        return new DispatchStatus(enabled, maxOpenTasksPerStaff, roles);
+    }
+
+    /**
+     * Get the staff role a task category is dispatched to
+     * @param category the task category
+     * @return the role, or empty if tasks in the category are assigned by hand
+     */
+    public Optional<StaffRole> getRoleFor(String category) {
+        return Optional.ofNullable(category == null ? null : categoryRoles.get(normalize(category)));
+    }
+
+    /**
+     * Run a dispatch pass on the dispatcher thread, unless one is already waiting to run
+     */
+    public void requestDispatch() {
+        if (enabled && dispatchScheduled.compareAndSet(false, true)) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Assign waiting tasks until no role has both a task and a staff member with capacity.
+     * On a failure the task goes back in its queue and another pass is scheduled after a delay
+     */
+    private void dispatch() {
+        // Requests arriving from now on schedule another pass
+        dispatchScheduled.set(false);
+        int assigned = 0;
+        boolean failed = false;
+        Assignment assignment;
+        while ((assignment = nextAssignment()) != null) {
+            try {
+                if (assign(assignment)) {
+                    assigned++;
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to dispatch task {} to staff {}, retrying in {} ms: {}",
+                        assignment.task.getId(), assignment.staffId, retryDelayMillis, e.getMessage());
+                synchronized (this) {
+                    enqueue(assignment.task);
+                }
+                failed = true;
+                break;
+            }
+        }
+        if (assigned > 0) {
+            logger.info("Dispatched {} tasks", assigned);
+        }
+        if (!failed) {
+            retryDelayMillis = MIN_RETRY_MILLIS;
+        } else if (retry == null || retry.isDone()) {
+            retry = executor.schedule(this::requestDispatch, retryDelayMillis, TimeUnit.MILLISECONDS);
+            retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_MILLIS);
+        }
+    }
+
+    /**
+     * Take the most urgent task of the first role that has a staff member with capacity
+     */
+    private synchronized Assignment nextAssignment() {
+        for (RoleQueue queue : queues.values()) {
+            if (queue.live == 0 || queue.available.isEmpty()) continue;
+            Worker worker = queue.available.first();
+            if (maxOpenTasksPerStaff > 0 && worker.load >= maxOpenTasksPerStaff) continue;
+            Entry entry = queue.heap.poll();
+            while (!isLive(entry)) {
+                entry = queue.heap.poll();
+            }
+            queued.remove(entry.task.getId());
+            queue.live--;
+            return new Assignment(entry.task, worker.staffId);
+        }
+        return null;
+    }
+
+    /**
+     * Claim the task for the staff member; the committed change event adds it to their load
+     * @return whether the task was assigned
+     */
+    private boolean assign(Assignment assignment) {
+        QueuedTask task = assignment.task;
+        boolean assigned = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            int updated = taskRepository.assignIfUnassigned(task.getId(),
+                    staffRepository.getReferenceById(assignment.staffId), LocalDateTime.now());
+            if (updated == 0) {
+                return false;
+            }
+            Task claimed = taskRepository.findById(task.getId()).orElseThrow();
+            eventPublisher.publishEvent(TaskChangedEvent.changed(claimed, TaskStatus.PENDING, null));
+            return true;
+        }));
+        if (!assigned) {
+            // Either the task changed, and its own event has dequeued it, or the staff member is
+            // no longer active: take them out of the rotation until their next status change
+            Optional<Task> current = taskRepository.findById(task.getId());
+            if (current.isPresent() && current.get().getAssignedStaff() == null
+                    && current.get().getStatus() == TaskStatus.PENDING) {
+                synchronized (this) {
+                    Worker worker = workers.get(assignment.staffId);
+                    if (worker != null && worker.isAvailable()) {
+                        queues.get(worker.role).available.remove(worker);
+                        worker.active = false;
+                    }
+                    if (!queued.containsKey(task.getId())) {
+                        enqueue(task);
+                    }
+                }
+            }
+        }
+        return assigned;
+    }
+
+    // The methods below are called with this held
+
+    private Worker workerFor(Long staffId) {
+        return workers.computeIfAbsent(staffId, Worker::new);
+    }
+
+    private void adjustLoad(Long staffId, int delta) {
+        Worker worker = workerFor(staffId);
+        boolean available = worker.isAvailable();
+        if (available) {
+            queues.get(worker.role).available.remove(worker);
+        }
+        worker.load = Math.max(0, worker.load + delta);
+        if (available) {
+            queues.get(worker.role).available.add(worker);
+        }
+    }
+
+    private boolean enqueue(QueuedTask task) {
+        StaffRole role = getRoleFor(task.getCategory()).orElse(null);
+        if (role == null) {
+            return false;
+        }
+        Entry entry = new Entry(task, role);
+        queued.put(task.getId(), entry);
+        RoleQueue queue = queues.get(role);
+        queue.heap.add(entry);
+        queue.live++;
+        return true;
+    }
+
+    /**
+     * Forget a waiting task; its heap entry goes stale and is skipped when reached
+     */
+    private void dequeue(Long taskId) {
+        Entry entry = queued.remove(taskId);
+        if (entry == null) {
+            return;
+        }
+        RoleQueue queue = queues.get(entry.role);
+        queue.live--;
+        if (queue.heap.size() - queue.live > MAX_STALE_ENTRIES && queue.heap.size() > 2 * queue.live) {
+            queue.heap.removeIf(e -> !isLive(e));
+        }
+    }
+
+    private boolean isLive(Entry entry) {
+        return queued.get(entry.task.getId()) == entry;
+    }
+
+    private static String normalize(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class RoleQueue {
+
+        private final PriorityQueue<Entry> heap = new PriorityQueue<>(URGENCY);
+        private final TreeSet<Worker> available = new TreeSet<>(LEAST_LOADED);
+        private int live;
+    }
+
+    private static final class Entry {
+
+        private final QueuedTask task;
+        private final StaffRole role;
+
+        private Entry(QueuedTask task, StaffRole role) {
+            this.task = task;
+            this.role = role;
+        }
+    }
+
+    /**
+     * A staff member's open task load; in their role's available set while active.
+     * The load may only change while the worker is out of the set
+     */
+    private static final class Worker {
+
+        private final Long staffId;
+        private StaffRole role;
+        private boolean active;
+        private int load;
+
+        private Worker(Long staffId) {
+            this.staffId = staffId;
+        }
+
+        private boolean isAvailable() {
+            return active && role != null;
+        }
+    }
+
+    private static final class Assignment {
+
+        private final QueuedTask task;
+        private final Long staffId;
+
+        private Assignment(QueuedTask task, Long staffId) {
+            this.task = task;
+            this.staffId = staffId;
+        }
+    }
+}
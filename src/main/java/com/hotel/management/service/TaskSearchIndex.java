@@ -0,0 +1,408 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.TaskSearchHit;
+import com.hotel.management.dto.TaskSearchResult;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for full-text task search.
+ *
+ * Title, description, category and creator are split into words the same way as for the
+ * typeahead indexes, and every word lists the tasks containing it, weighted by field: a
+ * word in the title says more about a task than one in its description. Queries are
+ * ranked BM25-style, so tasks matching more of the query's words, rarer words and words in
+ * heavier fields come first; a query word also matches longer words it starts with, at a
+ * discount. Loaded at startup and kept current by {@link TaskChangedEvent}s.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float CREATED_BY_WEIGHT = 1f;
+
+    /** BM25 term frequency saturation: repeating a word helps less and less */
+    private static final float SATURATION = 1.2f;
+
+    /** Share of the score a word earns for matching only the start of a longer word */
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /** Shorter query words match whole words only */
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    /** Removed slots tolerated before the postings are compacted */
+    private static final int MIN_COMPACTION = 1024;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock. Every version of a task gets the next slot; a replaced or deleted one leaves a null
+    private final List<Doc> slots = new ArrayList<>();
+    private final Map<Long, Integer> slotsByTask = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private int removed;
+
+    /**
+     * Index every task
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Object[]> rows = taskRepository.findSearchDocuments();
+        int tasks;
+        int words;
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            slotsByTask.clear();
+            terms.clear();
+            removed = 0;
+            for (Object[] row : rows) {
+                Integer priority = (Integer) row[6];
+                String description = (String) row[2];
+                add(new Doc((Long) row[0], (String) row[1], description, (String) row[3], (String) row[4],
+                        (TaskStatus) row[5], priority != null ? priority : 3, (LocalDate) row[7], (Long) row[8]),
+                        description);
+            }
+            tasks = slotsByTask.size();
+            words = terms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Task search index loaded: {} tasks, {} distinct words", tasks, words);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByTask.get(event.getTaskId());
+            if (event.isDeleted()) {
+                if (slot != null) {
+                    removeSlot(slot);
+                }
+            } else {
+                Doc doc = new Doc(event.getTaskId(), event.getTitle(), event.getDescription(), event.getCategory(),
+                        event.getCreatedBy(), event.getNewStatus(), event.getPriority(), event.getDueDate(),
+                        event.getNewStaffId());
+                if (slot != null && slots.get(slot).sameText(doc)) {
+                    // Status, priority or assignee changes keep the task's words and slot
+                    slots.set(slot, doc);
+                    return;
+                }
+                if (slot != null) {
+                    removeSlot(slot);
+                }
+                add(doc, event.getDescription());
+            }
+            if (removed >= MIN_COMPACTION && removed * 2 > slots.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the tasks matching the most query words, best first
+     * @param query the words to look for
+     * @param status only tasks in this status, or null for any
+     * @param minPriority only tasks of at least this priority
+     * @param limit the most tasks to return
+     * @return the best matches and the number of tasks matched
+     */
+    public TaskSearchResult search(String query, TaskStatus status, int minPriority, int limit) {
+        List<String> words = TrigramIndex.words(query).stream().distinct().toList();
+        if (words.isEmpty()) {
+            return new TaskSearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            // The postings each word matches, exactly (factor 1) or as the start of longer words
+            List<List<Postings>> matches = new ArrayList<>(words.size());
+            int postingsSize = 0;
+            for (String word : words) {
+                List<Postings> matched = new ArrayList<>();
+                Postings exact = terms.get(word);
+                if (exact != null) {
+                    matched.add(exact);
+                }
+                if (word.length() >= MIN_PREFIX_LENGTH) {
+                    matched.addAll(terms.subMap(word, false, word + Character.MAX_VALUE, false).values());
+                }
+                for (Postings postings : matched) {
+                    postingsSize += postings.size;
+                }
+                matches.add(matched);
+            }
+            if (postingsSize == 0) {
+                return new TaskSearchResult(0, List.of());
+            }
+
+            // Sized to the postings read, so a narrow query never walks every slot
+            int live = slotsByTask.size();
+            Scores scores = new Scores(postingsSize);
+            for (int w = 0; w < words.size(); w++) {
+                Postings exact = terms.get(words.get(w));
+                for (Postings postings : matches.get(w)) {
+                    collect(postings, postings == exact ? 1f : PREFIX_FACTOR, live, scores);
+                }
+                scores.endWord();
+            }
+
+            // Lowest score, then oldest slot, at the head so it is dropped first
+            PriorityQueue<Integer> top = new PriorityQueue<>((a, b) -> scores.totals[a] != scores.totals[b]
+                    ? Float.compare(scores.totals[a], scores.totals[b]) : Integer.compare(scores.slots[a], scores.slots[b]));
+            long total = 0;
+            for (int i = 0; i < scores.usedSize; i++) {
+                int position = scores.used[i];
+                Doc doc = slots.get(scores.slots[position]);
+                if ((status != null && doc.status != status) || doc.priority < minPriority) continue;
+                total++;
+                top.add(position);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<TaskSearchHit> hits = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                int position = top.poll();
+                hits.add(slots.get(scores.slots[position]).toHit(Math.round(scores.totals[position] * 1000) / 1000.0));
+            }
+            Collections.reverse(hits);
+            return new TaskSearchResult(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The methods below are called with the lock held
+
+    private void collect(Postings postings, float factor, int live, Scores scores) {
+        // Postings still list removed slots until compaction, so df can run ahead of live
+        float df = postings.size;
+        float idf = (float) Math.log(1 + (Math.max(0, live - df) + 0.5f) / (df + 0.5f));
+        for (int i = 0; i < postings.size; i++) {
+            int slot = postings.slots[i];
+            if (slots.get(slot) == null) continue;
+            float weight = postings.weights[i];
+            scores.offer(slot, factor * idf * weight * (SATURATION + 1) / (weight + SATURATION));
+        }
+    }
+
+    private void add(Doc doc, String description) {
+        int slot = slots.size();
+        slots.add(doc);
+        slotsByTask.put(doc.id, slot);
+
+        Map<String, Float> weights = new HashMap<>();
+        addWords(weights, doc.title, TITLE_WEIGHT);
+        addWords(weights, description, DESCRIPTION_WEIGHT);
+        addWords(weights, doc.category, CATEGORY_WEIGHT);
+        addWords(weights, doc.createdBy, CREATED_BY_WEIGHT);
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), word -> new Postings()).add(slot, entry.getValue());
+        }
+    }
+
+    private static void addWords(Map<String, Float> weights, String text, float weight) {
+        for (String word : TrigramIndex.words(text)) {
+            weights.merge(word, weight, Float::sum);
+        }
+    }
+
+    private void removeSlot(int slot) {
+        slotsByTask.remove(slots.get(slot).id);
+        slots.set(slot, null);
+        removed++;
+    }
+
+    /**
+     * Renumber the live slots from zero and drop removed ones from every postings list
+     */
+    private void compact() {
+        int[] renumbered = new int[slots.size()];
+        List<Doc> kept = new ArrayList<>(slotsByTask.size());
+        for (int slot = 0; slot < slots.size(); slot++) {
+            Doc doc = slots.get(slot);
+            if (doc == null) {
+                renumbered[slot] = -1;
+            } else {
+                renumbered[slot] = kept.size();
+                slotsByTask.put(doc.id, kept.size());
+                kept.add(doc);
+            }
+        }
+        slots.clear();
+        slots.addAll(kept);
+        for (Iterator<Postings> it = terms.values().iterator(); it.hasNext(); ) {
+            Postings postings = it.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                it.remove();
+            }
+        }
+        removed = 0;
+    }
+
+    /**
+     * A task as indexed. The description itself is not kept, only enough to tell whether it changed
+     */
+    private static final class Doc {
+
+        private final Long id;
+        private final String title;
+        private final String category;
+        private final String createdBy;
+        private final TaskStatus status;
+        private final int priority;
+        private final LocalDate dueDate;
+        private final Long assignedStaffId;
+        private final int descriptionHash;
+        private final int descriptionLength;
+
+        private Doc(Long id, String title, String description, String category, String createdBy,
+                    TaskStatus status, int priority, LocalDate dueDate, Long assignedStaffId) {
+            this.id = id;
+            this.title = title;
+            this.category = category;
+            this.createdBy = createdBy;
+            this.status = status;
+            this.priority = priority;
+            this.dueDate = dueDate;
+            this.assignedStaffId = assignedStaffId;
+            this.descriptionHash = Objects.hashCode(description);
+            this.descriptionLength = description != null ? description.length() : -1;
+        }
+
+        private boolean sameText(Doc other) {
+            return Objects.equals(title, other.title) && Objects.equals(category, other.category)
+                    && Objects.equals(createdBy, other.createdBy) && descriptionHash == other.descriptionHash
+                    && descriptionLength == other.descriptionLength;
+        }
+
+        private TaskSearchHit toHit(double score) {
+            return new TaskSearchHit(id, title, category, status, priority, dueDate, assignedStaffId, score);
+        }
+    }
+
+    /**
+     * Slots in ascending order with each one's field-weighted word count
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[2];
+        private float[] weights = new float[2];
+        private int size;
+
+        private void add(int slot, float weight) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            slots[size] = slot;
+            weights[size] = weight;
+            size++;
+        }
+
+        private void renumber(int[] renumbered) {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int slot = renumbered[slots[i]];
+                if (slot >= 0) {
+                    slots[count] = slot;
+                    weights[count] = weights[i];
+                    count++;
+                }
+            }
+            size = count;
+        }
+    }
+
+    /**
+     * Per-query scores of the slots the query's postings reach, in an open-addressing table
+     * sized to those postings. A query word counts once per task, by its best match there
+     */
+    private static final class Scores {
+
+        private final int[] slots;
+        private final float[] totals;
+        private final float[] best;
+        private final int mask;
+        // Table positions holding a slot, and those the current word has scored
+        private final int[] used;
+        private int usedSize;
+        private final int[] scored;
+        private int scoredSize;
+
+        private Scores(int postingsSize) {
+            int capacity = Integer.highestOneBit(Math.max(2, postingsSize) * 2 - 1) * 2;
+            slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            totals = new float[capacity];
+            best = new float[capacity];
+            mask = capacity - 1;
+            used = new int[postingsSize];
+            scored = new int[postingsSize];
+        }
+
+        private void offer(int slot, float score) {
+            int position = (slot * 0x9E3779B9) >>> 1 & mask;
+            while (slots[position] != slot && slots[position] != -1) {
+                position = (position + 1) & mask;
+            }
+            if (slots[position] == -1) {
+                slots[position] = slot;
+                used[usedSize++] = position;
+            }
+            if (score > best[position]) {
+                if (best[position] == 0) {
+                    scored[scoredSize++] = position;
+                }
+                best[position] = score;
+            }
+        }
+
+        private void endWord() {
+            for (int i = 0; i < scoredSize; i++) {
+                int position = scored[i];
+                totals[position] += best[position];
+                best[position] = 0;
+            }
+            scoredSize = 0;
+        }
+    }
+}
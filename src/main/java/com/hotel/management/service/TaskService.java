@@ -1,17 +1,42 @@
 package com.hotel.management.service;
 
+import com.hotel.management.dto.BulkTaskResult;
+import com.hotel.management.dto.DispatchStatus;
+import com.hotel.management.dto.DueTask;
+import com.hotel.management.dto.TaskBoard;
+import com.hotel.management.dto.TaskCard;
+import com.hotel.management.dto.TaskSearchResult;
 import com.hotel.management.entity.Task;
 import com.hotel.management.entity.Staff;
 import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.TaskChangedEvent;
 import com.hotel.management.repository.TaskRepository;
 import com.hotel.management.repository.StaffRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service class for managing tasks
@@ -20,12 +45,57 @@ import java.util.Optional;
 @Transactional
 public class TaskService {
 
+    private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+
+    /** Most waiting tasks listed per role by the dispatch status endpoint */
+    public static final int MAX_DISPATCH_LIST = 100;
+
+    /** Most overdue tasks listed by the overdue endpoint */
+    public static final int MAX_OVERDUE_LIST = 500;
+
+    /** Most tasks shown per column of the task board */
+    public static final int MAX_BOARD_COLUMN = 200;
+
+    /** Most tasks returned by one full-text search */
+    public static final int MAX_SEARCH_RESULTS = 100;
+
+    /** IDs per IN list when loading tasks by ID */
+    private static final int ID_BATCH_SIZE = 1000;
+
     @Autowired
     private TaskRepository taskRepository;
 
     @Autowired
     private StaffRepository staffRepository;
 
+    @Autowired
+    private TaskDispatcher taskDispatcher;
+
+    @Autowired
+    private OverdueTaskTracker overdueTaskTracker;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hotel.tasks.bulk.max-tasks:1000}")
+    private int maxBulkTasks;
+
+    @Value("${hotel.tasks.max-write-attempts:3}")
+    private int maxWriteAttempts;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
     /**
      * Create a new task
      * @param task the task to create
@@ -52,7 +122,9 @@ public class TaskService {
                 task.setPriority(3); // Medium priority
             }
 
-            return taskRepository.save(task);
+            Task savedTask = taskRepository.save(task);
+            publishChange(savedTask, null, null);
+            return savedTask;
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -73,6 +145,44 @@ public class TaskService {
         }
     }
 
+    /**
+     * Get the task board: every status with its task count and most urgent tasks, read in one query
+     * @param limit the most tasks per column, capped at {@link #MAX_BOARD_COLUMN}
+     * @return one column per task status, in status order
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public TaskBoard getTaskBoard(int limit) {
+        try {
+            if (limit < 1 || limit > MAX_BOARD_COLUMN) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_BOARD_COLUMN);
+            }
+
+            Map<TaskStatus, List<TaskCard>> cards = new EnumMap<>(TaskStatus.class);
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (Object[] row : taskRepository.findBoardRows(limit)) {
+                TaskStatus status = (TaskStatus) row[5];
+                String staffName = row[6] != null ? row[7] + " " + row[8] : null;
+                cards.computeIfAbsent(status, s -> new ArrayList<>()).add(new TaskCard((Long) row[0],
+                        (String) row[1], (String) row[2], (Integer) row[3], (LocalDate) row[4], status,
+                        (Long) row[6], staffName));
+                counts.put(status, ((Number) row[9]).longValue());
+            }
+
+            List<TaskBoard.Column> columns = new ArrayList<>();
+            for (TaskStatus status : TaskStatus.values()) {
+                columns.add(new TaskBoard.Column(status, counts.getOrDefault(status, 0L),
+                        cards.getOrDefault(status, List.of())));
+            }
+            return new TaskBoard(limit, columns);
+
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to get task board: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Get task by ID
      * @param id the task ID
@@ -140,17 +250,51 @@ public class TaskService {
     }
 
     /**
-     * Get overdue tasks
+     * Get overdue tasks, most overdue first; the overdue set comes from the in-memory tracker
+     * and only those tasks are loaded, by ID
      * @return list of overdue tasks
      */
+    @Transactional(readOnly = true)
     public List<Task> getOverdueTasks() {
         try {
-            return taskRepository.findOverdueTasks(LocalDate.now());
+            List<Long> ids = overdueTaskTracker.getOverdueTasks(Integer.MAX_VALUE).stream()
+                    .map(DueTask::getId)
+                    .toList();
+            Map<Long, Task> tasks = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(ids.size(), from + ID_BATCH_SIZE));
+                for (Task task : taskRepository.findWithStaffByIdIn(batch)) {
+                    tasks.put(task.getId(), task);
+                }
+            }
+            return ids.stream().map(tasks::get).filter(Objects::nonNull).toList();
         } catch (Exception e) {
             throw new RuntimeException("Failed to get overdue tasks: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Get overdue tasks as tracked in memory, without reading the database
+     * @param limit the most tasks to return, capped at {@link #MAX_OVERDUE_LIST}
+     * @return the overdue tasks, most overdue first
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DueTask> getOverdueTaskSummaries(int limit) {
+        if (limit < 1 || limit > MAX_OVERDUE_LIST) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_OVERDUE_LIST);
+        }
+        return overdueTaskTracker.getOverdueTasks(limit);
+    }
+
+    /**
+     * Count overdue tasks from the in-memory tracker
+     * @return the number of overdue tasks
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long countOverdueTasks() {
+        return overdueTaskTracker.getOverdueCount();
+    }
+
     /**
      * Assign task to staff member
      * @param taskId the task ID
@@ -159,6 +303,7 @@ public class TaskService {
      * @throws IllegalArgumentException if task or staff not found
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task assignTaskToStaff(Long taskId, Long staffId) {
         try {
             if (taskId == null) {
@@ -169,28 +314,29 @@ public class TaskService {
                 throw new IllegalArgumentException("Staff ID cannot be null");
             }
 
-            // Find task
-            Optional<Task> taskOpt = taskRepository.findById(taskId);
-            if (taskOpt.isEmpty()) {
-                throw new IllegalArgumentException("Task with ID " + taskId + " not found");
-            }
+            return writeTask(taskId, () -> {
+                // Find task
+                Task task = findTask(taskId);
 
-            // Find staff
-            Optional<Staff> staffOpt = staffRepository.findById(staffId);
-            if (staffOpt.isEmpty()) {
-                throw new IllegalArgumentException("Staff with ID " + staffId + " not found");
-            }
+                // Find staff
+                Optional<Staff> staffOpt = staffRepository.findById(staffId);
+                if (staffOpt.isEmpty()) {
+                    throw new IllegalArgumentException("Staff with ID " + staffId + " not found");
+                }
 
-            Task task = taskOpt.get();
-            Staff staff = staffOpt.get();
+                Staff staff = staffOpt.get();
+                Long oldStaffId = staffId(task);
 
-            // Check if staff is active
-            if (!staff.getIsActive()) {
-                throw new IllegalArgumentException("Cannot assign task to inactive staff member");
-            }
+                // Check if staff is active
+                if (!staff.getIsActive()) {
+                    throw new IllegalArgumentException("Cannot assign task to inactive staff member");
+                }
 
-            task.setAssignedStaff(staff);
-            return taskRepository.save(task);
+                task.setAssignedStaff(staff);
+                Task savedTask = taskRepository.save(task);
+                publishChange(savedTask, savedTask.getStatus(), oldStaffId);
+                return savedTask;
+            });
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -207,6 +353,7 @@ public class TaskService {
      * @throws IllegalArgumentException if task not found
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task updateTaskStatus(Long taskId, TaskStatus status) {
         try {
             if (taskId == null) {
@@ -217,14 +364,14 @@ public class TaskService {
                 throw new IllegalArgumentException("Status cannot be null");
             }
 
-            Optional<Task> taskOpt = taskRepository.findById(taskId);
-            if (taskOpt.isEmpty()) {
-                throw new IllegalArgumentException("Task with ID " + taskId + " not found");
-            }
-
-            Task task = taskOpt.get();
-            task.setStatus(status);
-            return taskRepository.save(task);
+            return writeTask(taskId, () -> {
+                Task task = findTask(taskId);
+                TaskStatus oldStatus = task.getStatus();
+                task.setStatus(status);
+                Task savedTask = taskRepository.save(task);
+                publishChange(savedTask, oldStatus, staffId(savedTask));
+                return savedTask;
+            });
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -241,6 +388,7 @@ public class TaskService {
      * @throws IllegalArgumentException if task not found or validation fails
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Task updateTask(Long taskId, Task updatedTask) {
         try {
             if (taskId == null) {
@@ -251,34 +399,34 @@ public class TaskService {
                 throw new IllegalArgumentException("Updated task data cannot be null");
             }
 
-            Optional<Task> existingTaskOpt = taskRepository.findById(taskId);
-            if (existingTaskOpt.isEmpty()) {
-                throw new IllegalArgumentException("Task with ID " + taskId + " not found");
-            }
-
-            Task existingTask = existingTaskOpt.get();
-
-            // Update fields
-            if (updatedTask.getTitle() != null) {
-                existingTask.setTitle(updatedTask.getTitle());
-            }
-            if (updatedTask.getDescription() != null) {
-                existingTask.setDescription(updatedTask.getDescription());
-            }
-            if (updatedTask.getStatus() != null) {
-                existingTask.setStatus(updatedTask.getStatus());
-            }
-            if (updatedTask.getPriority() != null) {
-                existingTask.setPriority(updatedTask.getPriority());
-            }
-            if (updatedTask.getDueDate() != null) {
-                existingTask.setDueDate(updatedTask.getDueDate());
-            }
-            if (updatedTask.getCategory() != null) {
-                existingTask.setCategory(updatedTask.getCategory());
-            }
-
-            return taskRepository.save(existingTask);
+            return writeTask(taskId, () -> {
+                Task existingTask = findTask(taskId);
+                TaskStatus oldStatus = existingTask.getStatus();
+
+                // Update fields
+                if (updatedTask.getTitle() != null) {
+                    existingTask.setTitle(updatedTask.getTitle());
+                }
+                if (updatedTask.getDescription() != null) {
+                    existingTask.setDescription(updatedTask.getDescription());
+                }
+                if (updatedTask.getStatus() != null) {
+                    existingTask.setStatus(updatedTask.getStatus());
+                }
+                if (updatedTask.getPriority() != null) {
+                    existingTask.setPriority(updatedTask.getPriority());
+                }
+                if (updatedTask.getDueDate() != null) {
+                    existingTask.setDueDate(updatedTask.getDueDate());
+                }
+                if (updatedTask.getCategory() != null) {
+                    existingTask.setCategory(updatedTask.getCategory());
+                }
+
+                Task savedTask = taskRepository.save(existingTask);
+                publishChange(savedTask, oldStatus, staffId(savedTask));
+                return savedTask;
+            });
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -293,17 +441,19 @@ public class TaskService {
      * @throws IllegalArgumentException if task not found
      * @throws RuntimeException if an unexpected error occurs
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void deleteTask(Long taskId) {
         try {
             if (taskId == null) {
                 throw new IllegalArgumentException("Task ID cannot be null");
             }
 
-            if (!taskRepository.existsById(taskId)) {
-                throw new IllegalArgumentException("Task with ID " + taskId + " not found");
-            }
-
-            taskRepository.deleteById(taskId);
+            writeTask(taskId, () -> {
+                Task task = findTask(taskId);
+                taskRepository.delete(task);
+                eventPublisher.publishEvent(TaskChangedEvent.deleted(task));
+                return null;
+            });
 
         } catch (IllegalArgumentException e) {
             throw e; // Re-throw validation errors
@@ -328,6 +478,25 @@ public class TaskService {
         }
     }
 
+    /**
+     * Count tasks in every status with a single grouped query
+     * @return the number of tasks per status, zero for statuses without tasks
+     */
+    public Map<TaskStatus, Long> countTasksGroupedByStatus() {
+        try {
+            Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                counts.put(status, 0L);
+            }
+            for (Object[] row : taskRepository.countGroupedByStatus()) {
+                counts.put((TaskStatus) row[0], (Long) row[1]);
+            }
+            return counts;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to count tasks by status: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Count tasks assigned to staff
      * @param staffId the staff ID
@@ -350,6 +519,156 @@ public class TaskService {
         }
     }
 
+    /**
+     * Complete many tasks at once, in set-based updates within one transaction.
+     * Tasks already completed or cancelled are left as they are
+     * @param taskIds the task IDs
+     * @return the number of tasks completed and skipped, and the IDs completed
+     * @throws IllegalArgumentException if no IDs or too many are given, or a task is not found
+     * @throws RuntimeException if an unexpected error occurs
+     */
+    public BulkTaskResult completeTasks(List<Long> taskIds) {
+        try {
+            if (taskIds == null || taskIds.isEmpty()) {
+                throw new IllegalArgumentException("At least one task ID is required");
+            }
+            if (taskIds.stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException("Task ID cannot be null");
+            }
+
+            Set<Long> ids = new LinkedHashSet<>(taskIds);
+            checkBulkSize(ids.size());
+
+            List<Task> tasks = new ArrayList<>(ids.size());
+            List<Long> idList = new ArrayList<>(ids);
+            for (int from = 0; from < idList.size(); from += ID_BATCH_SIZE) {
+                tasks.addAll(taskRepository.findForUpdateByIdIn(
+                        idList.subList(from, Math.min(from + ID_BATCH_SIZE, idList.size()))));
+            }
+            if (tasks.size() < ids.size()) {
+                tasks.forEach(task -> ids.remove(task.getId()));
+                throw new IllegalArgumentException("Task with ID " + ids.iterator().next() + " not found");
+            }
+
+            List<Task> open = tasks.stream()
+                    .filter(task -> task.getStatus() != TaskStatus.COMPLETED && task.getStatus() != TaskStatus.CANCELLED)
+                    .toList();
+            List<Long> updated = updateStatuses(open, TaskStatus.COMPLETED);
+            return new BulkTaskResult(updated.size(), tasks.size() - updated.size(), updated);
+
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to complete tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hand every pending, in progress or on hold task of one staff member to another,
+     * in set-based updates within one transaction
+     * @param fromStaffId the staff member the tasks are assigned to now
+     * @param toStaffId the staff member to assign them to
+     * @return the number of tasks reassigned and their IDs
+     * @throws IllegalArgumentException if a staff member is not found, or the new one is inactive or the same,
+     *         or the staff member has more open tasks than one bulk operation may change
+     * @throws RuntimeException if an unexpected error occurs
+     */
+    public BulkTaskResult reassignOpenTasks(Long fromStaffId, Long toStaffId) {
+        try {
+            if (fromStaffId == null || toStaffId == null) {
+                throw new IllegalArgumentException("Staff ID cannot be null");
+            }
+
+            if (fromStaffId.equals(toStaffId)) {
+                throw new IllegalArgumentException("Cannot reassign tasks to the same staff member");
+            }
+
+            if (!staffRepository.existsById(fromStaffId)) {
+                throw new IllegalArgumentException("Staff with ID " + fromStaffId + " not found");
+            }
+
+            Optional<Staff> staffOpt = staffRepository.findById(toStaffId);
+            if (staffOpt.isEmpty()) {
+                throw new IllegalArgumentException("Staff with ID " + toStaffId + " not found");
+            }
+
+            Staff staff = staffOpt.get();
+            if (!staff.getIsActive()) {
+                throw new IllegalArgumentException("Cannot assign task to inactive staff member");
+            }
+
+            checkBulkSize(taskRepository.countByStaffAndStatusIn(fromStaffId, TaskDispatcher.OPEN_STATUSES));
+            List<Task> tasks = taskRepository.findForUpdateByStaffAndStatusIn(fromStaffId, TaskDispatcher.OPEN_STATUSES);
+            checkBulkSize(tasks.size());
+            List<Long> ids = tasks.stream().map(Task::getId).sorted().toList();
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+                taskRepository.assignByIdIn(ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size())), staff, now);
+            }
+            for (Task task : tasks) {
+                // Detached by the update; brought in line with its row for the event
+                task.setAssignedStaff(staff);
+                task.setUpdatedAt(now);
+                publishChange(task, task.getStatus(), fromStaffId);
+            }
+            return new BulkTaskResult(ids.size(), 0, ids);
+
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to reassign tasks: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Put every pending or in progress task of a category on hold, in set-based updates within one transaction
+     * @param category the task category
+     * @return the number of tasks put on hold and their IDs
+     * @throws IllegalArgumentException if the category is blank, or it has more such tasks than one bulk
+     *         operation may change
+     * @throws RuntimeException if an unexpected error occurs
+     */
+    public BulkTaskResult holdCategoryTasks(String category) {
+        try {
+            if (category == null || category.trim().isEmpty()) {
+                throw new IllegalArgumentException("Category cannot be empty");
+            }
+
+            List<TaskStatus> statuses = List.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+            checkBulkSize(taskRepository.countByCategoryAndStatusIn(category.trim(), statuses));
+            List<Task> tasks = taskRepository.findForUpdateByCategoryAndStatusIn(category.trim(), statuses);
+            checkBulkSize(tasks.size());
+            List<Long> updated = updateStatuses(tasks, TaskStatus.ON_HOLD);
+            return new BulkTaskResult(updated.size(), 0, updated);
+
+        } catch (IllegalArgumentException e) {
+            throw e; // Re-throw validation errors
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to put tasks on hold: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Search tasks by the words of their title, description, category and creator, best match first,
+     * from the in-memory search index
+     * @param query the words to look for
+     * @param status only tasks in this status, or null for any
+     * @param minPriority only tasks of at least this priority, or null for any
+     * @param limit the most tasks to return, capped at {@link #MAX_SEARCH_RESULTS}
+     * @return the best matches and the number of tasks matched, empty for a blank query
+     * @throws IllegalArgumentException if the limit or priority is out of range
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TaskSearchResult searchTasks(String query, TaskStatus status, Integer minPriority, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_RESULTS);
+        }
+        if (minPriority != null && (minPriority < 1 || minPriority > 5)) {
+            throw new IllegalArgumentException("Priority must be between 1 and 5");
+        }
+        return taskSearchIndex.search(query, status, minPriority != null ? minPriority : 1, limit);
+    }
+
     /**
      * Search tasks by title
      * @param searchTerm the search term
@@ -365,4 +684,83 @@ public class TaskService {
             throw new RuntimeException("Failed to search tasks by title: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Get the automatic dispatcher's waiting tasks and staff loads
+     * @param limit the most waiting tasks to list per staff role
+     * @return the dispatcher's state
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public DispatchStatus getDispatchStatus(int limit) {
+        if (limit < 1 || limit > MAX_DISPATCH_LIST) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_DISPATCH_LIST);
+        }
+        return taskDispatcher.getStatus(limit);
+    }
+
+    /**
+     * Refuse a bulk operation over more tasks than {@code hotel.tasks.bulk.max-tasks}
+     */
+    private void checkBulkSize(long tasks) {
+        if (tasks > maxBulkTasks) {
+            throw new IllegalArgumentException("Cannot update more than " + maxBulkTasks + " tasks at once");
+        }
+    }
+
+    /**
+     * Set the status of locked tasks with one UPDATE per ID batch and publish a change for each
+     * @return the IDs updated, ascending
+     */
+    private List<Long> updateStatuses(List<Task> tasks, TaskStatus status) {
+        List<Long> ids = tasks.stream().map(Task::getId).sorted().toList();
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < ids.size(); from += ID_BATCH_SIZE) {
+            taskRepository.updateStatusByIdIn(ids.subList(from, Math.min(from + ID_BATCH_SIZE, ids.size())), status, now);
+        }
+        for (Task task : tasks) {
+            // Detached by the update; brought in line with its row for the event
+            TaskStatus oldStatus = task.getStatus();
+            task.setStatus(status);
+            task.setUpdatedAt(now);
+            publishChange(task, oldStatus, staffId(task));
+        }
+        return ids;
+    }
+
+    /**
+     * Publish a task change for the dispatcher, overdue tracker and search index
+     */
+    /**
+     * Run a write that loads a task and saves it whole, in its own transaction. The save checks the
+     * task's version, so a copy loaded before a concurrent write (e.g. a dispatcher claim or a bulk
+     * reassignment) fails rather than putting the old values back; the work is then run again on a
+     * fresh copy, up to {@code hotel.tasks.max-write-attempts} times
+     * @throws OptimisticLockingFailureException if every attempt lost to a concurrent writer
+     */
+    private <T> T writeTask(Long taskId, Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxWriteAttempts) {
+                    throw e;
+                }
+                logger.debug("Concurrent update of task {} (attempt {} of {}), retrying",
+                        taskId, attempt, maxWriteAttempts);
+            }
+        }
+    }
+
+    private Task findTask(Long taskId) {
+        return taskRepository.findById(taskId)
+                .orElseThrow(() -> new IllegalArgumentException("Task with ID " + taskId + " not found"));
+    }
+
+    private void publishChange(Task task, TaskStatus oldStatus, Long oldStaffId) {
+        eventPublisher.publishEvent(TaskChangedEvent.changed(task, oldStatus, oldStaffId));
+    }
+
+    private static Long staffId(Task task) {
+        return task.getAssignedStaff() != null ? task.getAssignedStaff().getId() : null;
+    }
 }
@@ -0,0 +1,396 @@
+package com.hotel.management.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory typeahead index over short texts such as names and phone numbers.
+ *
+ * Texts are split into words, lower-cased and stripped of accents; digits separated by
+ * punctuation are joined, so "555-010-1234" is one word. A query word matches an entry
+ * word it equals or starts, or from three characters on, one it occurs anywhere in.
+ *
+ * Entries are numbered, and each trigram of their words keeps the sorted numbers of the
+ * entries containing it, so the candidates for query words of three or more characters
+ * are the intersection of a few int arrays. Shorter query words go through a sorted word
+ * list. Every candidate is checked against its words, so trigram collisions never reach
+ * the results. Matches rank exact words over prefixes over infixes, then by weight, then
+ * in the order they were added, so bulk loads should put entries in display order.
+ *
+ * A search touches every entry matching its candidate trigrams, so it takes well under a
+ * millisecond for a selective query and grows with the number of entries a broad one matches.
+ *
+ * @param <K> the entry key
+ * @param <V> the value returned for a match
+ */
+public class TrigramIndex<K, V> {
+
+    private static final int GRAM = 3;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern DIGIT_SEPARATORS = Pattern.compile("(?<=\\d)[\\s\\-.()/]+(?=\\d)");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+
+    /** Worst match first: lowest score, then lowest weight, then the entry added last */
+    private static final Comparator<Scored<?>> RANKING = Comparator.<Scored<?>>comparingInt(s -> s.score)
+            .thenComparingLong(s -> s.weight)
+            .thenComparing(Comparator.<Scored<?>>comparingInt(s -> s.slot).reversed());
+
+    /** Removed entries tolerated before the postings are rebuilt without them */
+    private static final int MIN_COMPACTION = 1024;
+
+    private final Map<K, Integer> slotsByKey = new HashMap<>();
+    private final List<Entry<K, V>> slots = new ArrayList<>();
+    private final Map<String, Postings> trigrams = new HashMap<>();
+    private final NavigableMap<String, Postings> words = new TreeMap<>();
+    private int removedSlots;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add an entry, replacing any entry with the same key
+     * @param key the entry key
+     * @param value the value returned when the entry matches
+     * @param weight ranks the entry among equally good matches, higher first
+     * @param texts the texts the entry is found by
+     */
+    public void put(K key, V value, long weight, String... texts) {
+        TreeSet<String> entryWords = new TreeSet<>();
+        for (String text : texts) {
+            entryWords.addAll(words(text));
+        }
+        String[] newWords = entryWords.toArray(new String[0]);
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByKey.get(key);
+            if (slot != null && Arrays.equals(slots.get(slot).words, newWords)) {
+                // Only the value or weight changed, the postings still hold
+                slots.set(slot, new Entry<>(key, value, weight, slots.get(slot).words));
+                return;
+            }
+            removeLocked(key);
+            // Names repeat a lot, so entries share the word instances already indexed
+            for (int i = 0; i < newWords.length; i++) {
+                String known = words.ceilingKey(newWords[i]);
+                if (newWords[i].equals(known)) newWords[i] = known;
+            }
+            addLocked(new Entry<>(key, value, weight, newWords));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entry
+     * @param key the entry key
+     */
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsByKey.clear();
+            slots.clear();
+            trigrams.clear();
+            words.clear();
+            removedSlots = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Get the value of an entry
+     * @param key the entry key
+     * @return the value, or null if there is no entry with the key
+     */
+    public V get(K key) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsByKey.get(key);
+            return slot == null ? null : slots.get(slot).value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find the entries matching every word of the query, best first
+     * @param query the text typed so far
+     * @param limit the most matches to return
+     * @return the values of the best matches
+     */
+    public List<V> search(String query, int limit) {
+        List<String> queryWords = words(query);
+        if (queryWords.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // Keep the best matches in a bounded heap whose head is the worst of them
+        PriorityQueue<Scored<V>> best = new PriorityQueue<>(limit + 1, RANKING);
+
+        lock.readLock().lock();
+        try {
+            for (int slot : candidates(queryWords)) {
+                Entry<K, V> entry = slots.get(slot);
+                if (entry == null) continue;
+                int score = score(entry, queryWords);
+                if (score == 0) continue;
+                if (best.size() == limit && !better(score, entry.weight, slot, best.peek())) continue;
+                best.add(new Scored<>(entry.value, score, entry.weight, slot));
+                if (best.size() > limit) best.poll();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<V> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().value);
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * Slots that may match every query word: those holding every trigram of the longer
+     * words, or when all words are short, those with a word starting with the longest one
+     */
+    private int[] candidates(List<String> queryWords) {
+        List<Postings> required = new ArrayList<>();
+        String longestShortWord = "";
+        for (String word : queryWords) {
+            if (word.length() < GRAM) {
+                if (word.length() > longestShortWord.length()) longestShortWord = word;
+                continue;
+            }
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                Postings postings = trigrams.get(word.substring(i, i + GRAM));
+                if (postings == null) return new int[0];
+                required.add(postings);
+            }
+        }
+        if (!required.isEmpty()) {
+            // Start from the rarest trigram, so common ones are only probed
+            required.sort(Comparator.comparingInt(postings -> postings.size));
+            int[] candidates = required.get(0).toArray();
+            for (int i = 1; i < required.size() && candidates.length > 0; i++) {
+                candidates = required.get(i).intersect(candidates);
+            }
+            return candidates;
+        }
+        Postings prefixed = new Postings();
+        for (Postings postings : words.subMap(longestShortWord, true, longestShortWord + Character.MAX_VALUE, false).values()) {
+            prefixed.addAll(postings);
+        }
+        // An entry with several words under the prefix is listed once per word
+        return Arrays.stream(prefixed.toArray()).sorted().distinct().toArray();
+    }
+
+    /**
+     * Whether a match ranks above the worst one kept so far
+     */
+    private static boolean better(int score, long weight, int slot, Scored<?> worst) {
+        if (score != worst.score) return score > worst.score;
+        if (weight != worst.weight) return weight > worst.weight;
+        return slot < worst.slot;
+    }
+
+    /**
+     * The sum of the best match of each query word, or 0 if one of them does not match
+     */
+    private static int score(Entry<?, ?> entry, List<String> queryWords) {
+        int total = 0;
+        for (String queryWord : queryWords) {
+            int best = 0;
+            for (String word : entry.words) {
+                if (word.equals(queryWord)) {
+                    best = EXACT;
+                    break;
+                } else if (word.startsWith(queryWord)) {
+                    best = PREFIX;
+                } else if (best == 0 && queryWord.length() >= GRAM && word.contains(queryWord)) {
+                    best = INFIX;
+                }
+            }
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    private void addLocked(Entry<K, V> entry) {
+        int slot = slots.size();
+        slots.add(entry);
+        slotsByKey.put(entry.key, slot);
+        for (String word : entry.words) {
+            words.computeIfAbsent(word, w -> new Postings()).add(slot);
+            for (int i = 0; i + GRAM <= word.length(); i++) {
+                trigrams.computeIfAbsent(word.substring(i, i + GRAM), g -> new Postings()).add(slot);
+            }
+        }
+    }
+
+    /**
+     * Empty the key's slot. Its postings are left behind until half the slots are empty,
+     * then all postings are rebuilt from the live entries.
+     */
+    private void removeLocked(K key) {
+        Integer slot = slotsByKey.remove(key);
+        if (slot == null) return;
+        slots.set(slot, null);
+        removedSlots++;
+        if (removedSlots >= MIN_COMPACTION && removedSlots * 2 > slots.size()) {
+            List<Entry<K, V>> live = slots.stream().filter(Objects::nonNull).toList();
+            slotsByKey.clear();
+            slots.clear();
+            trigrams.clear();
+            words.clear();
+            removedSlots = 0;
+            live.forEach(this::addLocked);
+        }
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String normalized = isAscii(text) ? text
+                : DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        normalized = DIGIT_SEPARATORS.matcher(normalized.toLowerCase()).replaceAll("");
+        List<String> result = new ArrayList<>();
+        for (String word : NON_WORD.split(normalized)) {
+            if (!word.isEmpty()) result.add(word);
+        }
+        return result;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 127) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Slot numbers in ascending order. Slots are handed out in ascending order, so adding
+     * one only appends.
+     */
+    private static final class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        private void add(int slot) {
+            // A word repeating a trigram, e.g. "aaaa", adds its slot twice in a row
+            if (size > 0 && slots[size - 1] == slot) return;
+            if (size == slots.length) slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+
+        private void addAll(Postings other) {
+            if (size + other.size > slots.length) slots = Arrays.copyOf(slots, Math.max(size * 2, size + other.size));
+            System.arraycopy(other.slots, 0, slots, size, other.size);
+            size += other.size;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+
+        /**
+         * The slots of a sorted array that are also in these postings. A much shorter array
+         * is looked up slot by slot instead of merged.
+         */
+        private int[] intersect(int[] sorted) {
+            int[] result = new int[Math.min(size, sorted.length)];
+            int count = 0;
+            if (sorted.length * 32L < size) {
+                int from = 0;
+                for (int slot : sorted) {
+                    int found = Arrays.binarySearch(slots, from, size, slot);
+                    if (found >= 0) {
+                        result[count++] = slot;
+                        from = found + 1;
+                    } else {
+                        from = -found - 1;
+                    }
+                }
+                return Arrays.copyOf(result, count);
+            }
+            for (int i = 0, j = 0; i < size && j < sorted.length; ) {
+                if (slots[i] < sorted[j]) {
+                    i++;
+                } else if (slots[i] > sorted[j]) {
+                    j++;
+                } else {
+                    result[count++] = slots[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+
+    private static final class Entry<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long weight;
+        /** Sorted, so a put with unchanged words is recognized */
+        private final String[] words;
+
+        private Entry(K key, V value, long weight, String[] words) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.words = words;
+        }
+    }
+
+    private static final class Scored<V> {
+
+        private final V value;
+        private final int score;
+        private final long weight;
+        private final int slot;
+
+        private Scored(V value, int score, long weight, int slot) {
+            this.value = value;
+            this.score = score;
+            this.weight = weight;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hotel.management.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks shared out by key hash.
+ *
+ * Writers for the same key always get the same lock, while unrelated keys
+ * usually land on different stripes and do not wait for each other.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes the minimum number of stripes, rounded up to a power of two
+     */
+    public StripedLock(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = this.stripes.length - 1;
+    }
+
+    /**
+     * Get the lock guarding a key
+     * @param key the key
+     * @return the stripe for the key
+     */
+    public ReentrantLock lockFor(Object key) {
+        int h = key != null ? key.hashCode() : 0;
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    /**
+     * Get the number of stripes
+     * @return the stripe count
+     */
+    public int size() {
+        return stripes.length;
+    }
+}
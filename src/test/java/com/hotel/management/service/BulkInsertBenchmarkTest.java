@@ -0,0 +1,88 @@
+package com.hotel.management.service;
+
+import com.hotel.management.entity.InventoryItem;
+import com.hotel.management.entity.InventoryTransaction;
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.repository.InventoryItemRepository;
+import com.hotel.management.repository.InventoryTransactionRepository;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.TableRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Bulk insert throughput through Spring Data saveAll, as used by import jobs and DataLoader.
+ * Run with {@code mvn test -Dtest=BulkInsertBenchmarkTest -Dbenchmarks=true}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int ROUNDS = 6;
+
+    @Autowired
+    private InventoryItemRepository itemRepository;
+
+    @Autowired
+    private InventoryTransactionRepository transactionRepository;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void inventoryTransactions() {
+        InventoryItem item = itemRepository.save(new InventoryItem("Benchmark Rice", "Dry Goods", "kg", 0, 0));
+        report("InventoryTransaction", i -> new InventoryTransaction(
+                item, InventoryTransaction.Type.IN, 1 + i % 10, "benchmark", "bench"), transactionRepository::saveAll);
+    }
+
+    @Test
+    void reservations() {
+        RestaurantTable table = tableRepository.save(new RestaurantTable("BENCH-1", 4));
+        LocalDateTime start = LocalDateTime.now().plusYears(1);
+        report("Reservation", i -> new Reservation("Benchmark Guest", "555-010-0000", table,
+                start.plusMinutes(i), 2, ReservationStatus.CONFIRMED), reservationRepository::saveAll);
+    }
+
+    private <T> void report(String entity, IntFunction<T> factory, Consumer<List<T>> saveAll) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        double[] rates = new double[ROUNDS - 1];
+        for (int round = 0; round < ROUNDS; round++) {
+            List<T> rows = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                rows.add(factory.apply(i));
+            }
+            long started = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> saveAll.accept(rows));
+            double seconds = (System.nanoTime() - started) / 1e9;
+            if (round > 0) { // the first round warms up
+                rates[round - 1] = ROWS / seconds;
+            }
+        }
+        Arrays.sort(rates);
+        System.out.printf("Bulk insert %s: %d rows x %d rounds, median %.0f rows/s, best %.0f rows/s%n",
+                entity, ROWS, ROUNDS - 1, rates[rates.length / 2], rates[rates.length - 1]);
+    }
+}
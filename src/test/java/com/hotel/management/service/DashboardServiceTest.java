@@ -0,0 +1,196 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DashboardSummary;
+import com.hotel.management.dto.RatingSummary;
+import com.hotel.management.enums.TableStatus;
+import com.hotel.management.event.TableStatusChangedEvent;
+import com.hotel.management.repository.RatingRepository;
+import com.hotel.management.repository.ReservationRepository;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TableRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dashboard snapshot reloads racing table status writes, with the transaction commit driven by hand
+ */
+class DashboardServiceTest {
+
+    private final TableRepository tableRepository = mock(TableRepository.class);
+    private final Map<TableStatus, Long> committed = new EnumMap<>(TableStatus.class);
+    private final DashboardService dashboardService = new DashboardService();
+
+    /** Runs inside the table count query, to put a write in the middle of a reload */
+    private Runnable duringReload = () -> { };
+
+    @BeforeEach
+    void setUp() {
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        StaffRepository staffRepository = mock(StaffRepository.class);
+        RatingAggregateService ratingAggregateService = mock(RatingAggregateService.class);
+        when(tableRepository.countGroupedByStatus()).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            committed.forEach((status, count) -> rows.add(new Object[] {status, count}));
+            Runnable write = duringReload;
+            duringReload = () -> { };
+            write.run();
+            return rows;
+        });
+        when(reservationRepository.countByReservationTimeGreaterThanEqualAndReservationTimeLessThan(any(), any()))
+                .thenReturn(0L);
+        when(staffRepository.countByIsActive(anyBoolean())).thenReturn(0L);
+        when(ratingAggregateService.getSummary()).thenReturn(new RatingSummary());
+
+        ReflectionTestUtils.setField(dashboardService, "tableRepository", tableRepository);
+        ReflectionTestUtils.setField(dashboardService, "reservationRepository", reservationRepository);
+        ReflectionTestUtils.setField(dashboardService, "staffRepository", staffRepository);
+        ReflectionTestUtils.setField(dashboardService, "ratingRepository", mock(RatingRepository.class));
+        ReflectionTestUtils.setField(dashboardService, "ratingAggregateService", ratingAggregateService);
+        ReflectionTestUtils.setField(dashboardService, "maxAgeSeconds", 300L);
+
+        committed.put(TableStatus.AVAILABLE, 5L);
+        committed.put(TableStatus.OCCUPIED, 0L);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void writeCommittedBeforeReloadButAppliedAfterIsCountedOnce() {
+        assertTables(5, 0);
+
+        expire();
+        List<TransactionSynchronization> transaction = occupyTable();
+        assertTables(4, 1);
+        afterCommit(transaction);
+
+        assertTables(4, 1);
+    }
+
+    @Test
+    void writeStartedDuringReloadIsCountedOnce() {
+        assertTables(5, 0);
+
+        expire();
+        List<List<TransactionSynchronization>> transaction = new ArrayList<>();
+        duringReload = () -> transaction.add(occupyTable());
+        // The reload read the counts before the write committed
+        assertTables(5, 0);
+        afterCommit(transaction.get(0));
+
+        assertTables(4, 1);
+    }
+
+    @Test
+    void quietReloadIsCachedAndLaterWritesAreApplied() {
+        assertTables(5, 0);
+        assertTables(5, 0);
+        verify(tableRepository, times(1)).countGroupedByStatus();
+
+        List<TransactionSynchronization> transaction = occupyTable();
+        afterCommit(transaction);
+
+        assertTables(4, 1);
+        verify(tableRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void rolledBackWriteIsNotAppliedAndStopsBlockingCaching() {
+        assertTables(5, 0);
+
+        List<TransactionSynchronization> transaction = beginOccupyTable();
+        transaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        dashboardService.invalidate();
+
+        assertTables(5, 0);
+        assertTables(5, 0);
+        verify(tableRepository, times(2)).countGroupedByStatus();
+    }
+
+    @Test
+    void tableCountLoadsASnapshotOnlyWhenNoneIsLoaded() {
+        assertEquals(5.0, dashboardService.getTableCount(TableStatus.AVAILABLE));
+        afterCommit(occupyTable());
+
+        assertEquals(4.0, dashboardService.getTableCount(TableStatus.AVAILABLE));
+        assertEquals(1.0, dashboardService.getTableCount(TableStatus.OCCUPIED));
+        assertTables(4, 1);
+        verify(tableRepository, times(1)).countGroupedByStatus();
+    }
+
+    @Test
+    void startupAndInvalidationLoadTheSnapshot() {
+        dashboardService.load();
+        verify(tableRepository, times(1)).countGroupedByStatus();
+
+        // A bulk load writes rows without publishing events
+        committed.put(TableStatus.AVAILABLE, 7L);
+        dashboardService.invalidate();
+        verify(tableRepository, times(2)).countGroupedByStatus();
+
+        assertEquals(7.0, dashboardService.getTableCount(TableStatus.AVAILABLE));
+        assertTables(7, 0);
+        verify(tableRepository, times(2)).countGroupedByStatus();
+    }
+
+    /**
+     * Drop the snapshot as if it had aged out, so the next reader reloads it
+     */
+    private void expire() {
+        ((AtomicReference<?>) ReflectionTestUtils.getField(dashboardService, "snapshot")).set(null);
+    }
+
+    /**
+     * Publish a table change in a transaction and commit its row, leaving the after-commit callbacks to the caller
+     */
+    private List<TransactionSynchronization> occupyTable() {
+        List<TransactionSynchronization> transaction = beginOccupyTable();
+        committed.merge(TableStatus.AVAILABLE, -1L, Long::sum);
+        committed.merge(TableStatus.OCCUPIED, 1L, Long::sum);
+        return transaction;
+    }
+
+    private List<TransactionSynchronization> beginOccupyTable() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dashboardService.onTableStatusChanged(
+                    new TableStatusChangedEvent(1L, "T1", TableStatus.AVAILABLE, TableStatus.OCCUPIED));
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void afterCommit(List<TransactionSynchronization> transaction) {
+        transaction.forEach(TransactionSynchronization::afterCommit);
+        transaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private void assertTables(long available, long occupied) {
+        DashboardSummary summary = dashboardService.getSummary();
+        assertEquals(available, summary.getAvailableTablesCount());
+        assertEquals(occupied, summary.getOccupiedTablesCount());
+    }
+}
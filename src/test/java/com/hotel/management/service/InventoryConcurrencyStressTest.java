@@ -0,0 +1,127 @@
+package com.hotel.management.service;
+
+import com.hotel.management.entity.InventoryItem;
+import com.hotel.management.entity.InventoryTransaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers single inventory items with concurrent stock movements and checks
+ * that no update is lost and stock never goes negative.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class InventoryConcurrencyStressTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Test
+    void concurrentMovementsAreNotLost() throws Exception {
+        int initial = 1000;
+        int movements = 4000;
+        InventoryItem item = inventoryService.createItem(
+                new InventoryItem("Stress Flour", "Dry Goods", "kg", initial, 10));
+
+        AtomicLong added = new AtomicLong();
+        AtomicLong removed = new AtomicLong();
+        AtomicInteger recorded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger next = new AtomicInteger();
+
+        double seconds = run(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (next.getAndIncrement() < movements) {
+                int amount = 1 + random.nextInt(5);
+                boolean out = random.nextInt(10) < 7;
+                try {
+                    inventoryService.recordTransaction(item.getId(),
+                            out ? InventoryTransaction.Type.OUT : InventoryTransaction.Type.IN,
+                            amount, "stress", "test");
+                    (out ? removed : added).addAndGet(amount);
+                    recorded.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    rejected.incrementAndGet();
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }
+        });
+
+        System.out.printf("Inventory stress: %d movements by %d threads in %.2fs (%.0f/s), %d recorded, %d rejected%n",
+                movements, THREADS, seconds, movements / seconds, recorded.get(), rejected.get());
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures.peek());
+        int quantity = inventoryService.getItemById(item.getId()).orElseThrow().getQuantity();
+        assertEquals(initial + added.get() - removed.get(), quantity);
+        assertTrue(quantity >= 0);
+        assertEquals(recorded.get(), inventoryService.getItemTransactions(item.getId()).size());
+    }
+
+    @Test
+    void scarceStockIsNeverOversold() throws Exception {
+        int initial = 500;
+        InventoryItem item = inventoryService.createItem(
+                new InventoryItem("Stress Truffle", "Produce", "pcs", initial, 0));
+
+        AtomicInteger sold = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        run(() -> {
+            while (true) {
+                try {
+                    inventoryService.recordTransaction(item.getId(), InventoryTransaction.Type.OUT, 1, "stress", "test");
+                    sold.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    return; // sold out
+                } catch (Throwable e) {
+                    failures.add(e);
+                    return;
+                }
+            }
+        });
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures.peek());
+        assertEquals(initial, sold.get());
+        assertEquals(0, inventoryService.getItemById(item.getId()).orElseThrow().getQuantity());
+    }
+
+    /**
+     * Run the same work on every thread at once
+     * @return the elapsed time in seconds
+     */
+    private double run(Runnable work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                work.run();
+                return null;
+            });
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "Stress run did not finish");
+        return (System.nanoTime() - started) / 1e9;
+    }
+}
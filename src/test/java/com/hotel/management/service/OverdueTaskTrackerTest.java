@@ -0,0 +1,168 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DueTask;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.event.TaskOverdueEvent;
+import com.hotel.management.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Overdue tracking across midnight, with the date moved by swapping the tracker's clock
+ */
+class OverdueTaskTrackerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final List<DueTask> rows = new ArrayList<>();
+    private final List<Long> announced = new ArrayList<>();
+    private final OverdueTaskTracker tracker = new OverdueTaskTracker();
+
+    @BeforeEach
+    void setUp() {
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> announced.add(((TaskOverdueEvent) invocation.getArgument(0)).getTask().getId()))
+                .when(eventPublisher).publishEvent(any(Object.class));
+        when(taskRepository.findDueTasks()).thenReturn(rows);
+        ReflectionTestUtils.setField(tracker, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(tracker, "eventPublisher", eventPublisher);
+        setToday(TODAY);
+        tracker.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracker.stop();
+    }
+
+    @Test
+    void rebuildCountsOverdueTasksWithoutAnnouncingThem() {
+        rows.add(task(1L, TODAY.minusDays(2), 3));
+        rows.add(task(2L, TODAY.minusDays(1), 3));
+        rows.add(task(3L, TODAY, 3));
+        tracker.rebuild();
+
+        assertEquals(2, tracker.getOverdueCount());
+        assertEquals(List.of(1L, 2L), ids(tracker.getOverdueTasks(10)));
+        assertTrue(announced.isEmpty());
+    }
+
+    @Test
+    void catchUpAnnouncesEachCrossedTaskOnce() {
+        rows.add(task(1L, TODAY.minusDays(1), 3));
+        rows.add(task(2L, TODAY, 3));
+        rows.add(task(3L, TODAY, 5));
+        rows.add(task(4L, TODAY.plusDays(1), 3));
+        tracker.rebuild();
+        assertEquals(1, tracker.getOverdueCount());
+
+        setToday(TODAY.plusDays(1));
+        assertEquals(3, tracker.getOverdueCount());
+        assertEquals(List.of(2L, 3L), sorted(announced));
+        // Reads after the crossing do not announce again
+        assertEquals(List.of(1L, 3L, 2L), ids(tracker.getOverdueTasks(10)));
+        assertEquals(3, tracker.getOverdueCount());
+        assertEquals(2, announced.size());
+
+        // Skipping a day crosses the task due tomorrow, once, through the midnight scan
+        setToday(TODAY.plusDays(3));
+        ReflectionTestUtils.invokeMethod(tracker, "scan");
+        assertEquals(List.of(2L, 3L, 4L), sorted(announced));
+        assertEquals(4, tracker.getOverdueCount());
+        assertEquals(3, announced.size());
+    }
+
+    @Test
+    void taskChangedAnnouncesATaskThatIsAlreadyOverdue() {
+        tracker.rebuild();
+
+        tracker.onTaskChanged(changed(1L, TODAY.minusDays(1), TaskStatus.PENDING));
+        assertEquals(List.of(1L), announced);
+        assertEquals(1, tracker.getOverdueCount());
+
+        // Still overdue after another change: not announced again
+        tracker.onTaskChanged(changed(1L, TODAY.minusDays(3), TaskStatus.IN_PROGRESS));
+        assertEquals(List.of(1L), announced);
+        assertEquals(1, tracker.getOverdueCount());
+
+        // Moved back to the future and then into the past again: a new announcement
+        tracker.onTaskChanged(changed(1L, TODAY.plusDays(1), TaskStatus.IN_PROGRESS));
+        assertEquals(0, tracker.getOverdueCount());
+        tracker.onTaskChanged(changed(1L, TODAY.minusDays(1), TaskStatus.IN_PROGRESS));
+        assertEquals(List.of(1L, 1L), announced);
+
+        tracker.onTaskChanged(changed(2L, TODAY, TaskStatus.PENDING));
+        assertEquals(List.of(1L, 1L), announced);
+        assertEquals(1, tracker.getOverdueCount());
+    }
+
+    @Test
+    void countStaysConsistentWhenTheCutoffMovesBeforeAChange() {
+        rows.add(task(1L, TODAY, 3));
+        rows.add(task(2L, TODAY, 3));
+        rows.add(task(3L, TODAY.minusDays(1), 3));
+        tracker.rebuild();
+        assertEquals(1, tracker.getOverdueCount());
+
+        // Midnight passes with no read or scan; the next change moves the cutoff first
+        setToday(TODAY.plusDays(1));
+        tracker.onTaskChanged(changed(1L, TODAY, TaskStatus.COMPLETED));
+        assertEquals(List.of(1L, 2L), sorted(announced));
+        assertEquals(2, tracker.getOverdueCount());
+
+        tracker.onTaskChanged(changed(2L, TODAY.plusDays(5), TaskStatus.IN_PROGRESS));
+        assertEquals(1, tracker.getOverdueCount());
+        tracker.onTaskChanged(deleted(3L));
+        assertEquals(0, tracker.getOverdueCount());
+        assertTrue(tracker.getOverdueTasks(10).isEmpty());
+
+        setToday(TODAY.plusDays(6));
+        assertEquals(1, tracker.getOverdueCount());
+        assertEquals(List.of(1L, 2L, 2L), sorted(announced));
+    }
+
+    private void setToday(LocalDate today) {
+        ReflectionTestUtils.setField(tracker, "clock",
+                Clock.fixed(today.atTime(12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    private static DueTask task(Long id, LocalDate dueDate, int priority) {
+        return new DueTask(id, "Task " + id, "Maintenance", priority, dueDate, TaskStatus.PENDING, null);
+    }
+
+    private static TaskChangedEvent changed(Long id, LocalDate dueDate, TaskStatus status) {
+        return new TaskChangedEvent(id, "Task " + id, null, "Maintenance", "manager", 3, dueDate,
+                LocalDateTime.of(2026, 1, 1, 8, 0), TaskStatus.PENDING, status, null, null);
+    }
+
+    private static TaskChangedEvent deleted(Long id) {
+        return new TaskChangedEvent(id, null, null, null, null, 3, null, null, TaskStatus.PENDING, null, null, null);
+    }
+
+    private static List<Long> ids(List<DueTask> tasks) {
+        return tasks.stream().map(DueTask::getId).toList();
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
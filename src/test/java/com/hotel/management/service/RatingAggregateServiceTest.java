@@ -0,0 +1,222 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.RatingWindow;
+import com.hotel.management.entity.RatingAggregate;
+import com.hotel.management.entity.RatingDailyAggregate;
+import com.hotel.management.enums.RatingStatus;
+import com.hotel.management.repository.RatingAggregateRepository;
+import com.hotel.management.repository.RatingDailyAggregateRepository;
+import com.hotel.management.repository.RatingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Rating aggregate bookkeeping and rolling windows against in-memory stand-ins for the
+ * aggregate tables, with today fixed by the service's clock
+ */
+class RatingAggregateServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+
+    private final RatingAggregateRepository aggregateRepository = mock(RatingAggregateRepository.class);
+    private final RatingDailyAggregateRepository dailyAggregateRepository = mock(RatingDailyAggregateRepository.class);
+    private final RatingRepository ratingRepository = mock(RatingRepository.class);
+    private final Map<String, Long> counts = new HashMap<>();
+    private final Map<String, Long> dailyCounts = new HashMap<>();
+    private final RatingAggregateService service = new RatingAggregateService();
+
+    @BeforeEach
+    void setUp() {
+        // Updates only rows that exist, like the UPDATE statement
+        when(aggregateRepository.addToCount(any(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            String key = key(invocation.getArgument(0), invocation.getArgument(1));
+            if (!counts.containsKey(key)) {
+                return 0;
+            }
+            counts.merge(key, invocation.<Long>getArgument(2), Long::sum);
+            return 1;
+        });
+        when(aggregateRepository.save(any())).thenAnswer(invocation -> {
+            RatingAggregate aggregate = invocation.getArgument(0);
+            counts.put(key(aggregate.getStatus(), aggregate.getStars()), aggregate.getRatingCount());
+            return aggregate;
+        });
+        when(dailyAggregateRepository.addToCount(any(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            dailyCounts.merge(invocation.getArgument(0) + ":" + invocation.getArgument(1),
+                    invocation.<Long>getArgument(2), Long::sum);
+            return 1;
+        });
+
+        ReflectionTestUtils.setField(service, "aggregateRepository", aggregateRepository);
+        ReflectionTestUtils.setField(service, "dailyAggregateRepository", dailyAggregateRepository);
+        ReflectionTestUtils.setField(service, "ratingRepository", ratingRepository);
+        ReflectionTestUtils.setField(service, "clock",
+                Clock.fixed(TODAY.atTime(18, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void recordMovesARatingThroughModeration() {
+        LocalDateTime date = TODAY.minusDays(2).atTime(20, 0);
+
+        service.record(null, RatingStatus.PENDING, 4, date);
+        assertEquals(1L, counts.get(key(RatingStatus.PENDING, 4)));
+        assertEquals(Map.of(), dailyCounts);
+
+        service.record(RatingStatus.PENDING, RatingStatus.APPROVED, 4, date);
+        assertEquals(0L, counts.get(key(RatingStatus.PENDING, 4)));
+        assertEquals(1L, counts.get(key(RatingStatus.APPROVED, 4)));
+        assertEquals(Map.of(TODAY.minusDays(2) + ":4", 1L), dailyCounts);
+
+        service.record(RatingStatus.APPROVED, RatingStatus.REJECTED, 4, date);
+        assertEquals(0L, counts.get(key(RatingStatus.APPROVED, 4)));
+        assertEquals(1L, counts.get(key(RatingStatus.REJECTED, 4)));
+        assertEquals(Map.of(TODAY.minusDays(2) + ":4", 0L), dailyCounts);
+    }
+
+    @Test
+    void recordCountsARatingApprovedOnSubmissionAndRemovedLater() {
+        LocalDateTime date = TODAY.atTime(9, 0);
+
+        service.record(null, RatingStatus.APPROVED, 5, date);
+        assertEquals(1L, counts.get(key(RatingStatus.APPROVED, 5)));
+        assertEquals(Map.of(TODAY + ":5", 1L), dailyCounts);
+
+        service.record(RatingStatus.APPROVED, null, 5, date);
+        assertEquals(0L, counts.get(key(RatingStatus.APPROVED, 5)));
+        assertEquals(Map.of(TODAY + ":5", 0L), dailyCounts);
+    }
+
+    @Test
+    void recordIgnoresOutOfRangeStarsAndUnchangedStatus() {
+        LocalDateTime date = TODAY.atTime(9, 0);
+
+        service.record(null, RatingStatus.APPROVED, 0, date);
+        service.record(null, RatingStatus.APPROVED, 6, date);
+        service.record(RatingStatus.PENDING, RatingStatus.APPROVED, -1, date);
+        service.record(RatingStatus.APPROVED, RatingStatus.APPROVED, 3, date);
+
+        verifyNoInteractions(aggregateRepository, dailyAggregateRepository);
+    }
+
+    @Test
+    void windowsSumDailyBucketsIntoCurrentAndPreviousPeriods() {
+        when(dailyAggregateRepository.findByDayBetween(TODAY.minusDays(13), TODAY)).thenReturn(List.of(
+                // Current week
+                new RatingDailyAggregate(TODAY, 5, 2L),
+                new RatingDailyAggregate(TODAY.minusDays(6), 3, 1L),
+                // Week before
+                new RatingDailyAggregate(TODAY.minusDays(7), 1, 1L),
+                new RatingDailyAggregate(TODAY.minusDays(13), 2, 1L),
+                // Not a star value
+                new RatingDailyAggregate(TODAY.minusDays(1), 7, 9L)));
+
+        List<RatingWindow> windows = service.getWindows(List.of(7, 1));
+        verify(dailyAggregateRepository).findByDayBetween(TODAY.minusDays(13), TODAY);
+
+        RatingWindow week = windows.get(0);
+        assertEquals(7, week.getDays());
+        assertEquals(TODAY.minusDays(6), week.getFrom());
+        assertEquals(TODAY, week.getTo());
+        assertEquals(3, week.getCount());
+        assertEquals(4.3, week.getAverage());
+        assertEquals(List.of(5, 4, 3, 2, 1), new ArrayList<>(week.getDistribution().keySet()));
+        assertEquals(List.of(2L, 0L, 1L, 0L, 0L), new ArrayList<>(week.getDistribution().values()));
+        assertEquals(2, week.getPreviousCount());
+        assertEquals(1.5, week.getPreviousAverage());
+        assertEquals(2.8, week.getTrend());
+
+        // Yesterday had no ratings, so there is nothing to compare today with
+        RatingWindow day = windows.get(1);
+        assertEquals(TODAY, day.getFrom());
+        assertEquals(2, day.getCount());
+        assertEquals(5.0, day.getAverage());
+        assertEquals(0, day.getPreviousCount());
+        assertEquals(0.0, day.getPreviousAverage());
+        assertNull(day.getTrend());
+    }
+
+    @Test
+    void windowsWithoutRatingsHaveNoAverageOrTrend() {
+        when(dailyAggregateRepository.findByDayBetween(any(), any())).thenReturn(List.of());
+
+        RatingWindow window = service.getWindows(List.of(30)).get(0);
+        assertEquals(0, window.getCount());
+        assertEquals(0.0, window.getAverage());
+        assertEquals(0L, window.getDistribution().get(5));
+        assertNull(window.getTrend());
+    }
+
+    @Test
+    void rebuildRecountsAggregatesAndDailyBuckets() {
+        RatingAggregate wrong = new RatingAggregate(RatingStatus.APPROVED, 5, 10L);
+        RatingAggregate right = new RatingAggregate(RatingStatus.PENDING, 3, 1L);
+        when(aggregateRepository.findAllForUpdate()).thenReturn(List.of(wrong, right));
+        when(ratingRepository.countGroupedByStatusAndRating()).thenReturn(List.of(
+                new Object[] {RatingStatus.APPROVED, 5, 2L},
+                new Object[] {RatingStatus.PENDING, 3, 1L},
+                new Object[] {RatingStatus.REJECTED, 1, 4L}));
+
+        RatingDailyAggregate stale = new RatingDailyAggregate(TODAY.minusDays(3), 4, 1L);
+        RatingDailyAggregate drifted = new RatingDailyAggregate(TODAY, 5, 5L);
+        when(dailyAggregateRepository.findAll()).thenReturn(List.of(stale, drifted));
+        when(ratingRepository.countApprovedGroupedByDayAndRating()).thenReturn(List.of(
+                new Object[] {TODAY, 5, 1L},
+                new Object[] {TODAY.minusDays(1), 5, 1L}));
+
+        List<Iterable<RatingAggregate>> savedAggregates = new ArrayList<>();
+        when(aggregateRepository.saveAll(any())).thenAnswer(invocation -> {
+            savedAggregates.add(invocation.getArgument(0));
+            return List.of();
+        });
+        List<Iterable<RatingDailyAggregate>> savedBuckets = new ArrayList<>();
+        when(dailyAggregateRepository.saveAll(any())).thenAnswer(invocation -> {
+            savedBuckets.add(invocation.getArgument(0));
+            return List.of();
+        });
+
+        service.rebuild();
+
+        // The drifted row is corrected and every missing status and star value gets a row
+        List<RatingAggregate> aggregates = new ArrayList<>();
+        savedAggregates.get(0).forEach(aggregates::add);
+        assertEquals(2L, wrong.getRatingCount());
+        assertEquals(1 + RatingStatus.values().length * 5 - 2, aggregates.size());
+        assertEquals(4L, aggregates.stream()
+                .filter(a -> a.getStatus() == RatingStatus.REJECTED && a.getStars() == 1)
+                .findFirst().orElseThrow().getRatingCount());
+
+        verify(dailyAggregateRepository).deleteAllInBatch(List.of(stale));
+        List<RatingDailyAggregate> buckets = new ArrayList<>();
+        savedBuckets.get(0).forEach(buckets::add);
+        assertEquals(2, buckets.size());
+        assertEquals(1L, drifted.getRatingCount());
+        RatingDailyAggregate added = buckets.get(1);
+        assertEquals(TODAY.minusDays(1), added.getDay());
+        assertEquals(5, added.getStars());
+        assertEquals(1L, added.getRatingCount());
+    }
+
+    private static String key(RatingStatus status, int stars) {
+        return status + ":" + stars;
+    }
+}
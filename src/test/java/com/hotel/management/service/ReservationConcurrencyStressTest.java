@@ -0,0 +1,133 @@
+package com.hotel.management.service;
+
+import com.hotel.management.entity.Reservation;
+import com.hotel.management.entity.RestaurantTable;
+import com.hotel.management.enums.ReservationStatus;
+import com.hotel.management.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of competing bookings at a handful of tables and checks
+ * that no two surviving reservations of a table overlap.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservationConcurrencyStressTest {
+
+    private static final int TABLES = 8;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 4000;
+    private static final int DAYS = 3;
+    private static final int SLOT_MINUTES = 30;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private TableService tableService;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private TableAvailabilityIndex availabilityIndex;
+
+    @Test
+    void concurrentBookingsNeverOverlap() throws Exception {
+        List<Long> tableIds = new ArrayList<>();
+        for (int i = 1; i <= TABLES; i++) {
+            RestaurantTable table = tableService.createTable(new RestaurantTable("STRESS-" + i, 4));
+            tableIds.add(table.getId());
+        }
+
+        LocalDateTime firstSlot = LocalDate.now().plusDays(1).atStartOfDay();
+        int slots = DAYS * 24 * 60 / SLOT_MINUTES;
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (next.getAndIncrement() < ATTEMPTS) {
+                    RestaurantTable table = new RestaurantTable();
+                    table.setId(tableIds.get(random.nextInt(TABLES)));
+                    LocalDateTime time = firstSlot.plusMinutes((long) random.nextInt(slots) * SLOT_MINUTES);
+                    Reservation reservation = new Reservation("Stress Guest", "555-010-0000",
+                            table, time, 1 + random.nextInt(4), ReservationStatus.CONFIRMED);
+                    try {
+                        Reservation saved = reservationService.createReservation(reservation);
+                        booked.incrementAndGet();
+                        if (random.nextInt(10) == 0) {
+                            reservationService.cancelReservation(saved.getId());
+                            cancelled.incrementAndGet();
+                        }
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (Throwable e) {
+                        failures.add(e);
+                    }
+                }
+                return null;
+            });
+        }
+
+        long started = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "Stress run did not finish");
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("Reservation stress: %d attempts on %d tables by %d threads in %.2fs (%.0f/s), "
+                        + "%d booked, %d rejected, %d cancelled%n",
+                ATTEMPTS, TABLES, THREADS, seconds, ATTEMPTS / seconds,
+                booked.get(), rejected.get(), cancelled.get());
+
+        assertTrue(failures.isEmpty(), () -> "Unexpected failures: " + failures.peek());
+        assertFalse(booked.get() == 0, "No booking succeeded");
+
+        Duration dining = availabilityIndex.getDiningDuration();
+        int active = 0;
+        for (Long tableId : tableIds) {
+            List<Reservation> reservations = new ArrayList<>(reservationRepository.findByTableIdAndStatusInFrom(
+                    tableId, TableAvailabilityIndex.ACTIVE_STATUSES, firstSlot));
+            reservations.sort(Comparator.comparing(Reservation::getReservationTime));
+            for (int i = 1; i < reservations.size(); i++) {
+                LocalDateTime previousEnd = reservations.get(i - 1).getReservationTime().plus(dining);
+                LocalDateTime current = reservations.get(i).getReservationTime();
+                assertFalse(current.isBefore(previousEnd),
+                        "Table " + tableId + " double-booked at " + current);
+            }
+            active += reservations.size();
+        }
+        assertEquals(booked.get() - cancelled.get(), active);
+    }
+}
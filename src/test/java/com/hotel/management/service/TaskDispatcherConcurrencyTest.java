@@ -0,0 +1,144 @@
+package com.hotel.management.service;
+
+import com.hotel.management.entity.Staff;
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.StaffRole;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * A manager's task edit that loaded the task just before a concurrent assignment committed.
+ * The edit's first read of the task runs the competing write on another thread and waits for
+ * it to commit, so the edit always saves a stale copy; it must not undo the assignment.
+ * Automatic dispatch is off and passes are run by hand.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task_dispatch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "hotel.tasks.dispatch.enabled=false"
+})
+@ActiveProfiles("test")
+class TaskDispatcherConcurrencyTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Autowired
+    private TaskDispatcher taskDispatcher;
+
+    @SpyBean
+    private TaskRepository taskRepository;
+
+    /** Run on another thread after the next task read, before that read returns */
+    private final AtomicReference<Runnable> afterNextRead = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        // The spy of a repository proxy delegates to it by default, rather than calling "real" methods
+        Answer<?> repository = mockingDetails(taskRepository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            Object task = repository.answer(invocation);
+            Runnable write = afterNextRead.getAndSet(null);
+            if (write != null) {
+                Thread thread = new Thread(write);
+                thread.start();
+                thread.join();
+            }
+            return task;
+        }).when(taskRepository).findById(any());
+    }
+
+    @Test
+    void statusChangeDoesNotUndoADispatcherClaim() {
+        Staff cleaner = hire("Cleaner", StaffRole.CLEANER);
+        Task task = taskService.createTask(task("Mop the lobby", "Cleaning"));
+
+        afterNextRead.set(this::dispatch);
+        taskService.updateTaskStatus(task.getId(), TaskStatus.IN_PROGRESS);
+
+        Task saved = taskRepository.findById(task.getId()).orElseThrow();
+        assertNotNull(saved.getAssignedStaff());
+        assertEquals(cleaner.getId(), saved.getAssignedStaff().getId());
+        assertEquals(TaskStatus.IN_PROGRESS, saved.getStatus());
+        assertEquals(2, saved.getVersion());
+        assertEquals(1, taskDispatcher.getOpenTaskCount(cleaner.getId()));
+    }
+
+    @Test
+    void editDoesNotUndoADispatcherClaim() {
+        Staff engineer = hire("Engineer", StaffRole.MAINTENANCE);
+        Task task = taskService.createTask(task("Fix the boiler", "Maintenance"));
+
+        Task edit = new Task();
+        edit.setStatus(null);
+        edit.setPriority(5);
+        edit.setTitle("Fix the boiler today");
+        afterNextRead.set(this::dispatch);
+        taskService.updateTask(task.getId(), edit);
+
+        Task saved = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(engineer.getId(), saved.getAssignedStaff().getId());
+        assertEquals("Fix the boiler today", saved.getTitle());
+        assertEquals(5, saved.getPriority());
+        assertEquals(1, taskDispatcher.getOpenTaskCount(engineer.getId()));
+
+        // The claimed task is no longer waiting in the queue
+        taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED);
+        assertEquals(0, taskDispatcher.getOpenTaskCount(engineer.getId()));
+    }
+
+    @Test
+    void editDoesNotUndoABulkReassignment() {
+        Staff leaving = hire("Leaving", StaffRole.SECURITY);
+        Staff arriving = hire("Arriving", StaffRole.SECURITY);
+        Task task = taskService.createTask(task("Check the doors", null));
+        taskService.assignTaskToStaff(task.getId(), leaving.getId());
+
+        Task edit = new Task();
+        edit.setStatus(null);
+        edit.setPriority(null);
+        edit.setDescription("Every door on the ground floor");
+        afterNextRead.set(() -> taskService.reassignOpenTasks(leaving.getId(), arriving.getId()));
+        taskService.updateTask(task.getId(), edit);
+
+        Task saved = taskRepository.findById(task.getId()).orElseThrow();
+        assertEquals(arriving.getId(), saved.getAssignedStaff().getId());
+        assertEquals("Every door on the ground floor", saved.getDescription());
+        assertEquals(0, taskDispatcher.getOpenTaskCount(leaving.getId()));
+        assertEquals(1, taskDispatcher.getOpenTaskCount(arriving.getId()));
+    }
+
+    private void dispatch() {
+        ReflectionTestUtils.invokeMethod(taskDispatcher, "dispatch");
+    }
+
+    private Staff hire(String name, StaffRole role) {
+        return staffService.createStaff(new Staff(name, "Conflict", name.toLowerCase() + "@conflict.test", role,
+                LocalDate.now()));
+    }
+
+    private static Task task(String title, String category) {
+        Task task = new Task(title, null, TaskStatus.PENDING);
+        task.setCategory(category);
+        return task;
+    }
+}
@@ -0,0 +1,311 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.DispatchStatus;
+import com.hotel.management.entity.Staff;
+import com.hotel.management.entity.Task;
+import com.hotel.management.enums.StaffRole;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.StaffStatusChangedEvent;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.repository.StaffRepository;
+import com.hotel.management.repository.TaskRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Task dispatcher queueing and staff selection against an in-memory stand-in for the tasks table.
+ * Automatic passes are off, so each test runs dispatch passes itself; published task changes are
+ * fed straight back to the dispatcher as if their transaction had committed.
+ */
+class TaskDispatcherTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final StaffRepository staffRepository = mock(StaffRepository.class);
+    private final Map<Long, Task> rows = new HashMap<>();
+    private final Set<Long> activeStaff = new HashSet<>();
+    private final List<Long> assignedOrder = new ArrayList<>();
+    private final TaskDispatcher dispatcher = new TaskDispatcher();
+
+    @BeforeEach
+    void setUp() {
+        when(staffRepository.getReferenceById(anyLong())).thenAnswer(invocation -> staff(invocation.getArgument(0)));
+        when(taskRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(rows.get(invocation.<Long>getArgument(0))));
+        when(taskRepository.assignIfUnassigned(anyLong(), any(), any())).thenAnswer(invocation -> {
+            Task task = rows.get(invocation.<Long>getArgument(0));
+            Staff staff = invocation.getArgument(1);
+            if (task == null || task.getAssignedStaff() != null || task.getStatus() != TaskStatus.PENDING
+                    || !activeStaff.contains(staff.getId())) {
+                return 0;
+            }
+            task.setAssignedStaff(staff);
+            assignedOrder.add(task.getId());
+            return 1;
+        });
+        ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+        doAnswer(invocation -> {
+            dispatcher.onTaskChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+
+        ReflectionTestUtils.setField(dispatcher, "taskRepository", taskRepository);
+        ReflectionTestUtils.setField(dispatcher, "staffRepository", staffRepository);
+        ReflectionTestUtils.setField(dispatcher, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(dispatcher, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(dispatcher, "enabled", false);
+        ReflectionTestUtils.setField(dispatcher, "maxOpenTasksPerStaff", 0);
+        ReflectionTestUtils.setField(dispatcher, "categoryRolesSetting", "Cleaning=CLEANER, Maintenance=MAINTENANCE");
+        dispatcher.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void assignsMostUrgentFirst() {
+        hire(1L, StaffRole.CLEANER);
+        create(1L, "Cleaning", 2, LocalDate.of(2026, 1, 2), CREATED);
+        create(2L, "Cleaning", 5, null, CREATED);
+        create(3L, "Cleaning", 5, LocalDate.of(2026, 1, 9), CREATED);
+        create(4L, "Cleaning", 5, LocalDate.of(2026, 1, 5), CREATED.plusHours(1));
+        create(5L, "Cleaning", 5, LocalDate.of(2026, 1, 5), CREATED);
+
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), queuedIds(StaffRole.CLEANER));
+        dispatch();
+
+        // Priority, then due date with none last, then age
+        assertEquals(List.of(5L, 4L, 3L, 2L, 1L), assignedOrder);
+        assertEquals(5, dispatcher.getOpenTaskCount(1L));
+    }
+
+    @Test
+    void assignsToLeastLoadedStaffOfTheCategoryRole() {
+        hire(1L, StaffRole.CLEANER);
+        hire(2L, StaffRole.CLEANER);
+        hire(3L, StaffRole.MAINTENANCE);
+        assignByHand(create(10L, "Other", 3, null, CREATED), 1L);
+        assignByHand(create(11L, "Other", 3, null, CREATED), 1L);
+        create(1L, "Cleaning", 3, null, CREATED);
+        create(2L, "Cleaning", 3, null, CREATED);
+        create(3L, "Cleaning", 3, null, CREATED);
+        create(4L, "Maintenance", 3, null, CREATED);
+
+        dispatch();
+
+        // Staff 2 catches up with staff 1, then the tie goes to the lower ID
+        assertEquals(2L, staffOf(1L));
+        assertEquals(2L, staffOf(2L));
+        assertEquals(1L, staffOf(3L));
+        assertEquals(3L, staffOf(4L));
+        assertEquals(3, dispatcher.getOpenTaskCount(1L));
+        assertEquals(2, dispatcher.getOpenTaskCount(2L));
+    }
+
+    @Test
+    void leavesUnmappedCategoriesForManualAssignment() {
+        hire(1L, StaffRole.CLEANER);
+        create(1L, "Other", 3, null, CREATED);
+        create(2L, null, 3, null, CREATED);
+
+        dispatch();
+
+        assertTrue(assignedOrder.isEmpty());
+        assertTrue(dispatcher.getRoleFor(" cleaning ").isPresent());
+    }
+
+    @Test
+    void stopsAtTheOpenTaskCapUntilATaskIsDone() {
+        ReflectionTestUtils.setField(dispatcher, "maxOpenTasksPerStaff", 2);
+        hire(1L, StaffRole.CLEANER);
+        create(1L, "Cleaning", 3, null, CREATED);
+        create(2L, "Cleaning", 3, null, CREATED);
+        create(3L, "Cleaning", 3, null, CREATED);
+
+        dispatch();
+        assertEquals(List.of(1L, 2L), assignedOrder);
+        assertEquals(1, role(StaffRole.CLEANER).getQueued());
+
+        // On hold still counts towards the load; completing frees a slot
+        changeStatus(1L, TaskStatus.ON_HOLD);
+        dispatch();
+        assertEquals(List.of(1L, 2L), assignedOrder);
+
+        changeStatus(1L, TaskStatus.COMPLETED);
+        dispatch();
+        assertEquals(List.of(1L, 2L, 3L), assignedOrder);
+        assertEquals(2, dispatcher.getOpenTaskCount(1L));
+    }
+
+    @Test
+    void requeuesTaskAndSkipsStaffWhenTheStaffMemberTurnsOutInactive() {
+        hire(1L, StaffRole.CLEANER);
+        create(1L, "Cleaning", 3, null, CREATED);
+        // Deactivated in the database, but the dispatcher has not seen the event yet
+        activeStaff.remove(1L);
+
+        dispatch();
+        assertTrue(assignedOrder.isEmpty());
+        assertEquals(1, role(StaffRole.CLEANER).getQueued());
+        assertTrue(role(StaffRole.CLEANER).getStaff().isEmpty());
+
+        hire(1L, StaffRole.CLEANER);
+        dispatch();
+        assertEquals(List.of(1L), assignedOrder);
+    }
+
+    @Test
+    void dropsTaskThatWasAssignedByHandFirst() {
+        hire(1L, StaffRole.CLEANER);
+        hire(2L, StaffRole.CLEANER);
+        create(1L, "Cleaning", 3, null, CREATED);
+        // A manager assigned it and committed, but the change has not reached the dispatcher yet
+        rows.get(1L).setAssignedStaff(staff(2L));
+
+        dispatch();
+        assertTrue(assignedOrder.isEmpty());
+        assertEquals(0, role(StaffRole.CLEANER).getQueued());
+        assertEquals(2, role(StaffRole.CLEANER).getStaff().size());
+
+        dispatcher.onTaskChanged(TaskChangedEvent.changed(rows.get(1L), TaskStatus.PENDING, null));
+        assertEquals(1, dispatcher.getOpenTaskCount(2L));
+    }
+
+    @Test
+    void compactsStaleHeapEntries() {
+        int tasks = 3000;
+        for (long id = 1; id <= tasks; id++) {
+            create(id, "Cleaning", 3, null, CREATED);
+        }
+        assertEquals(tasks, heapSize(StaffRole.CLEANER));
+
+        for (long id = 1; id <= tasks - 10; id++) {
+            changeStatus(id, TaskStatus.CANCELLED);
+        }
+
+        // Rebuilt once stale entries passed the limit and outnumbered live ones; later removals leave a few stale
+        assertTrue(heapSize(StaffRole.CLEANER) < 2 * 1024, "heap size " + heapSize(StaffRole.CLEANER));
+        assertEquals(10, role(StaffRole.CLEANER).getQueued());
+
+        hire(1L, StaffRole.CLEANER);
+        dispatch();
+        assertEquals(10, assignedOrder.size());
+        assertTrue(assignedOrder.stream().allMatch(id -> id > tasks - 10));
+    }
+
+    @Test
+    void retriesAFailedPassAfterADelay() {
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        AtomicInteger attempts = new AtomicInteger();
+        when(taskRepository.assignIfUnassigned(anyLong(), any(), any())).thenAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Connection reset");
+            }
+            Task task = rows.get(invocation.<Long>getArgument(0));
+            task.setAssignedStaff(invocation.getArgument(1));
+            return 1;
+        });
+        activeStaff.add(1L);
+        rows.put(1L, task(1L, "Cleaning", 3, null, CREATED));
+
+        // No further task or staff event arrives after the failure
+        dispatcher.onStaffStatusChanged(new StaffStatusChangedEvent(1L, StaffRole.CLEANER, null, true));
+        dispatcher.onTaskChanged(TaskChangedEvent.changed(rows.get(1L), null, null));
+
+        verify(taskRepository, timeout(5000).times(2)).assignIfUnassigned(anyLong(), any(), any());
+        verify(taskRepository, timeout(5000)).findById(1L);
+        assertEquals(1L, staffOf(1L));
+    }
+
+    private void hire(Long staffId, StaffRole role) {
+        activeStaff.add(staffId);
+        dispatcher.onStaffStatusChanged(new StaffStatusChangedEvent(staffId, role, null, true));
+    }
+
+    private Task create(Long id, String category, int priority, LocalDate dueDate, LocalDateTime createdAt) {
+        Task task = task(id, category, priority, dueDate, createdAt);
+        rows.put(id, task);
+        dispatcher.onTaskChanged(TaskChangedEvent.changed(task, null, null));
+        return task;
+    }
+
+    private void assignByHand(Task task, Long staffId) {
+        task.setAssignedStaff(staff(staffId));
+        dispatcher.onTaskChanged(TaskChangedEvent.changed(task, TaskStatus.PENDING, null));
+    }
+
+    private void changeStatus(Long taskId, TaskStatus status) {
+        Task task = rows.get(taskId);
+        TaskStatus oldStatus = task.getStatus();
+        task.setStatus(status);
+        Long staffId = task.getAssignedStaff() != null ? task.getAssignedStaff().getId() : null;
+        dispatcher.onTaskChanged(TaskChangedEvent.changed(task, oldStatus, staffId));
+    }
+
+    private void dispatch() {
+        ReflectionTestUtils.invokeMethod(dispatcher, "dispatch");
+    }
+
+    private Long staffOf(Long taskId) {
+        return rows.get(taskId).getAssignedStaff().getId();
+    }
+
+    private DispatchStatus.RoleQueue role(StaffRole role) {
+        return dispatcher.getStatus(100).getRoles().stream()
+                .filter(queue -> queue.getRole() == role)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private List<Long> queuedIds(StaffRole role) {
+        return role(role).getNext().stream().map(task -> task.getId()).toList();
+    }
+
+    private int heapSize(StaffRole role) {
+        Map<?, ?> queues = (Map<?, ?>) ReflectionTestUtils.getField(dispatcher, "queues");
+        return ((Collection<?>) ReflectionTestUtils.getField(queues.get(role), "heap")).size();
+    }
+
+    private static Task task(Long id, String category, int priority, LocalDate dueDate, LocalDateTime createdAt) {
+        Task task = new Task("Task " + id, null, TaskStatus.PENDING, priority, dueDate, null, "test", category);
+        task.setId(id);
+        task.setCreatedAt(createdAt);
+        return task;
+    }
+
+    private static Staff staff(Long id) {
+        Staff staff = new Staff();
+        staff.setId(id);
+        return staff;
+    }
+}
@@ -0,0 +1,160 @@
+package com.hotel.management.service;
+
+import com.hotel.management.dto.TaskSearchHit;
+import com.hotel.management.dto.TaskSearchResult;
+import com.hotel.management.enums.TaskStatus;
+import com.hotel.management.event.TaskChangedEvent;
+import com.hotel.management.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Task search ranking, filters and index maintenance, loaded from a mocked repository and
+ * kept current by task change events
+ */
+class TaskSearchIndexTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final List<Object[]> rows = new ArrayList<>();
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.findSearchDocuments()).thenReturn(rows);
+        ReflectionTestUtils.setField(index, "taskRepository", taskRepository);
+    }
+
+    @Test
+    void ranksByFieldWordsMatchedAndRarity() {
+        row(1L, "Replace towels", "Check the faucet", "Housekeeping", TaskStatus.PENDING, 3);
+        row(2L, "Fix faucet", "Dripping in room 12", "Maintenance", TaskStatus.PENDING, 3);
+        row(3L, "Fix faucet and shower", "Room 14", "Maintenance", TaskStatus.PENDING, 3);
+        row(4L, "Fix door", "Room 12", "Maintenance", TaskStatus.PENDING, 3);
+        index.rebuild();
+
+        // A title word outweighs a description word; equal matches list the newer task first
+        assertEquals(List.of(3L, 2L, 1L), ids(index.search("faucet", null, 1, 10)));
+        // Matching both words beats matching one
+        assertEquals(3L, ids(index.search("faucet shower", null, 1, 10)).get(0));
+        // "dripping" is rarer than "fix", so it decides between the two rooms 12
+        assertEquals(List.of(2L, 4L), ids(index.search("dripping fix 12", null, 1, 2)));
+        assertEquals(0, index.search("curtains", null, 1, 10).getTotalMatches());
+        assertEquals(0, index.search(" ,, ", null, 1, 10).getTotalMatches());
+    }
+
+    @Test
+    void discountsPrefixMatches() {
+        row(1L, "Fix tapestry", null, null, TaskStatus.PENDING, 3);
+        row(2L, "Fix tap", null, null, TaskStatus.PENDING, 3);
+        index.rebuild();
+
+        List<TaskSearchHit> hits = index.search("tap", null, 1, 10).getHits();
+        assertEquals(List.of(2L, 1L), hits.stream().map(TaskSearchHit::getId).toList());
+        assertEquals(hits.get(0).getScore() / 2, hits.get(1).getScore(), 0.002);
+        // Words under three characters match whole words only
+        assertEquals(0, index.search("ta", null, 1, 10).getTotalMatches());
+    }
+
+    @Test
+    void filtersByStatusAndPriorityAndCountsAllMatches() {
+        row(1L, "Clean lobby", null, "Cleaning", TaskStatus.PENDING, 2);
+        row(2L, "Clean kitchen", null, "Cleaning", TaskStatus.IN_PROGRESS, 5);
+        row(3L, "Clean pool", null, "Cleaning", TaskStatus.PENDING, 4);
+        row(4L, "Clean bar", null, "Cleaning", TaskStatus.COMPLETED, 5);
+        index.rebuild();
+
+        assertEquals(List.of(1L, 3L), sorted(ids(index.search("clean", TaskStatus.PENDING, 1, 10))));
+        assertEquals(List.of(2L, 3L, 4L), sorted(ids(index.search("clean", null, 4, 10))));
+        assertEquals(List.of(3L), ids(index.search("clean", TaskStatus.PENDING, 4, 10)));
+
+        TaskSearchResult limited = index.search("cleaning", null, 1, 2);
+        assertEquals(4, limited.getTotalMatches());
+        assertEquals(2, limited.getHits().size());
+    }
+
+    @Test
+    void followsTaskChanges() {
+        index.rebuild();
+        index.onTaskChanged(event(1L, "Fix faucet", "Room 12", null, TaskStatus.PENDING, 3));
+        index.onTaskChanged(event(2L, "Fix lamp", "Room 14", null, TaskStatus.PENDING, 3));
+        assertEquals(List.of(1L), ids(index.search("faucet", null, 1, 10)));
+
+        // Same text: the task keeps its slot, only the filter fields change
+        index.onTaskChanged(event(1L, "Fix faucet", "Room 12", null, TaskStatus.IN_PROGRESS, 5));
+        assertEquals(2, slotCount());
+        TaskSearchHit hit = index.search("faucet", TaskStatus.IN_PROGRESS, 5, 10).getHits().get(0);
+        assertEquals(TaskStatus.IN_PROGRESS, hit.getStatus());
+
+        // New text replaces the old words
+        index.onTaskChanged(event(1L, "Fix shower", "Room 12", null, TaskStatus.IN_PROGRESS, 5));
+        assertEquals(0, index.search("faucet", null, 1, 10).getTotalMatches());
+        assertEquals(List.of(1L), ids(index.search("shower", null, 1, 10)));
+        index.onTaskChanged(event(1L, "Fix shower", "Room 16", null, TaskStatus.IN_PROGRESS, 5));
+        assertEquals(0, index.search("12", null, 1, 10).getTotalMatches());
+
+        index.onTaskChanged(deleted(2L));
+        assertEquals(List.of(1L), ids(index.search("fix", null, 1, 10)));
+    }
+
+    @Test
+    void compactionRenumbersSlots() {
+        int tasks = 1500;
+        for (long id = 1; id <= tasks; id++) {
+            row(id, "Task " + id, id % 2 == 0 ? "even" : "odd", "Cleaning", TaskStatus.PENDING, 3);
+        }
+        index.rebuild();
+
+        for (long id = 1; id <= 1200; id++) {
+            index.onTaskChanged(deleted(id));
+        }
+        assertTrue(slotCount() < tasks, "slots " + slotCount());
+
+        assertEquals(300, index.search("cleaning", null, 1, 10).getTotalMatches());
+        assertEquals(List.of(1201L), ids(index.search("1201", null, 1, 10)));
+        assertEquals(150, index.search("odd", null, 1, 10).getTotalMatches());
+        assertTrue(ids(index.search("odd", null, 1, 100)).stream().allMatch(id -> id > 1200 && id % 2 == 1));
+
+        index.onTaskChanged(event(1301L, "Task 1301", "even", "Cleaning", TaskStatus.PENDING, 3));
+        index.onTaskChanged(event(2000L, "Task 2000", "odd", "Cleaning", TaskStatus.PENDING, 3));
+        assertEquals(150, index.search("odd", null, 1, 10).getTotalMatches());
+        assertEquals(List.of(2000L), ids(index.search("2000", null, 1, 10)));
+    }
+
+    private void row(Long id, String title, String description, String category, TaskStatus status, int priority) {
+        rows.add(new Object[] {id, title, description, category, "manager", status, priority,
+                LocalDate.of(2026, 1, 1), null});
+    }
+
+    private static TaskChangedEvent event(Long id, String title, String description, String category,
+                                          TaskStatus status, int priority) {
+        return new TaskChangedEvent(id, title, description, category, "manager", priority, null,
+                LocalDateTime.of(2026, 1, 1, 8, 0), TaskStatus.PENDING, status, null, null);
+    }
+
+    private static TaskChangedEvent deleted(Long id) {
+        return new TaskChangedEvent(id, null, null, null, null, 3, null, null, TaskStatus.PENDING, null, null, null);
+    }
+
+    private int slotCount() {
+        return ((List<?>) ReflectionTestUtils.getField(index, "slots")).size();
+    }
+
+    private static List<Long> ids(TaskSearchResult result) {
+        return result.getHits().stream().map(TaskSearchHit::getId).toList();
+    }
+
+    private static List<Long> sorted(List<Long> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
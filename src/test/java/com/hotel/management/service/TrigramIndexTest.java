@@ -0,0 +1,142 @@
+package com.hotel.management.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Typeahead index matching, ranking and maintenance, without a Spring context
+ */
+class TrigramIndexTest {
+
+    private final TrigramIndex<Long, String> index = new TrigramIndex<>();
+
+    @Test
+    void ranksExactOverPrefixOverInfix() {
+        index.put(1L, "Joanne Baker", 100, "Joanne Baker");
+        index.put(2L, "Annabel Lee", 50, "Annabel Lee");
+        index.put(3L, "Ann Smith", 0, "Ann Smith");
+
+        // Weight only orders equally good matches
+        assertEquals(List.of("Ann Smith", "Annabel Lee", "Joanne Baker"), index.search("ann", 10));
+    }
+
+    @Test
+    void ordersEqualMatchesByWeightThenInsertion() {
+        index.put(1L, "first", 1, "Maria Lopez");
+        index.put(2L, "second", 5, "Maria Garcia");
+        index.put(3L, "third", 1, "Maria Rossi");
+        index.put(4L, "fourth", 5, "Maria Chen");
+
+        assertEquals(List.of("second", "fourth", "first", "third"), index.search("maria", 10));
+        assertEquals(List.of("second", "fourth"), index.search("maria", 2));
+    }
+
+    @Test
+    void matchesOneAndTwoCharacterPrefixesOnly() {
+        index.put(1L, "Ed Stone", 0, "Ed Stone");
+        index.put(2L, "Edith Wharton", 0, "Edith Wharton");
+        index.put(3L, "Ted Hughes", 0, "Ted Hughes");
+
+        assertEquals(List.of("Ed Stone", "Edith Wharton"), index.search("ed", 10));
+        assertEquals(List.of("Ed Stone", "Edith Wharton"), index.search("e", 10));
+        // Infixes need three characters
+        assertEquals(List.of("Ted Hughes"), index.search("t h", 10));
+        assertEquals(List.of("Ted Hughes"), index.search("ted", 10));
+    }
+
+    @Test
+    void requiresEveryQueryWord() {
+        index.put(1L, "Ann Smith", 0, "Ann Smith");
+        index.put(2L, "Ann Jones", 0, "Ann Jones");
+
+        assertEquals(List.of("Ann Jones"), index.search("jon an", 10));
+        assertTrue(index.search("ann brown", 10).isEmpty());
+        assertTrue(index.search("  - ", 10).isEmpty());
+    }
+
+    @Test
+    void joinsDigitGroupsAndFoldsAccents() {
+        index.put(1L, "phone", 0, "555-010-1234");
+        index.put(2L, "José", 0, "José Núñez");
+
+        assertEquals(List.of("phone"), index.search("5550101234", 10));
+        assertEquals(List.of("phone"), index.search("(555) 010", 10));
+        assertEquals(List.of("phone"), index.search("0101", 10));
+        assertEquals(List.of("José"), index.search("JOSE nunez", 10));
+        assertEquals(List.of("jose", "nunez"), TrigramIndex.words("José  Núñez!"));
+        assertEquals(List.of("room", "12", "b"), TrigramIndex.words("Room 12 - B"));
+    }
+
+    @Test
+    void intersectsRareAndCommonTrigrams() {
+        for (long id = 1; id <= 100; id++) {
+            index.put(id, "smith " + id, 0, "Smith");
+        }
+        index.put(101L, "smithers", 0, "Smithers");
+
+        // "the" is in one entry and "smi" in 101, so the rare postings are looked up in the common ones
+        assertEquals(List.of("smithers"), index.search("smithe", 10));
+        assertEquals(101, index.search("mit", 200).size());
+        assertEquals("smith 1", index.search("smith", 1).get(0));
+    }
+
+    @Test
+    void putWithSameWordsUpdatesValueAndWeight() {
+        index.put(1L, "Ann", 0, "Ann Smith");
+        index.put(2L, "Anne", 1, "Ann Smyth");
+        assertEquals(List.of("Anne", "Ann"), index.search("ann", 10));
+
+        index.put(1L, "Ann (VIP)", 5, "ann SMITH");
+        assertEquals(List.of("Ann (VIP)", "Anne"), index.search("ann", 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void putWithNewWordsReplacesTheOldOnes() {
+        index.put(1L, "Ann", 0, "Ann Smith");
+        index.put(1L, "Ann", 0, "Ann Jones");
+
+        assertTrue(index.search("smith", 10).isEmpty());
+        assertEquals(List.of("Ann"), index.search("jones", 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void removeAndCompaction() {
+        int entries = 3000;
+        for (long id = 0; id < entries; id++) {
+            index.put(id, "guest " + id, id, "Guest " + id, id % 2 == 0 ? "even" : "odd");
+        }
+        index.remove(1L);
+        assertNull(index.get(1L));
+        assertEquals(entries - 1, index.size());
+
+        // Over half the slots emptied, past the 1024 minimum, so the postings are rebuilt partway through
+        for (long id = 3; id < entries - 1; id += 2) {
+            index.remove(id);
+        }
+        for (long id = 0; id < 200; id += 2) {
+            index.remove(id);
+        }
+        List<?> slots = (List<?>) ReflectionTestUtils.getField(index, "slots");
+        assertTrue(slots.size() < entries, "slots " + slots.size());
+
+        assertEquals(entries / 2 + 1 - 100, index.size());
+        assertNull(index.get(100L));
+        assertEquals("guest 200", index.get(200L));
+        assertEquals(List.of("guest 2999"), index.search("odd", 10));
+        assertEquals(List.of("guest 2998", "guest 2996"), index.search("even guest", 2));
+        assertEquals(List.of("guest 2999"), index.search("2999", 10));
+        assertTrue(index.search("guest 2997", 10).isEmpty());
+
+        // Entries added after compaction are found alongside the renumbered ones
+        index.put(5000L, "guest 5000", 5000, "Guest 5000", "odd");
+        assertEquals(List.of("guest 5000", "guest 2999"), index.search("odd", 10));
+    }
+}